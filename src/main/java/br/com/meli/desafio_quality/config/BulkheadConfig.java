@@ -0,0 +1,27 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.util.Bulkhead;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulkheads que separam as rotas pesadas (listagens completas, sincronização, buscas com facetas) das consultas
+ * pontuais (uma propriedade, cálculos, buscas por nome e comparáveis), para que uma classe de tráfego não aumente
+ * a latência da outra
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public Bulkhead heavyBulkhead(@Value("${bulkhead.heavy.threads:2}") int threads,
+                                  @Value("${bulkhead.heavy.queue-capacity:16}") int queueCapacity) {
+        return new Bulkhead("heavy", threads, queueCapacity);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public Bulkhead lookupBulkhead(@Value("${bulkhead.lookup.threads:8}") int threads,
+                                   @Value("${bulkhead.lookup.queue-capacity:256}") int queueCapacity) {
+        return new Bulkhead("lookup", threads, queueCapacity);
+    }
+}
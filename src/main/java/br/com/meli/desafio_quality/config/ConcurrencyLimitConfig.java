@@ -0,0 +1,44 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.util.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Limites adaptativos de requisições simultâneas das rotas de property, separados para leituras e escritas
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter(@Value("${concurrency-limit.read.initial:64}") int initial,
+                                                             @Value("${concurrency-limit.read.min:8}") int min,
+                                                             @Value("${concurrency-limit.read.max:512}") int max) {
+        return new AdaptiveConcurrencyLimiter("read", initial, min, max);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter(@Value("${concurrency-limit.write.initial:16}") int initial,
+                                                              @Value("${concurrency-limit.write.min:2}") int min,
+                                                              @Value("${concurrency-limit.write.max:128}") int max) {
+        return new AdaptiveConcurrencyLimiter("write", initial, min, max);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter readConcurrencyLimiter,
+                                                                                 AdaptiveConcurrencyLimiter writeConcurrencyLimiter,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 @Value("${concurrency-limit.enabled:true}") boolean enabled)
+            throws IOException {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(readConcurrencyLimiter, writeConcurrencyLimiter, objectMapper));
+        registration.addUrlPatterns("/property/*");
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
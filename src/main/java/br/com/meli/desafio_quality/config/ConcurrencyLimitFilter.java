@@ -0,0 +1,103 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.dto.ErrorDTO;
+import br.com.meli.desafio_quality.util.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Aplica os limites adaptativos de requisições simultâneas às rotas de property: um limite para leituras (GET e HEAD)
+ * e outro para escritas. Com o limite atingido, a requisição é recusada na hora com 429 e Retry-After, antes de ocupar
+ * memória ou threads. Nas rotas assíncronas, a vaga é liberada apenas quando a resposta termina.
+ * O feed de alterações e a importação em massa não passam pelo limite: são conexões longas por natureza, e a sua
+ * duração não indica sobrecarga.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final Set<String> UNLIMITED_PATHS = Set.of("/property/feed", "/property/import");
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final byte[] rejectionBody;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter,
+                                  ObjectMapper objectMapper) throws IOException {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.rejectionBody = objectMapper.writeValueAsBytes(new ErrorDTO("ConcurrencyLimitExceeded",
+                "o servidor atingiu o limite de requisições simultâneas. Tente novamente em instantes."));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return UNLIMITED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = READ_METHODS.contains(request.getMethod()) ? readLimiter : writeLimiter;
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(rejectionBody);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(permit));
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga quando a resposta assíncrona termina, com sucesso ou não
+     */
+    private static final class ReleasingListener implements AsyncListener {
+        private final AdaptiveConcurrencyLimiter.Permit permit;
+
+        private ReleasingListener(AdaptiveConcurrencyLimiter.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.jfr.DistrictLookupEvent;
+import br.com.meli.desafio_quality.jfr.PropertyCalculationEvent;
+import br.com.meli.desafio_quality.jfr.PropertyConversionEvent;
+import br.com.meli.desafio_quality.jfr.PropertyRepositoryEvent;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Gravação contínua do JFR com os eventos da aplicação (pacote {@code jfr}), que são desativados por padrão.
+ * Ativada com {@code jfr.events.enabled=true}; a gravação fica em memória e em disco pelo tempo máximo configurado e
+ * é extraída com {@code jcmd <pid> JFR.dump name=desafio-quality filename=eventos.jfr}.
+ * <p>
+ * Sem esta configuração, os eventos também podem ser ativados numa gravação externa, incluindo no arquivo .jfc
+ * entradas como {@code <event name="br.com.meli.desafio_quality.PropertyRepository">} com {@code enabled} e
+ * {@code threshold}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jfr.events.enabled", havingValue = "true")
+public class JfrEventsConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JfrEventsConfig.class);
+
+    public static final String RECORDING_NAME = "desafio-quality";
+
+    @Bean(destroyMethod = "close")
+    public Recording domainEventsRecording(@Value("${jfr.events.threshold.repository:1ms}") Duration repositoryThreshold,
+                                           @Value("${jfr.events.threshold.district:1ms}") Duration districtThreshold,
+                                           @Value("${jfr.events.threshold.calculation:1ms}") Duration calculationThreshold,
+                                           @Value("${jfr.events.threshold.conversion:100us}") Duration conversionThreshold,
+                                           @Value("${jfr.events.max-age:1h}") Duration maxAge) {
+        Recording recording = new Recording();
+        recording.setName(RECORDING_NAME);
+        recording.enable(PropertyRepositoryEvent.NAME).withThreshold(repositoryThreshold);
+        recording.enable(DistrictLookupEvent.NAME).withThreshold(districtThreshold);
+        recording.enable(PropertyCalculationEvent.NAME).withThreshold(calculationThreshold);
+        recording.enable(PropertyConversionEvent.NAME).withThreshold(conversionThreshold);
+        recording.setMaxAge(maxAge);
+        recording.setToDisk(true);
+        recording.start();
+
+        LOGGER.info("Gravação JFR '{}' iniciada: repositório acima de {}, bairros acima de {}, cálculos acima de {}, "
+                + "conversões acima de {}", RECORDING_NAME, repositoryThreshold, districtThreshold, calculationThreshold,
+                conversionThreshold);
+        return recording;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.dto.PreSerializedJson;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Escreve um {@link PreSerializedJson} copiando os bytes já serializados direto para a saída da resposta
+ */
+public class PreSerializedJsonHttpMessageConverter extends AbstractHttpMessageConverter<PreSerializedJson> {
+
+    public PreSerializedJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PreSerializedJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PreSerializedJson readInternal(Class<? extends PreSerializedJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("PreSerializedJson é apenas um formato de saída.", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PreSerializedJson json, MediaType contentType) {
+        List<byte[]> segments = json.getSegments();
+        long length = json.isArray() ? 2 + Math.max(0, segments.size() - 1) : 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(PreSerializedJson json, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        if (!json.isArray()) {
+            body.write(json.getSegments().get(0));
+            return;
+        }
+
+        body.write('[');
+        boolean first = true;
+        for (byte[] segment : json.getSegments()) {
+            if (!first) {
+                body.write(',');
+            }
+            body.write(segment);
+            first = false;
+        }
+        body.write(']');
+    }
+}
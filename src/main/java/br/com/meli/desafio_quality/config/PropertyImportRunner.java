@@ -0,0 +1,56 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.dto.ImportReportDTO;
+import br.com.meli.desafio_quality.serialization.PropertyImportFormat;
+import br.com.meli.desafio_quality.service.PropertyImportService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Importa um arquivo de propriedades na inicialização, para cargas iniciais sem passar pela API. Exemplo:
+ * <pre>java -jar desafio_quality.jar --property.import.file=/dados/propriedades.ndjson</pre>
+ * O formato vem de {@code property.import.format} ou, se omitido, da extensão do arquivo (.csv ou .ndjson).
+ * Executada depois da semeadura ({@link SyntheticDataRunner}) e antes do aquecimento ({@link WarmUpRunner}), que assim
+ * trabalha com os dados importados.
+ */
+@Component
+@AllArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "property.import.file")
+public class PropertyImportRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertyImportRunner.class);
+
+    private final PropertyImportService propertyImportService;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path file = Path.of(environment.getRequiredProperty("property.import.file"));
+        String fileName = file.getFileName().toString();
+        PropertyImportFormat format = PropertyImportFormat.fromName(environment.getProperty("property.import.format",
+                fileName.substring(fileName.lastIndexOf('.') + 1)));
+
+        ImportReportDTO report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = propertyImportService.importProperties(input, format);
+        }
+        LOGGER.info("Importação de {} concluída: {} linhas, {} importadas, {} rejeitadas em {} ms ({} linhas/s)",
+                file, report.getRows(), report.getImported(), report.getRejected(), report.getElapsedMillis(), report.getRowsPerSecond());
+        report.getRejections().forEach(rejection ->
+                LOGGER.warn("Linha {} rejeitada: {}", rejection.getLine(), rejection.getReason()));
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.meli.desafio_quality.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Servidor da pilha reativa. Como o Tomcat também está no classpath (pilha servlet), o Spring Boot o escolheria para
+ * a pilha reativa; o Netty é definido explicitamente para que as rotas reativas rodem em um servidor sem bloqueio
+ * de ponta a ponta.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
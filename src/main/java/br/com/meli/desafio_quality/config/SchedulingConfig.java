@@ -0,0 +1,12 @@
+package br.com.meli.desafio_quality.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas, como a exportação noturna das propriedades
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
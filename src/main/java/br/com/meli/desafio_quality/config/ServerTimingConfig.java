@@ -0,0 +1,26 @@
+package br.com.meli.desafio_quality.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cabeçalho Server-Timing e log de requisições lentas nas rotas de property
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(@Value("${server-timing.enabled:true}") boolean enabled,
+                                                                         @Value("${server-timing.slow-request-threshold-ms:0}") long slowRequestThresholdMillis) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestThresholdMillis));
+        registration.addUrlPatterns("/property/*");
+        // antes do limite de concorrência, para que as recusas também tenham o tempo total
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
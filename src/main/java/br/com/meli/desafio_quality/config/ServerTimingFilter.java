@@ -0,0 +1,200 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.util.ServerTiming;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Set;
+
+/**
+ * Mede as fases de cada requisição das rotas de property ({@link ServerTiming}) e as devolve no cabeçalho
+ * {@code Server-Timing}. O cabeçalho é gravado no último momento possível, quando a resposta começa a ser enviada,
+ * e por isso inclui a serialização feita pelo conversor da resposta; respostas sem corpo (304) o recebem ao final.
+ * A mesma medição acompanha a requisição no bulkhead e no despacho assíncrono que escreve a resposta.
+ * <p>
+ * Com {@code server-timing.slow-request-threshold-ms} positivo, requisições mais lentas que o limite são registradas
+ * no log com as fases e o tempo total, incluindo o envio do corpo inteiro.
+ * O feed de alterações não é medido: é uma conexão longa por natureza.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerTimingFilter.class);
+    private static final String TIMING_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timing";
+    private static final Set<String> UNTIMED_PATHS = Set.of("/property/feed");
+
+    private final long slowRequestThresholdNanos;
+
+    /**
+     * @param slowRequestThresholdMillis Tempo a partir do qual a requisição é registrada no log; zero desativa o log
+     */
+    public ServerTimingFilter(long slowRequestThresholdMillis) {
+        this.slowRequestThresholdNanos = slowRequestThresholdMillis * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return UNTIMED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming timing = (ServerTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            timing = new ServerTiming();
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+        // no despacho assíncrono a resposta já chega envolvida pelo despacho inicial
+        TimedResponse timedResponse = WebUtils.getNativeResponse(response, TimedResponse.class);
+        HttpServletResponse chainResponse = response;
+        if (timedResponse == null) {
+            timedResponse = new TimedResponse(response, timing);
+            chainResponse = timedResponse;
+        }
+
+        ServerTiming previous = ServerTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, chainResponse);
+        } finally {
+            ServerTiming.bind(previous);
+            if (!request.isAsyncStarted()) {
+                timedResponse.writeHeader();
+                logIfSlow(request, response, timing);
+            }
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, ServerTiming timing) {
+        if (slowRequestThresholdNanos > 0 && timing.elapsedNanos() >= slowRequestThresholdNanos) {
+            String query = request.getQueryString();
+            LOGGER.warn("Requisição lenta: {} {}{} respondeu {} ({})", request.getMethod(), request.getRequestURI(),
+                    query == null ? "" : "?" + query, response.getStatus(), timing.toHeaderValue());
+        }
+    }
+
+    /**
+     * Grava o cabeçalho imediatamente antes de a resposta ser enviada: na primeira escrita ou flush do corpo,
+     * no envio de erro ou redirecionamento, ou ao final da requisição se não houver corpo
+     */
+    private static final class TimedResponse extends HttpServletResponseWrapper {
+        private final ServerTiming timing;
+        private boolean headerWritten;
+        private ServletOutputStream outputStream;
+
+        private TimedResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        private void writeHeader() {
+            if (headerWritten) {
+                return;
+            }
+            headerWritten = true;
+            timing.close(ServerTiming.Phase.SERIALIZATION);
+            if (!isCommitted()) {
+                setHeader(HEADER, timing.toHeaderValue());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new TimedOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+
+    private static final class TimedOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final TimedResponse response;
+
+        private TimedOutputStream(ServletOutputStream delegate, TimedResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            response.writeHeader();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            response.writeHeader();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            response.writeHeader();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            response.writeHeader();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.service.SyntheticDataService;
+import br.com.meli.desafio_quality.util.SyntheticPropertyGenerator;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Semeia a aplicação na inicialização com dados sintéticos reproduzíveis ({@link SyntheticPropertyGenerator}).
+ * Exemplos:
+ * <pre>
+ * java -jar desafio_quality.jar --property.seed.properties=1000000
+ * java -jar desafio_quality.jar --property.seed.properties=1000000 --property.seed.output=/dados/propriedades.ndjson
+ * </pre>
+ * Sem {@code property.seed.output}, bairros e propriedades são inseridos no repositório. Com ele, as propriedades são
+ * gravadas no arquivo e apenas os bairros são cadastrados; o arquivo pode ser importado depois por qualquer instância
+ * semeada com a mesma semente e a mesma quantidade de bairros ({@code property.seed.properties=0}).
+ * Executada antes da importação inicial ({@link PropertyImportRunner}), cujo arquivo pode usar os bairros sintéticos.
+ */
+@Component
+@AllArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "property.seed.properties")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    private final SyntheticDataService syntheticDataService;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long count = environment.getRequiredProperty("property.seed.properties", Long.class);
+        long seed = environment.getProperty("property.seed.random-seed", Long.class, 42L);
+        int districts = environment.getProperty("property.seed.districts", Integer.class, 100);
+        String output = environment.getProperty("property.seed.output");
+        SyntheticPropertyGenerator generator = new SyntheticPropertyGenerator(seed, districts);
+
+        long start = System.nanoTime();
+        if (output == null) {
+            syntheticDataService.seedProperties(generator, count);
+            LOGGER.info("Repositório semeado com {} bairros e {} propriedades (semente {}) em {} ms",
+                    districts, count, seed, (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
+
+        syntheticDataService.seedDistricts(generator);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(output)), 64 * 1024)) {
+            syntheticDataService.writeNdjson(generator, count, out);
+        }
+        LOGGER.info("{} propriedades sintéticas (semente {}, {} bairros) gravadas em {} em {} ms",
+                count, seed, districts, output, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,246 @@
+package br.com.meli.desafio_quality.config;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Aquece a aplicação na inicialização, antes de ela se declarar pronta para receber tráfego. Uma carga sintética é
+ * enviada pela própria porta HTTP, passando por controller, desserialização, validação, cálculos e serialização,
+ * para que o JIT compile esses caminhos e os caches de cálculos e de JSON fiquem preenchidos.
+ * <p>
+ * O Spring Boot só publica o estado de prontidão ACCEPTING_TRAFFIC depois que todos os {@link ApplicationRunner}
+ * terminam; por isso o aquecimento roda por último, depois da importação inicial, e a prontidão
+ * ({@code GET /health/readiness}) responde 503 até ele acabar. O cadastro é exercitado com bairros inexistentes e
+ * com dados inválidos, de modo que nenhuma propriedade sintética fica no repositório.
+ * Ativado com {@code property.warm-up.enabled=true}.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "property.warm-up.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    /**
+     * Bairro que não existe: o cadastro percorre desserialização, validação e busca do bairro e é recusado
+     */
+    private static final String MISSING_DISTRICT = "Aquecimento";
+    private static final String MISSING_PROPERTY_ID = "aquecimento";
+
+    private final PropertyRepository propertyRepository;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public WarmUpRunner(PropertyRepository propertyRepository, ObjectMapper objectMapper, Environment environment) {
+        this.propertyRepository = propertyRepository;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws JsonProcessingException {
+        int iterations = environment.getProperty("property.warm-up.iterations", Integer.class, 2000);
+        long maxDurationNanos = Duration.ofMillis(environment.getProperty("property.warm-up.max-duration-ms", Long.class, 120_000L)).toNanos();
+        String baseUrl = "http://" + environment.getProperty("server.address", "localhost") + ":"
+                + environment.getRequiredProperty("local.server.port")
+                + environment.getProperty("server.servlet.context-path", "");
+
+        List<Property> properties = propertyRepository.getAllProperties();
+        List<Property> sample = sample(properties, iterations);
+        byte[] unknownDistrict = objectMapper.writeValueAsBytes(new PropertyDTO(null, "Casa Aquecimento",
+                new DistrictDTO(MISSING_DISTRICT, BigDecimal.valueOf(1000)),
+                List.of(new RoomDTO("Sala", 4.0, 5.0), new RoomDTO("Quarto", 3.0, 3.5), new RoomDTO("Cozinha", 2.5, 3.0))));
+        byte[] invalidRoom = objectMapper.writeValueAsBytes(new PropertyDTO(null, "Casa Aquecimento",
+                new DistrictDTO(MISSING_DISTRICT, BigDecimal.valueOf(1000)), List.of(new RoomDTO("sala", 4.0, 5.0))));
+
+        long start = System.nanoTime();
+        Latencies cold = new Latencies();
+        int cycles = 0;
+        try {
+            if (!properties.isEmpty()) {
+                // preenche o cache de JSON com a listagem completa
+                send(baseUrl, get("/property/get-all-properties", "/property/get-all-properties"), null);
+            }
+            while (cycles < iterations && System.nanoTime() - start < maxDurationNanos) {
+                Property property = sample.isEmpty() ? null : sample.get(cycles % sample.size());
+                runCycle(baseUrl, property, unknownDistrict, invalidRoom, cycles, cycles == 0 ? cold : null);
+                cycles++;
+            }
+        } catch (IOException ex) {
+            LOGGER.warn("Aquecimento interrompido após {} ciclos: {}", cycles, ex.toString());
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info("Aquecimento concluído em {} ms: {} ciclos, {} propriedades distintas{}", elapsedMillis, cycles, sample.size(),
+                properties.isEmpty() ? " (repositório vazio: cálculos exercitados apenas para id inexistente)" : "");
+
+        logLatencyAfterWarmUp(baseUrl, sample, unknownDistrict, invalidRoom, Math.max(20, cycles / 10), cold);
+    }
+
+    /**
+     * Mede uma nova rodada da mesma carga, com os caminhos já compilados e os caches preenchidos
+     */
+    private void logLatencyAfterWarmUp(String baseUrl, List<Property> sample, byte[] unknownDistrict, byte[] invalidRoom,
+                                       int cycles, Latencies cold) {
+        Latencies warm = new Latencies();
+        try {
+            for (int cycle = 0; cycle < cycles; cycle++) {
+                Property property = sample.isEmpty() ? null : sample.get(cycle % sample.size());
+                runCycle(baseUrl, property, unknownDistrict, invalidRoom, cycle, warm);
+            }
+        } catch (IOException ex) {
+            LOGGER.warn("Medição após o aquecimento interrompida: {}", ex.toString());
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        warm.byRoute.forEach((route, nanos) -> {
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            LOGGER.info("Latência após o aquecimento em {}: p50 {} µs, p99 {} µs (primeira requisição: {} µs)", route,
+                    percentile(sorted, 0.50) / 1000, percentile(sorted, 0.99) / 1000, cold.first(route) / 1000);
+        });
+    }
+
+    /**
+     * Um ciclo da carga sintética: cadastros recusados, leitura da propriedade, os quatro cálculos, comparáveis e buscas
+     */
+    private void runCycle(String baseUrl, Property property, byte[] unknownDistrict, byte[] invalidRoom, int cycle,
+                          Latencies latencies) throws IOException, InterruptedException {
+        String id = property == null ? MISSING_PROPERTY_ID : property.getId();
+
+        send(baseUrl, post("/property/insert", unknownDistrict), latencies);
+        send(baseUrl, post("/property/insert", invalidRoom), latencies);
+        send(baseUrl, get("/property/get-property/{id}", "/property/get-property/" + id), latencies);
+        send(baseUrl, get("/property/calculate-total-area-property/{id}", "/property/calculate-total-area-property/" + id), latencies);
+        send(baseUrl, get("/property/find-largest-room/{id}", "/property/find-largest-room/" + id), latencies);
+        send(baseUrl, get("/property/calculate-area-rooms/{id}", "/property/calculate-area-rooms/" + id), latencies);
+        send(baseUrl, get("/property/calculate-property-price/{id}", "/property/calculate-property-price/" + id), latencies);
+        if (property == null) {
+            return;
+        }
+        send(baseUrl, get("/property/{id}/comparables", "/property/" + id + "/comparables"), latencies);
+        String name = property.getName() == null ? "" : property.getName();
+        send(baseUrl, get("/property/search/name", "/property/search/name?q=" + encode(name.substring(0, Math.min(4, name.length())))), latencies);
+        if (cycle % 10 == 0 && property.getRooms() != null && !property.getRooms().isEmpty()) {
+            send(baseUrl, get("/property/search/rooms", "/property/search/rooms?all=" + encode(property.getRooms().get(0).getRoomName())), latencies);
+        }
+    }
+
+    private void send(String baseUrl, Route route, Latencies latencies) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(route.request.apply(baseUrl), HttpResponse.BodyHandlers.discarding());
+        if (latencies != null) {
+            latencies.record(route.name, System.nanoTime() - start);
+        }
+        if (response.statusCode() >= 500) {
+            LOGGER.warn("Aquecimento: {} respondeu {}", route.name, response.statusCode());
+        }
+    }
+
+    /**
+     * @param name Rota sem ids e parâmetros, usada nos logs
+     * @param path Caminho com ids e parâmetros
+     */
+    private static Route get(String name, String path) {
+        return new Route("GET " + name,
+                baseUrl -> HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+    }
+
+    private static Route post(String path, byte[] body) {
+        return new Route("POST " + path,
+                baseUrl -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build());
+    }
+
+    /**
+     * Propriedades espalhadas por todo o repositório, no máximo uma por ciclo
+     */
+    private static List<Property> sample(List<Property> properties, int size) {
+        if (properties.size() <= size) {
+            return properties;
+        }
+        List<Property> sample = new ArrayList<>(size);
+        double step = (double) properties.size() / size;
+        for (int i = 0; i < size; i++) {
+            sample.add(properties.get((int) (i * step)));
+        }
+        return sample;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, UTF_8);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+
+    /**
+     * Requisição da carga sintética, identificada pela rota sem ids e parâmetros
+     */
+    private static final class Route {
+        private final String name;
+        private final Function<String, HttpRequest> request;
+
+        private Route(String name, Function<String, HttpRequest> request) {
+            this.name = name;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Latências por rota, na ordem em que as rotas aparecem
+     */
+    private static final class Latencies {
+        private final Map<String, List<Long>> byRoute = new LinkedHashMap<>();
+
+        void record(String route, long nanos) {
+            byRoute.computeIfAbsent(route, key -> new ArrayList<>()).add(nanos);
+        }
+
+        long first(String route) {
+            List<Long> nanos = byRoute.get(route);
+            return nanos == null || nanos.isEmpty() ? 0 : nanos.get(0);
+        }
+    }
+}
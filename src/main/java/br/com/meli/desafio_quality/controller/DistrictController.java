@@ -0,0 +1,39 @@
+package br.com.meli.desafio_quality.controller;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.service.DistrictService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+
+/**
+ *  Classe controlador responsável por lidar com as rotas referentes ao recurso district.
+ */
+@RestController
+@RequestMapping("/district")
+public class DistrictController {
+
+    /**
+     * {@link DistrictService Service} de district injetado
+     */
+    @Autowired
+    private DistrictService districtService;
+
+    /**
+     * Endpoint responsável por alterar o valor do metro quadrado de um bairro cadastrado.
+     * As propriedades do bairro passam a ser calculadas com o novo valor.
+     *
+     * @param districtDTO Nome do bairro e novo valor do metro quadrado
+     * @return Bairro atualizado
+     */
+    @PutMapping("/update-price")
+    public ResponseEntity<DistrictDTO> updateDistrictPrice(@RequestBody @Valid DistrictDTO districtDTO) {
+        return new ResponseEntity<>(districtService.updateDistrictPrice(districtDTO), HttpStatus.OK);
+    }
+}
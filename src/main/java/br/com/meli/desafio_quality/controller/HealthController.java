@@ -0,0 +1,51 @@
+package br.com.meli.desafio_quality.controller;
+
+import br.com.meli.desafio_quality.dto.AvailabilityDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ *  Classe controlador responsável pelas sondas de vida e de prontidão da instância, usadas pelo balanceador e pelo
+ *  orquestrador. A prontidão só é declarada depois que a importação inicial e o aquecimento terminam.
+ */
+@RestController
+@RequestMapping("/health")
+public class HealthController {
+
+    /**
+     * {@link ApplicationAvailability Estado} de disponibilidade mantido pelo Spring Boot injetado
+     */
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    /**
+     * Endpoint responsável por informar se a instância está pronta para receber tráfego
+     *
+     * @return 200 com ACCEPTING_TRAFFIC, ou 503 com REFUSING_TRAFFIC durante a inicialização
+     */
+    @GetMapping("/readiness")
+    public ResponseEntity<AvailabilityDTO> getReadiness() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        return new ResponseEntity<>(new AvailabilityDTO(state.name()),
+                state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Endpoint responsável por informar se a instância está funcionando
+     *
+     * @return 200 com CORRECT, ou 503 com BROKEN
+     */
+    @GetMapping("/liveness")
+    public ResponseEntity<AvailabilityDTO> getLiveness() {
+        LivenessState state = applicationAvailability.getLivenessState();
+        return new ResponseEntity<>(new AvailabilityDTO(state.name()),
+                state == LivenessState.CORRECT ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
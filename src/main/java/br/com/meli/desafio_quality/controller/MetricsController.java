@@ -0,0 +1,127 @@
+package br.com.meli.desafio_quality.controller;
+
+import br.com.meli.desafio_quality.dto.BulkheadStatsDTO;
+import br.com.meli.desafio_quality.dto.CacheStatsDTO;
+import br.com.meli.desafio_quality.dto.CoalescingStatsDTO;
+import br.com.meli.desafio_quality.dto.ConcurrencyLimitStatsDTO;
+import br.com.meli.desafio_quality.dto.FeedStatsDTO;
+import br.com.meli.desafio_quality.service.CalculationCoalescer;
+import br.com.meli.desafio_quality.service.PropertyChangeFeed;
+import br.com.meli.desafio_quality.service.PropertyCalculationCache;
+import br.com.meli.desafio_quality.service.PropertyJsonCache;
+import br.com.meli.desafio_quality.util.AdaptiveConcurrencyLimiter;
+import br.com.meli.desafio_quality.util.Bulkhead;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ *  Classe controlador responsável por expor as métricas internas da aplicação (caches, filas e limites).
+ */
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    /**
+     * {@link PropertyCalculationCache Cache} dos cálculos de propriedades injetado
+     */
+    @Autowired
+    private PropertyCalculationCache calculationCache;
+
+    /**
+     * {@link CalculationCoalescer Agrupador} de cálculos concorrentes injetado
+     */
+    @Autowired
+    private CalculationCoalescer calculationCoalescer;
+
+    /**
+     * {@link PropertyJsonCache Cache} do JSON das propriedades injetado
+     */
+    @Autowired
+    private PropertyJsonCache propertyJsonCache;
+
+    /**
+     * {@link PropertyChangeFeed Feed} de alterações injetado
+     */
+    @Autowired
+    private PropertyChangeFeed propertyChangeFeed;
+
+    /**
+     * {@link Bulkhead Bulkheads} das rotas de leitura injetados
+     */
+    @Autowired
+    private List<Bulkhead> bulkheads;
+
+    /**
+     * {@link AdaptiveConcurrencyLimiter Limites} de requisições simultâneas de leitura e escrita injetados
+     */
+    @Autowired
+    private List<AdaptiveConcurrencyLimiter> concurrencyLimiters;
+
+    /**
+     * Endpoint responsável por retornar as estatísticas do cache de cálculos de propriedades
+     *
+     * @return Tamanho, limite, acertos, falhas e descartes do cache
+     */
+    @GetMapping("/calculation-cache")
+    public ResponseEntity<CacheStatsDTO> getCalculationCacheStats() {
+        return new ResponseEntity<>(calculationCache.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint responsável por retornar as estatísticas do cache de JSON das propriedades
+     *
+     * @return Bytes em uso, limite em bytes, acertos, falhas e descartes do cache
+     */
+    @GetMapping("/property-json-cache")
+    public ResponseEntity<CacheStatsDTO> getPropertyJsonCacheStats() {
+        return new ResponseEntity<>(propertyJsonCache.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint responsável por retornar quantas chamadas de cálculo foram agrupadas em uma execução já em andamento
+     *
+     * @return Chamadas, execuções, chamadas agrupadas e cálculos em andamento
+     */
+    @GetMapping("/calculation-coalescing")
+    public ResponseEntity<CoalescingStatsDTO> getCalculationCoalescingStats() {
+        return new ResponseEntity<>(calculationCoalescer.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint responsável por retornar as estatísticas do feed de alterações, incluindo o atraso dos assinantes
+     *
+     * @return Assinantes, última sequência, tamanho do buffer, atrasos, resyncs e assinantes descartados
+     */
+    @GetMapping("/property-feed")
+    public ResponseEntity<FeedStatsDTO> getPropertyFeedStats() {
+        return new ResponseEntity<>(propertyChangeFeed.getStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint responsável por retornar a ocupação de cada bulkhead e quantas requisições foram recusadas por ele
+     *
+     * @return Threads, threads ocupadas, fila, capacidade da fila, concluídas, recusadas e espera média na fila
+     */
+    @GetMapping("/bulkheads")
+    public ResponseEntity<List<BulkheadStatsDTO>> getBulkheadStats() {
+        return new ResponseEntity<>(bulkheads.stream().map(Bulkhead::getStats).collect(Collectors.toList()), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint responsável por retornar os limites adaptativos de requisições simultâneas e quantas vezes eles mudaram
+     *
+     * @return Limite atual e faixa, requisições em andamento, aceitas, recusadas, aumentos e reduções e latências médias
+     */
+    @GetMapping("/concurrency-limits")
+    public ResponseEntity<List<ConcurrencyLimitStatsDTO>> getConcurrencyLimitStats() {
+        return new ResponseEntity<>(concurrencyLimiters.stream().map(AdaptiveConcurrencyLimiter::getStats).collect(Collectors.toList()),
+                HttpStatus.OK);
+    }
+}
@@ -1,24 +1,48 @@
 package br.com.meli.desafio_quality.controller;
 
 import br.com.meli.desafio_quality.dto.*;
+import br.com.meli.desafio_quality.serialization.PropertyExportFormat;
+import br.com.meli.desafio_quality.serialization.PropertyFields;
+import br.com.meli.desafio_quality.serialization.PropertyImportFormat;
+import br.com.meli.desafio_quality.service.PropertyChangeFeed;
+import br.com.meli.desafio_quality.service.PropertyExportService;
+import br.com.meli.desafio_quality.service.PropertyImportService;
 import br.com.meli.desafio_quality.service.PropertyService;
+import br.com.meli.desafio_quality.util.Bulkhead;
+import br.com.meli.desafio_quality.validation.PropertyDTOValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  *  Classe controlador responsável por lidar com as rotas referentes ao recurso property.
  *  Possui rotas para criação, listagem e cálculos relacionados a uma propriedade.
+ *  As rotas de leitura enviam ETags e respondem 304 quando o cliente já possui a versão atual.
+ *  As rotas de listagem e de leitura de uma propriedade também respondem em CBOR (Accept: application/cbor).
+ *  As rotas de leitura são executadas de forma assíncrona em bulkheads separados para rotas pesadas e consultas
+ *  pontuais; com o bulkhead lotado, a resposta é 503 com Retry-After.
+ *  Ativo na pilha servlet (padrão); com spring.main.web-application-type=reactive as rotas são atendidas pelo
+ *  {@link ReactivePropertyController}.
  *
  * @author Jederson Macedo
  * @author Jeferson Barbosa
  */
 @RestController
 @RequestMapping("/property")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PropertyController {
 
     /**
@@ -27,6 +51,59 @@ public class PropertyController {
     @Autowired
     private PropertyService propertyService;
 
+    /**
+     * {@link PropertyChangeFeed Feed} de alterações injetado
+     */
+    @Autowired
+    private PropertyChangeFeed propertyChangeFeed;
+
+    /**
+     * {@link PropertyImportService Service} de importação em massa injetado
+     */
+    @Autowired
+    private PropertyImportService propertyImportService;
+
+    /**
+     * {@link PropertyExportService Service} de exportação em massa injetado
+     */
+    @Autowired
+    private PropertyExportService propertyExportService;
+
+    /**
+     * {@link Bulkhead} das rotas pesadas: listagens completas, sincronização e buscas com facetas
+     */
+    @Autowired
+    @Qualifier("heavyBulkhead")
+    private Bulkhead heavyBulkhead;
+
+    /**
+     * {@link Bulkhead} das consultas pontuais: uma propriedade, cálculos, busca por nome e comparáveis
+     */
+    @Autowired
+    @Qualifier("lookupBulkhead")
+    private Bulkhead lookupBulkhead;
+
+    /**
+     * {@link PropertyDTOValidator Validação} do cadastro de propriedades injetada
+     */
+    @Autowired
+    private PropertyDTOValidator propertyDTOValidator;
+
+    /**
+     * Diferencia a ETag da representação CBOR da ETag da representação JSON
+     */
+    private static final String CBOR_ETAG_SUFFIX = "-cbor";
+
+    /**
+     * Valida o corpo do cadastro com o {@link PropertyDTOValidator}, no lugar da validação por reflexão das anotações
+     *
+     * @param binder Binder do parâmetro propertyDTO
+     */
+    @InitBinder("propertyDTO")
+    public void initPropertyBinder(WebDataBinder binder) {
+        binder.setValidator(propertyDTOValidator);
+    }
+
     /**
      * Endpoint responsável pela criação de uma propriedade
      *
@@ -38,58 +115,258 @@ public class PropertyController {
         return new ResponseEntity<>(propertyService.insertProperty(propertyDTO), HttpStatus.CREATED);
     }
 
+    /**
+     * Endpoint responsável pela importação em massa de propriedades. O corpo é lido de forma incremental,
+     * uma propriedade por linha, sem ser mantido inteiro em memória.
+     *
+     * @param format Formato do corpo: ndjson (padrão) ou csv
+     * @param body Conteúdo a ser importado, em UTF-8
+     * @return Relatório com linhas lidas, importadas, rejeitadas e a vazão da importação
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReportDTO> importProperties(@RequestParam(defaultValue = "ndjson") String format, InputStream body) {
+        return new ResponseEntity<>(propertyImportService.importProperties(body, PropertyImportFormat.fromName(format)), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint responsável por iniciar, em segundo plano, a exportação completa das propriedades para arquivos
+     *
+     * @param format Formato dos arquivos: ndjson (padrão) ou cbor
+     * @param gzip Se os arquivos são compactados com gzip
+     * @param chunkBytes Tamanho máximo aproximado de cada arquivo, em bytes; o padrão configurado se omitido
+     * @return Exportação agendada, com o id para acompanhamento
+     */
+    @PostMapping("/export")
+    public ResponseEntity<ExportJobDTO> startExport(@RequestParam(defaultValue = "ndjson") String format,
+                                                    @RequestParam(defaultValue = "true") boolean gzip,
+                                                    @RequestParam(defaultValue = "0") long chunkBytes) {
+        return new ResponseEntity<>(propertyExportService.startExport(PropertyExportFormat.fromName(format), gzip, chunkBytes),
+                HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Endpoint responsável por retornar a situação de uma exportação
+     *
+     * @param jobId Id da exportação
+     * @return Situação, quantidade de propriedades, bytes e arquivos gravados
+     */
+    @GetMapping("/export/{jobId}")
+    public ResponseEntity<ExportJobDTO> getExport(@PathVariable String jobId) {
+        return ResponseEntity.of(propertyExportService.getJob(jobId));
+    }
+
     /**
      * Endpoint responsável pela listagem de todas as propriedades já cadastradas
      *
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param request Requisição atual, usada na verificação do If-None-Match
      * @return Lista de propriedades
      */
     @GetMapping("/get-all-properties")
-    public ResponseEntity<List<PropertyDTO>> getAllProperties() {
-        return new ResponseEntity<>(propertyService.getAllProperties(), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<PreSerializedJson>> getAllProperties(@RequestParam(required = false) String fields, WebRequest request) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        return respondIfModified(heavyBulkhead, request, propertyService.getPropertiesETag() + propertyFields.eTagSuffix(),
+                () -> propertyService.getAllPropertiesJson(propertyFields));
+    }
+
+    /**
+     * Endpoint responsável por retornar uma propriedade cadastrada
+     *
+     * @param propertyId Id da propriedade
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param request Requisição atual, usada na verificação do If-None-Match
+     * @return Propriedade informada
+     */
+    @GetMapping("/get-property/{propertyId}")
+    public CompletableFuture<ResponseEntity<PreSerializedJson>> getProperty(@PathVariable String propertyId,
+                                                         @RequestParam(required = false) String fields, WebRequest request) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        return respondIfModified(lookupBulkhead, request,
+                propertyService.getPropertyETag(propertyId).map(eTag -> eTag + propertyFields.eTagSuffix()).orElse(null),
+                () -> propertyService.getPropertyJson(propertyId, propertyFields));
+    }
+
+    /**
+     * Endpoint responsável pela listagem de todas as propriedades em CBOR, selecionado pelo cabeçalho
+     * Accept: application/cbor. Possui os mesmos campos da listagem em JSON.
+     *
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param request Requisição atual, usada na verificação do If-None-Match
+     * @return Lista de propriedades em CBOR
+     */
+    @GetMapping(value = "/get-all-properties", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public CompletableFuture<ResponseEntity<byte[]>> getAllPropertiesCbor(@RequestParam(required = false) String fields, WebRequest request) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        return respondIfModified(heavyBulkhead, request, propertyService.getPropertiesETag() + propertyFields.eTagSuffix() + CBOR_ETAG_SUFFIX,
+                () -> propertyService.getAllPropertiesCbor(propertyFields));
+    }
+
+    /**
+     * Endpoint responsável por retornar uma propriedade cadastrada em CBOR, selecionado pelo cabeçalho
+     * Accept: application/cbor
+     *
+     * @param propertyId Id da propriedade
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param request Requisição atual, usada na verificação do If-None-Match
+     * @return Propriedade informada em CBOR
+     */
+    @GetMapping(value = "/get-property/{propertyId}", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public CompletableFuture<ResponseEntity<byte[]>> getPropertyCbor(@PathVariable String propertyId,
+                                                  @RequestParam(required = false) String fields, WebRequest request) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        return respondIfModified(lookupBulkhead, request,
+                propertyService.getPropertyETag(propertyId).map(eTag -> eTag + propertyFields.eTagSuffix() + CBOR_ETAG_SUFFIX).orElse(null),
+                () -> propertyService.getPropertyCbor(propertyId, propertyFields));
+    }
+
+    /**
+     * Endpoint responsável pela busca de propriedades pelo nome, por início de palavra ou por trecho do nome.
+     * Acentos e maiúsculas são ignorados.
+     *
+     * @param q     Texto buscado
+     * @param limit Quantidade máxima de resultados (até 100)
+     * @return Id e nome das propriedades encontradas
+     */
+    @GetMapping("/search/name")
+    public CompletableFuture<ResponseEntity<List<PropertyNameDTO>>> searchByName(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return lookupBulkhead.supply(() -> new ResponseEntity<>(propertyService.searchByName(q, limit), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável pela busca de propriedades pelos cômodos, por exemplo "tem Bedroom e Office"
+     * ({@code all=Bedroom,Office}) ou "pelo menos 3 cômodos" ({@code minRooms=3}), com as contagens por
+     * cômodo, quantidade de cômodos e bairro entre as propriedades encontradas.
+     *
+     * @param all      Cômodos que a propriedade deve ter, todos eles
+     * @param any      Cômodos dos quais a propriedade deve ter pelo menos um
+     * @param district Nome do bairro
+     * @param minRooms Quantidade mínima de cômodos
+     * @param maxRooms Quantidade máxima de cômodos
+     * @param limit    Quantidade máxima de propriedades (até 100)
+     * @return Total encontrado, as primeiras propriedades e as facetas
+     */
+    @GetMapping("/search/rooms")
+    public CompletableFuture<ResponseEntity<RoomSearchResultDTO>> searchByRooms(@RequestParam(required = false) List<String> all,
+                                                             @RequestParam(required = false) List<String> any,
+                                                             @RequestParam(required = false) String district,
+                                                             @RequestParam(required = false) Integer minRooms,
+                                                             @RequestParam(required = false) Integer maxRooms,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return heavyBulkhead.supply(() -> new ResponseEntity<>(propertyService.searchByRooms(all, any, district, minRooms, maxRooms, limit), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável por buscar as propriedades mais parecidas com uma propriedade (comparáveis para avaliação),
+     * considerando área total, quantidade de cômodos, área do maior cômodo e valor do metro quadrado do bairro
+     *
+     * @param propertyId   Id da propriedade de referência
+     * @param k            Quantidade de propriedades (até 50)
+     * @param sameDistrict Se apenas propriedades do mesmo bairro devem ser consideradas
+     * @return Propriedades comparáveis, da mais parecida para a menos parecida
+     */
+    @GetMapping("/{propertyId}/comparables")
+    public CompletableFuture<ResponseEntity<List<ComparablePropertyDTO>>> getComparables(@PathVariable String propertyId,
+                                                                      @RequestParam(defaultValue = "5") int k,
+                                                                      @RequestParam(defaultValue = "false") boolean sameDistrict) {
+        return lookupBulkhead.supply(() -> new ResponseEntity<>(propertyService.getComparables(propertyId, k, sameDistrict), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável pela sincronização incremental: retorna apenas as propriedades cadastradas
+     * ou alteradas depois da versão informada, na ordem das alterações
+     *
+     * @param since Valor de nextSince da consulta anterior; zero para começar do início
+     * @param limit Quantidade máxima de propriedades (até 1000)
+     * @return Propriedades alteradas, a versão para a próxima consulta e se a réplica deve ser descartada
+     */
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<PropertyChangesDTO>> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                         @RequestParam(defaultValue = "100") int limit) {
+        return heavyBulkhead.supply(() -> new ResponseEntity<>(propertyService.getChangesSince(since, limit), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável pelo feed de alterações (Server-Sent Events): cadastros de propriedades e alterações
+     * de preço de bairro. Um cliente que ficar muito atrasado recebe um evento resync e deve recarregar a lista.
+     *
+     * @param lastEventId Último evento recebido, enviado pelo navegador ao reconectar
+     * @return Conexão do feed
+     */
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return propertyChangeFeed.subscribe(lastEventId);
     }
 
     /**
      * Endpoint responsável por retornar a área total de uma determinada propriedade
      *
      * @param propertyId Id da propriedade que terá sua área calculada
+     * @param request Requisição atual, usada na verificação do If-None-Match
      * @return id, nome e área total da propriedade informada
      */
     @GetMapping("/calculate-total-area-property/{propertyId}")
-    public ResponseEntity<PropertyTotalAreaDTO> calculateTotalArea(@PathVariable String propertyId) {
-        return new ResponseEntity<>(propertyService.calculateTotalArea(propertyId), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<PropertyTotalAreaDTO>> calculateTotalArea(@PathVariable String propertyId, WebRequest request) {
+        return respondIfModified(lookupBulkhead, request, propertyService.getPropertyETag(propertyId).orElse(null),
+                () -> propertyService.calculateTotalArea(propertyId));
     }
 
     /**
      * Endpoint responsável por retornar o maior cômodo de uma determinada propriedade
      *
      * @param propertyId Id da propriedade que terá seu maior cômodo retornado
+     * @param request Requisição atual, usada na verificação do If-None-Match
      * @return Nome da propriedade, nome e área total do maior cômodo
      */
     @GetMapping("/find-largest-room/{propertyId}")
-    public ResponseEntity<LargestRoomAreaDTO> findLargestRoom(@PathVariable String propertyId) {
-        return new ResponseEntity<>(propertyService.findLargestRoom(propertyId), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<LargestRoomAreaDTO>> findLargestRoom(@PathVariable String propertyId, WebRequest request) {
+        return respondIfModified(lookupBulkhead, request, propertyService.getPropertyETag(propertyId).orElse(null),
+                () -> propertyService.findLargestRoom(propertyId));
     }
 
     /**
      * Endpoint responsável por retornar a lista de cômodos de uma determinada propriedade
      *
      * @param propertyId Id da propriedade que terá seus cômodos retornados
+     * @param request Requisição atual, usada na verificação do If-None-Match
      * @return Lista de cômodos da propriedade informada
      */
     @GetMapping("/calculate-area-rooms/{propertyId}")
-    public ResponseEntity<RoomAreasDTO> calculateAreaRooms(@PathVariable String propertyId) {
-        return new ResponseEntity<>(propertyService.calculateAreaRooms(propertyId) , HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<RoomAreasDTO>> calculateAreaRooms(@PathVariable String propertyId, WebRequest request) {
+        return respondIfModified(lookupBulkhead, request, propertyService.getPropertyETag(propertyId).orElse(null),
+                () -> propertyService.calculateAreaRooms(propertyId));
     }
 
     /**
      * Endpoint responsável por retornar o preço total de uma determinada propriedade
      *
      * @param propertyId Id da propriedade que terá seu preço total calculado
+     * @param request Requisição atual, usada na verificação do If-None-Match
      * @return Nome da propriedade e seu preço total
      */
     @GetMapping("/calculate-property-price/{propertyId}")
-    public ResponseEntity<PropertyPriceDTO> calculatePropertyPrice(@PathVariable String propertyId) {
-        return new ResponseEntity<>(propertyService.calculateProperty(propertyId) ,HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<PropertyPriceDTO>> calculatePropertyPrice(@PathVariable String propertyId, WebRequest request) {
+        return respondIfModified(lookupBulkhead, request, propertyService.getPropertyETag(propertyId).orElse(null),
+                () -> propertyService.calculateProperty(propertyId));
     }
 
+    /**
+     * Responde 304 sem executar nada quando o cliente já possui a versão atual (If-None-Match);
+     * caso contrário, produz o corpo no bulkhead informado e o devolve junto com a ETag.
+     * A ETag é verificada na thread da requisição, pois é barata e dispensa o bulkhead.
+     *
+     * @param bulkhead Bulkhead em que o corpo é produzido
+     * @param request  Requisição atual
+     * @param eTag     ETag da versão atual do recurso, ou {@code null} se o recurso não existir
+     * @param body     Produz o corpo da resposta
+     * @return 304 sem corpo ou 200 com o corpo produzido
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> respondIfModified(Bulkhead bulkhead, WebRequest request, String eTag, Supplier<T> body) {
+        if (eTag == null) {
+            return bulkhead.supply(() -> new ResponseEntity<>(body.get(), HttpStatus.OK));
+        }
+        if (request.checkNotModified(eTag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        }
+        return bulkhead.supply(() -> ResponseEntity.ok().eTag(eTag).body(body.get()));
+    }
 }
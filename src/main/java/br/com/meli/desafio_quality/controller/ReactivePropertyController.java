@@ -0,0 +1,349 @@
+package br.com.meli.desafio_quality.controller;
+
+import br.com.meli.desafio_quality.dto.*;
+import br.com.meli.desafio_quality.serialization.PropertyFields;
+import br.com.meli.desafio_quality.service.PropertyService;
+import br.com.meli.desafio_quality.validation.PropertyDTOValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ *  Variante não bloqueante (WebFlux) das rotas de {@link PropertyController}, ativa quando a aplicação é iniciada com
+ *  spring.main.web-application-type=reactive. As rotas, parâmetros, respostas e ETags são os mesmos.
+ *  A listagem completa é um fluxo com contrapressão: a lista de referências às propriedades é copiada do repositório
+ *  de uma vez, mas cada propriedade só é serializada quando o cliente consome a resposta, em lotes, sem montar o JSON
+ *  inteiro em memória.
+ *  Os cálculos não bloqueiam: requisições que chegam durante um cálculo idêntico recebem o futuro dele.
+ *  Toda rota que consulta o repositório (inclusive a leitura da ETag) ou os índices adquire locks de leitura, que podem
+ *  esperar por uma importação ou mudança de preço em andamento. Por isso essas rotas são executadas no scheduler
+ *  elástico, fora das threads de I/O e do scheduler paralelo, para não atrasar as demais conexões.
+ *  Buffers da listagem completa descartados por um cancelamento (cliente desconectado) são liberados.
+ *  Importação, exportação e feed existem apenas na pilha servlet.
+ */
+@RestController
+@RequestMapping("/property")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePropertyController {
+
+    /**
+     * Quantidade de propriedades escritas em cada buffer da listagem completa
+     */
+    static final int STREAM_BATCH_SIZE = 256;
+
+    /**
+     * {@link PropertyService Service} de property injetado
+     */
+    @Autowired
+    private PropertyService propertyService;
+
+    /**
+     * {@link PropertyDTOValidator Validação} do cadastro de propriedades injetada
+     */
+    @Autowired
+    private PropertyDTOValidator propertyDTOValidator;
+
+    /**
+     * Diferencia a ETag da representação CBOR da ETag da representação JSON
+     */
+    private static final String CBOR_ETAG_SUFFIX = "-cbor";
+
+    /**
+     * Valida o corpo do cadastro com o {@link PropertyDTOValidator}, no lugar da validação por reflexão das anotações
+     *
+     * @param binder Binder do parâmetro propertyDTO
+     */
+    @InitBinder("propertyDTO")
+    public void initPropertyBinder(WebDataBinder binder) {
+        binder.setValidator(propertyDTOValidator);
+    }
+
+    /**
+     * Endpoint responsável pela criação de uma propriedade
+     *
+     * @param propertyDTO Propriedade que será cadastrada
+     * @return Propriedade criada
+     */
+    @PostMapping("/insert")
+    public Mono<ResponseEntity<PropertyDTO>> insertProperty(@RequestBody @Valid PropertyDTO propertyDTO) {
+        return blocking(() -> new ResponseEntity<>(propertyService.insertProperty(propertyDTO), HttpStatus.CREATED));
+    }
+
+    /**
+     * Endpoint responsável pela listagem de todas as propriedades já cadastradas, enviada em lotes conforme
+     * o cliente consome a resposta
+     *
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return Lista de propriedades
+     */
+    @GetMapping("/get-all-properties")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllProperties(@RequestParam(required = false) String fields, ServerWebExchange exchange) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        String eTag = propertyService.getPropertiesETag() + propertyFields.eTagSuffix();
+        if (exchange.checkNotModified(eTag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        }
+
+        DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+        Flux<DataBuffer> elements = Flux.fromStream(() -> propertyService.streamAllPropertiesJson(propertyFields))
+                .buffer(STREAM_BATCH_SIZE)
+                .index((batch, segments) -> join(bufferFactory, segments, batch == 0))
+                .subscribeOn(Schedulers.boundedElastic());
+        Flux<DataBuffer> body = Flux.concat(
+                Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{'['})),
+                elements,
+                Mono.fromSupplier(() -> bufferFactory.wrap(new byte[]{']'})))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+        return Mono.just(ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON).body(body));
+    }
+
+    /**
+     * Endpoint responsável por retornar uma propriedade cadastrada
+     *
+     * @param propertyId Id da propriedade
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return Propriedade informada
+     */
+    @GetMapping("/get-property/{propertyId}")
+    public Mono<ResponseEntity<byte[]>> getProperty(@PathVariable String propertyId,
+                                                    @RequestParam(required = false) String fields, ServerWebExchange exchange) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        return respondIfModified(exchange,
+                () -> propertyService.getPropertyETag(propertyId).map(eTag -> eTag + propertyFields.eTagSuffix()).orElse(null),
+                MediaType.APPLICATION_JSON,
+                Mono.fromSupplier(() -> propertyService.getPropertyJson(propertyId, propertyFields).getSegments().get(0)));
+    }
+
+    /**
+     * Endpoint responsável pela listagem de todas as propriedades em CBOR, selecionado pelo cabeçalho
+     * Accept: application/cbor. Possui os mesmos campos da listagem em JSON.
+     *
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return Lista de propriedades em CBOR
+     */
+    @GetMapping(value = "/get-all-properties", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public Mono<ResponseEntity<byte[]>> getAllPropertiesCbor(@RequestParam(required = false) String fields, ServerWebExchange exchange) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        return respondIfModified(exchange, () -> propertyService.getPropertiesETag() + propertyFields.eTagSuffix() + CBOR_ETAG_SUFFIX,
+                MediaType.APPLICATION_CBOR, Mono.fromSupplier(() -> propertyService.getAllPropertiesCbor(propertyFields)));
+    }
+
+    /**
+     * Endpoint responsável por retornar uma propriedade cadastrada em CBOR, selecionado pelo cabeçalho
+     * Accept: application/cbor
+     *
+     * @param propertyId Id da propriedade
+     * @param fields Campos desejados, separados por vírgula (id, name, district, rooms); todos se omitido
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return Propriedade informada em CBOR
+     */
+    @GetMapping(value = "/get-property/{propertyId}", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public Mono<ResponseEntity<byte[]>> getPropertyCbor(@PathVariable String propertyId,
+                                                        @RequestParam(required = false) String fields, ServerWebExchange exchange) {
+        PropertyFields propertyFields = PropertyFields.parse(fields);
+        return respondIfModified(exchange,
+                () -> propertyService.getPropertyETag(propertyId).map(eTag -> eTag + propertyFields.eTagSuffix() + CBOR_ETAG_SUFFIX).orElse(null),
+                MediaType.APPLICATION_CBOR, Mono.fromSupplier(() -> propertyService.getPropertyCbor(propertyId, propertyFields)));
+    }
+
+    /**
+     * Endpoint responsável pela busca de propriedades pelo nome, por início de palavra ou por trecho do nome.
+     * Acentos e maiúsculas são ignorados.
+     *
+     * @param q     Texto buscado
+     * @param limit Quantidade máxima de resultados (até 100)
+     * @return Id e nome das propriedades encontradas
+     */
+    @GetMapping("/search/name")
+    public Mono<ResponseEntity<List<PropertyNameDTO>>> searchByName(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return blocking(() -> new ResponseEntity<>(propertyService.searchByName(q, limit), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável pela busca de propriedades pelos cômodos, com as contagens por cômodo, quantidade
+     * de cômodos e bairro entre as propriedades encontradas
+     *
+     * @param all      Cômodos que a propriedade deve ter, todos eles
+     * @param any      Cômodos dos quais a propriedade deve ter pelo menos um
+     * @param district Nome do bairro
+     * @param minRooms Quantidade mínima de cômodos
+     * @param maxRooms Quantidade máxima de cômodos
+     * @param limit    Quantidade máxima de propriedades (até 100)
+     * @return Total encontrado, as primeiras propriedades e as facetas
+     */
+    @GetMapping("/search/rooms")
+    public Mono<ResponseEntity<RoomSearchResultDTO>> searchByRooms(@RequestParam(required = false) List<String> all,
+                                                                   @RequestParam(required = false) List<String> any,
+                                                                   @RequestParam(required = false) String district,
+                                                                   @RequestParam(required = false) Integer minRooms,
+                                                                   @RequestParam(required = false) Integer maxRooms,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return blocking(() -> new ResponseEntity<>(propertyService.searchByRooms(all, any, district, minRooms, maxRooms, limit), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável por buscar as propriedades mais parecidas com uma propriedade (comparáveis para avaliação)
+     *
+     * @param propertyId   Id da propriedade de referência
+     * @param k            Quantidade de propriedades (até 50)
+     * @param sameDistrict Se apenas propriedades do mesmo bairro devem ser consideradas
+     * @return Propriedades comparáveis, da mais parecida para a menos parecida
+     */
+    @GetMapping("/{propertyId}/comparables")
+    public Mono<ResponseEntity<List<ComparablePropertyDTO>>> getComparables(@PathVariable String propertyId,
+                                                                            @RequestParam(defaultValue = "5") int k,
+                                                                            @RequestParam(defaultValue = "false") boolean sameDistrict) {
+        return blocking(() -> new ResponseEntity<>(propertyService.getComparables(propertyId, k, sameDistrict), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável pela sincronização incremental: retorna apenas as propriedades cadastradas
+     * ou alteradas depois da versão informada, na ordem das alterações
+     *
+     * @param since Valor de nextSince da consulta anterior; zero para começar do início
+     * @param limit Quantidade máxima de propriedades (até 1000)
+     * @return Propriedades alteradas, a versão para a próxima consulta e se a réplica deve ser descartada
+     */
+    @GetMapping("/changes")
+    public Mono<ResponseEntity<PropertyChangesDTO>> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        return blocking(() -> new ResponseEntity<>(propertyService.getChangesSince(since, limit), HttpStatus.OK));
+    }
+
+    /**
+     * Endpoint responsável por retornar a área total de uma determinada propriedade
+     *
+     * @param propertyId Id da propriedade que terá sua área calculada
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return id, nome e área total da propriedade informada
+     */
+    @GetMapping("/calculate-total-area-property/{propertyId}")
+    public Mono<ResponseEntity<PropertyTotalAreaDTO>> calculateTotalArea(@PathVariable String propertyId, ServerWebExchange exchange) {
+        return respondIfModified(exchange, () -> propertyService.getPropertyETag(propertyId).orElse(null), null,
+                calculation(() -> propertyService.calculateTotalAreaAsync(propertyId)));
+    }
+
+    /**
+     * Endpoint responsável por retornar o maior cômodo de uma determinada propriedade
+     *
+     * @param propertyId Id da propriedade que terá seu maior cômodo retornado
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return Nome da propriedade, nome e área total do maior cômodo
+     */
+    @GetMapping("/find-largest-room/{propertyId}")
+    public Mono<ResponseEntity<LargestRoomAreaDTO>> findLargestRoom(@PathVariable String propertyId, ServerWebExchange exchange) {
+        return respondIfModified(exchange, () -> propertyService.getPropertyETag(propertyId).orElse(null), null,
+                calculation(() -> propertyService.findLargestRoomAsync(propertyId)));
+    }
+
+    /**
+     * Endpoint responsável por retornar a lista de cômodos de uma determinada propriedade
+     *
+     * @param propertyId Id da propriedade que terá seus cômodos retornados
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return Lista de cômodos da propriedade informada
+     */
+    @GetMapping("/calculate-area-rooms/{propertyId}")
+    public Mono<ResponseEntity<RoomAreasDTO>> calculateAreaRooms(@PathVariable String propertyId, ServerWebExchange exchange) {
+        return respondIfModified(exchange, () -> propertyService.getPropertyETag(propertyId).orElse(null), null,
+                calculation(() -> propertyService.calculateAreaRoomsAsync(propertyId)));
+    }
+
+    /**
+     * Endpoint responsável por retornar o preço total de uma determinada propriedade
+     *
+     * @param propertyId Id da propriedade que terá seu preço total calculado
+     * @param exchange Requisição atual, usada na verificação do If-None-Match
+     * @return Nome da propriedade e seu preço total
+     */
+    @GetMapping("/calculate-property-price/{propertyId}")
+    public Mono<ResponseEntity<PropertyPriceDTO>> calculatePropertyPrice(@PathVariable String propertyId, ServerWebExchange exchange) {
+        return respondIfModified(exchange, () -> propertyService.getPropertyETag(propertyId).orElse(null), null,
+                calculation(() -> propertyService.calculatePropertyAsync(propertyId)));
+    }
+
+    /**
+     * Responde 304 sem executar nada quando o cliente já possui a versão atual (If-None-Match);
+     * caso contrário, devolve o corpo produzido junto com a ETag. A ETag é lida e o corpo é produzido no scheduler
+     * elástico, pois ambos passam pelos locks do repositório.
+     *
+     * @param exchange    Requisição atual
+     * @param eTag        Lê a ETag da versão atual do recurso; devolve {@code null} se o recurso não existir
+     * @param contentType Tipo do corpo, ou {@code null} para negociá-lo pelo Accept
+     * @param body        Produz o corpo da resposta ao ser assinado
+     * @return 304 sem corpo ou 200 com o corpo produzido
+     */
+    private static <T> Mono<ResponseEntity<T>> respondIfModified(ServerWebExchange exchange, Supplier<String> eTag,
+                                                                 MediaType contentType, Mono<T> body) {
+        return blocking(() -> Optional.ofNullable(eTag.get())).flatMap(current -> {
+            if (current.isPresent() && exchange.checkNotModified(current.get())) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<T>build());
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            current.ifPresent(response::eTag);
+            if (contentType != null) {
+                response.contentType(contentType);
+            }
+            return body.map(response::body);
+        });
+    }
+
+    /**
+     * Executa uma rota que passa pelos locks do repositório ou dos índices no scheduler elástico, liberando a thread
+     * de I/O; o scheduler paralelo fica reservado para trabalho que nunca espera
+     */
+    private static <T> Mono<T> blocking(Supplier<T> body) {
+        return Mono.fromSupplier(body).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Adapta um cálculo sem bloqueio; o cálculo só é iniciado quando a resposta é assinada
+     */
+    private static <T> Mono<T> calculation(Supplier<CompletableFuture<T>> future) {
+        return Mono.fromFuture(future);
+    }
+
+    /**
+     * Junta os JSONs de um lote de propriedades em um único buffer, separados por vírgula
+     *
+     * @param bufferFactory Fábrica de buffers da resposta
+     * @param segments      JSON de cada propriedade do lote
+     * @param first         Se é o primeiro lote, que não é precedido por vírgula
+     * @return Buffer com o trecho do array JSON correspondente ao lote
+     */
+    private static DataBuffer join(DataBufferFactory bufferFactory, List<byte[]> segments, boolean first) {
+        int size = segments.size();
+        for (byte[] segment : segments) {
+            size += segment.length;
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(size);
+        for (int i = 0; i < segments.size(); i++) {
+            if (i > 0 || !first) {
+                buffer.write((byte) ',');
+            }
+            buffer.write(segments.get(i));
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityDTO {
+    private String state;
+}
@@ -0,0 +1,19 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkheadStatsDTO {
+    private String name;
+    private int threads;
+    private int activeThreads;
+    private int queued;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private long averageQueueWaitMicros;
+}
@@ -0,0 +1,16 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDTO {
+    private long size;
+    private long maximumSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+}
@@ -0,0 +1,15 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CoalescingStatsDTO {
+    private long calls;
+    private long executions;
+    private long coalesced;
+    private long inFlight;
+}
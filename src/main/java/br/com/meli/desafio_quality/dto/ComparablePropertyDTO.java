@@ -0,0 +1,21 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComparablePropertyDTO {
+    private String id;
+    private String name;
+    private String district;
+    private BigDecimal valueDistrictM2;
+    private double totalArea;
+    private int roomCount;
+    private double largestRoomArea;
+    private double distance;
+}
@@ -0,0 +1,22 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConcurrencyLimitStatsDTO {
+    private String name;
+    private int limit;
+    private int minLimit;
+    private int maxLimit;
+    private int inFlight;
+    private long accepted;
+    private long rejected;
+    private long limitIncreases;
+    private long limitDecreases;
+    private long shortLatencyMicros;
+    private long longLatencyMicros;
+}
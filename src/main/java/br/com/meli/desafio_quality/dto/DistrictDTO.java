@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -20,7 +21,7 @@ public class DistrictDTO {
     private String name;
 
     @NotNull(message = "O valor do metro quadrado não pode estar vazio.")
-    @Size(max = 13, message = "O comprimento do valor do metro quadrado não pode exceder 13 caracteres.")
+    @Digits(integer = 13, fraction = 2, message = "O valor do metro quadrado deve ter no máximo 13 dígitos inteiros e 2 casas decimais.")
     private BigDecimal valueDistrictM2;
 
     public static District dtoToDistrict(DistrictDTO districtDTO) {
@@ -0,0 +1,23 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportJobDTO {
+    private String id;
+    private String format;
+    private boolean gzip;
+    private String status;
+    private long version;
+    private long properties;
+    private long bytes;
+    private List<String> files;
+    private long elapsedMillis;
+    private String error;
+}
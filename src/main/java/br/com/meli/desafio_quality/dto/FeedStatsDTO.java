@@ -0,0 +1,18 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedStatsDTO {
+    private int subscribers;
+    private long lastSequence;
+    private int bufferSize;
+    private long maxLag;
+    private long totalLag;
+    private long resyncCount;
+    private long droppedCount;
+}
@@ -0,0 +1,20 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReportDTO {
+    private String format;
+    private long rows;
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private List<ImportRejectionDTO> rejections;
+}
@@ -0,0 +1,33 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Corpo de resposta formado por trechos JSON já serializados. Os trechos são escritos diretamente
+ * na saída, um a um, sem nova serialização.
+ */
+@Getter
+@AllArgsConstructor
+public class PreSerializedJson {
+
+    /**
+     * Trechos JSON, um por elemento
+     */
+    private final List<byte[]> segments;
+
+    /**
+     * Se verdadeiro, os trechos são escritos como um array JSON; caso contrário, há exatamente um trecho
+     */
+    private final boolean array;
+
+    public static PreSerializedJson arrayOf(List<byte[]> segments) {
+        return new PreSerializedJson(segments, true);
+    }
+
+    public static PreSerializedJson single(byte[] segment) {
+        return new PreSerializedJson(List.of(segment), false);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PropertyChangesDTO {
+    private List<PropertyDTO> properties;
+    private long nextSince;
+    private boolean reset;
+    private boolean hasMore;
+}
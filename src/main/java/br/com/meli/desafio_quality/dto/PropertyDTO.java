@@ -3,6 +3,7 @@ package br.com.meli.desafio_quality.dto;
 import br.com.meli.desafio_quality.entity.District;
 import br.com.meli.desafio_quality.entity.Property;
 import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.jfr.PropertyConversionEvent;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,6 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Data
@@ -33,17 +33,35 @@ public class PropertyDTO {
 
 
 
-    public static Property dtoToProperty(PropertyDTO propertyDTO) {
-        District district = DistrictDTO.dtoToDistrict(propertyDTO.getDistrict());
-        List<Room> roomList = propertyDTO.getRooms().stream().map(RoomDTO::dtoToRoom).collect(Collectors.toList());
+    public static Property dtoToProperty(PropertyDTO propertyDTO, String id) {
+        PropertyConversionEvent event = new PropertyConversionEvent(PropertyConversionEvent.TO_ENTITY);
+        event.begin();
+        try {
+            District district = DistrictDTO.dtoToDistrict(propertyDTO.getDistrict());
+            List<Room> roomList = propertyDTO.getRooms().stream().map(RoomDTO::dtoToRoom).collect(Collectors.toList());
 
-        return new Property(UUID.randomUUID().toString(), propertyDTO.getName(), district, roomList);
+            Property property = new Property(id, propertyDTO.getName(), district, roomList);
+            event.record(PropertyConversionEvent.OK, property);
+            return property;
+        } catch (RuntimeException ex) {
+            event.record(PropertyConversionEvent.ERROR, null);
+            throw ex;
+        }
     }
 
     public static PropertyDTO propertyToDTO(Property property) {
-        DistrictDTO districtDTO = DistrictDTO.districtToDTO(property.getDistrict());
-        List<RoomDTO> roomDTOList = property.getRooms().stream().map(RoomDTO::roomToDTO).collect(Collectors.toList());
+        PropertyConversionEvent event = new PropertyConversionEvent(PropertyConversionEvent.TO_DTO);
+        event.begin();
+        try {
+            DistrictDTO districtDTO = DistrictDTO.districtToDTO(property.getDistrict());
+            List<RoomDTO> roomDTOList = property.getRooms().stream().map(RoomDTO::roomToDTO).collect(Collectors.toList());
 
-        return new PropertyDTO(property.getId(), property.getName(), districtDTO, roomDTOList);
+            PropertyDTO propertyDTO = new PropertyDTO(property.getId(), property.getName(), districtDTO, roomDTOList);
+            event.record(PropertyConversionEvent.OK, property);
+            return propertyDTO;
+        } catch (RuntimeException ex) {
+            event.record(PropertyConversionEvent.ERROR, property);
+            throw ex;
+        }
     }
 }
@@ -0,0 +1,19 @@
+package br.com.meli.desafio_quality.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomSearchResultDTO {
+    private int total;
+    private List<PropertyDTO> properties;
+    private Map<String, Integer> roomFacets;
+    private Map<Integer, Integer> roomCountFacets;
+    private Map<String, Integer> districtFacets;
+}
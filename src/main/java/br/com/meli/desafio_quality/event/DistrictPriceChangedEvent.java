@@ -0,0 +1,16 @@
+package br.com.meli.desafio_quality.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Publicado quando o valor do metro quadrado de um bairro é alterado
+ */
+@Getter
+@AllArgsConstructor
+public class DistrictPriceChangedEvent {
+    private final String districtName;
+    private final BigDecimal valueDistrictM2;
+}
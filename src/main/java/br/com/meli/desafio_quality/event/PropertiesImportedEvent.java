@@ -0,0 +1,16 @@
+package br.com.meli.desafio_quality.event;
+
+import br.com.meli.desafio_quality.entity.Property;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Publicado depois que um lote da importação em massa é inserido no repositório
+ */
+@Getter
+@AllArgsConstructor
+public class PropertiesImportedEvent {
+    private final List<Property> properties;
+}
@@ -0,0 +1,14 @@
+package br.com.meli.desafio_quality.event;
+
+import br.com.meli.desafio_quality.entity.Property;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado depois que uma nova propriedade é cadastrada
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyInsertedEvent {
+    private final Property property;
+}
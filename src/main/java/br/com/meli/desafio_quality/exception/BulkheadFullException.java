@@ -0,0 +1,21 @@
+package br.com.meli.desafio_quality.exception;
+
+import br.com.meli.desafio_quality.dto.ErrorDTO;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Lançada quando um bulkhead está com todas as threads ocupadas e a fila cheia. Acontece em picos de carga,
+ * então a exceção não captura stack trace.
+ */
+@Getter
+public class BulkheadFullException extends RuntimeException {
+    private final ErrorDTO error;
+    private final HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+    public BulkheadFullException(String bulkheadName) {
+        super(null, null, false, false);
+        this.error = new ErrorDTO(this.getClass().getSimpleName(),
+                "o servidor está ocupado com requisições do tipo " + bulkheadName + ". Tente novamente em instantes.");
+    }
+}
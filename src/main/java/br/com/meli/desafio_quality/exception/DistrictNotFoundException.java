@@ -4,12 +4,21 @@ import br.com.meli.desafio_quality.dto.ErrorDTO;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Lançada quando o bairro informado não está cadastrado. Assim como {@link PropertyNotFoundException},
+ * não captura stack trace e monta o corpo de erro a cada resposta.
+ */
 @Getter
 public class DistrictNotFoundException extends RuntimeException {
-    private final ErrorDTO error;
+    private final String districtName;
     private final HttpStatus status = HttpStatus.BAD_REQUEST;
 
     public DistrictNotFoundException(String districtName) {
-        this.error = new ErrorDTO(this.getClass().getSimpleName(), "o bairro " + districtName + " não está cadastrado.");
+        super(null, null, false, false);
+        this.districtName = districtName;
+    }
+
+    public ErrorDTO getError() {
+        return new ErrorDTO(DistrictNotFoundException.class.getSimpleName(), "o bairro " + districtName + " não está cadastrado.");
     }
 }
@@ -0,0 +1,16 @@
+package br.com.meli.desafio_quality.exception;
+
+import br.com.meli.desafio_quality.dto.ErrorDTO;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class InvalidExportFormatException extends RuntimeException {
+    private final ErrorDTO error;
+    private final HttpStatus status = HttpStatus.BAD_REQUEST;
+
+    public InvalidExportFormatException(String formatName) {
+        this.error = new ErrorDTO(this.getClass().getSimpleName(),
+                "o formato " + formatName + " não é suportado. Formatos disponíveis: ndjson, cbor.");
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.meli.desafio_quality.exception;
+
+import br.com.meli.desafio_quality.dto.ErrorDTO;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class InvalidPropertyFieldException extends RuntimeException {
+    private final ErrorDTO error;
+    private final HttpStatus status = HttpStatus.BAD_REQUEST;
+
+    public InvalidPropertyFieldException(String fieldName) {
+        this.error = new ErrorDTO(this.getClass().getSimpleName(),
+                "o campo " + fieldName + " não existe. Campos disponíveis: id, name, district, rooms.");
+    }
+}
@@ -4,12 +4,22 @@ import br.com.meli.desafio_quality.dto.ErrorDTO;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Lançada quando o id informado não está cadastrado. Ids desconhecidos chegam em grande volume
+ * (links antigos, robôs), então a exceção não captura stack trace. O corpo de erro é montado a cada resposta:
+ * os ids vêm do cliente e, em uma varredura, nunca se repetem, então um cache por id só teria custo.
+ */
 @Getter
 public class PropertyNotFoundException extends RuntimeException {
-    private final ErrorDTO error;
+    private final String propertyId;
     private final HttpStatus status = HttpStatus.BAD_REQUEST;
 
     public PropertyNotFoundException(String propertyId) {
-        this.error = new ErrorDTO(this.getClass().getSimpleName(), "o ID: " + propertyId + " não está cadastrado.");
+        super(null, null, false, false);
+        this.propertyId = propertyId;
+    }
+
+    public ErrorDTO getError() {
+        return new ErrorDTO(PropertyNotFoundException.class.getSimpleName(), "o ID: " + propertyId + " não está cadastrado.");
     }
 }
@@ -1,14 +1,20 @@
 package br.com.meli.desafio_quality.exception.handler;
 
 import br.com.meli.desafio_quality.dto.ErrorDTO;
+import br.com.meli.desafio_quality.exception.BulkheadFullException;
 import br.com.meli.desafio_quality.exception.DistrictNotFoundException;
+import br.com.meli.desafio_quality.exception.InvalidExportFormatException;
+import br.com.meli.desafio_quality.exception.InvalidImportFormatException;
+import br.com.meli.desafio_quality.exception.InvalidPropertyFieldException;
 import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 /**
  * Classe ExceptionHandler responsável por lidar com as exceções
@@ -30,6 +36,19 @@ public class PropertyExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Exceção responsável por tratar dos casos de argumentos informados inválidos nas requisições da pilha reativa,
+     * com a mesma resposta da pilha servlet
+     *
+     * @param ex    Exceção a ser lançada
+     * @return      ResponseEntity com status code
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorDTO> handleValidationException(WebExchangeBindException ex){
+        ErrorDTO error = new ErrorDTO("MethodArgumentNotValidException", ex.getBindingResult().getFieldError().getDefaultMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Exceção responsável por tratar dos casos de formato de mensagem inválido nas requisições
      *
@@ -64,4 +83,48 @@ public class PropertyExceptionHandler {
     public ResponseEntity<ErrorDTO> handlePropertyNotFoundException(PropertyNotFoundException ex) {
         return new ResponseEntity<>(ex.getError(), ex.getStatus());
     }
+
+    /**
+     * Exceção responsável por tratar dos casos de campo inexistente solicitado no parâmetro fields
+     *
+     * @param ex    Exceção a ser lançada
+     * @return      ResponseEntity com status code
+     */
+    @ExceptionHandler(InvalidPropertyFieldException.class)
+    public ResponseEntity<ErrorDTO> handleInvalidPropertyFieldException(InvalidPropertyFieldException ex) {
+        return new ResponseEntity<>(ex.getError(), ex.getStatus());
+    }
+
+    /**
+     * Exceção responsável por tratar dos casos de formato de importação inexistente
+     *
+     * @param ex    Exceção a ser lançada
+     * @return      ResponseEntity com status code
+     */
+    @ExceptionHandler(InvalidImportFormatException.class)
+    public ResponseEntity<ErrorDTO> handleInvalidImportFormatException(InvalidImportFormatException ex) {
+        return new ResponseEntity<>(ex.getError(), ex.getStatus());
+    }
+
+    /**
+     * Exceção responsável por tratar dos casos de formato de exportação inexistente
+     *
+     * @param ex    Exceção a ser lançada
+     * @return      ResponseEntity com status code
+     */
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<ErrorDTO> handleInvalidExportFormatException(InvalidExportFormatException ex) {
+        return new ResponseEntity<>(ex.getError(), ex.getStatus());
+    }
+
+    /**
+     * Exceção responsável por tratar dos casos de bulkhead lotado; o cliente é orientado a tentar novamente em um segundo
+     *
+     * @param ex    Exceção a ser lançada
+     * @return      ResponseEntity com status code e o cabeçalho Retry-After
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorDTO> handleBulkheadFullException(BulkheadFullException ex) {
+        return ResponseEntity.status(ex.getStatus()).header(HttpHeaders.RETRY_AFTER, "1").body(ex.getError());
+    }
 }
@@ -0,0 +1,46 @@
+package br.com.meli.desafio_quality.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento do JFR da busca de um bairro pelo nome ({@code DistrictService.findDistrict}). Desativado por padrão.
+ */
+@Name(DistrictLookupEvent.NAME)
+@Label("District Lookup")
+@Description("Busca de um bairro pelo nome e o resultado")
+@Category({"Desafio Quality", "District"})
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public class DistrictLookupEvent extends DomainEvent {
+
+    public static final String NAME = "br.com.meli.desafio_quality.DistrictLookup";
+
+    @Label("District Name")
+    private String districtName;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public DistrictLookupEvent(String districtName) {
+        this.districtName = districtName;
+    }
+
+    /**
+     * Encerra e grava o evento, se ativo e acima do limite
+     * @param outcome Resultado: {@link #FOUND}, {@link #NOT_FOUND} ou {@link #ERROR}
+     */
+    public void record(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
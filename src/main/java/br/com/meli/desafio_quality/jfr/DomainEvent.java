@@ -0,0 +1,21 @@
+package br.com.meli.desafio_quality.jfr;
+
+import br.com.meli.desafio_quality.entity.Property;
+import jdk.jfr.Event;
+
+/**
+ * Base dos eventos do JFR da aplicação. Os eventos seguem o padrão de custo mínimo do JFR: criados e iniciados
+ * sempre, mas com os campos preenchidos apenas quando {@code shouldCommit()} indica que serão gravados; com o
+ * evento desativado, o JIT elimina a criação e as chamadas.
+ */
+public abstract class DomainEvent extends Event {
+
+    public static final String OK = "ok";
+    public static final String FOUND = "found";
+    public static final String NOT_FOUND = "not-found";
+    public static final String ERROR = "error";
+
+    static int roomCount(Property property) {
+        return property == null || property.getRooms() == null ? 0 : property.getRooms().size();
+    }
+}
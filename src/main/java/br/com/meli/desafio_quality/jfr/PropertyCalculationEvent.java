@@ -0,0 +1,57 @@
+package br.com.meli.desafio_quality.jfr;
+
+import br.com.meli.desafio_quality.entity.Property;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento do JFR de um cálculo de propriedade (área total, maior cômodo, áreas dos cômodos ou preço) feito de fato,
+ * sem contar os resultados servidos pelo cache. Desativado por padrão.
+ */
+@Name(PropertyCalculationEvent.NAME)
+@Label("Property Calculation")
+@Description("Cálculo de uma propriedade, incluindo a busca no repositório, com a quantidade de cômodos e o resultado")
+@Category({"Desafio Quality", "Calculation"})
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public class PropertyCalculationEvent extends DomainEvent {
+
+    public static final String NAME = "br.com.meli.desafio_quality.PropertyCalculation";
+
+    @Label("Metric")
+    private String metric;
+
+    @Label("Property Id")
+    private String propertyId;
+
+    @Label("Room Count")
+    private int roomCount;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public PropertyCalculationEvent(String metric, String propertyId) {
+        this.metric = metric;
+        this.propertyId = propertyId;
+    }
+
+    /**
+     * Encerra e grava o evento, se ativo e acima do limite
+     * @param outcome  Resultado: {@link #OK}, {@link #NOT_FOUND} ou {@link #ERROR}
+     * @param property Propriedade calculada; {@code null} se não encontrada
+     */
+    public void record(String outcome, Property property) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.roomCount = roomCount(property);
+            commit();
+        }
+    }
+}
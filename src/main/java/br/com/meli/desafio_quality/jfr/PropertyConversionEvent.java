@@ -0,0 +1,60 @@
+package br.com.meli.desafio_quality.jfr;
+
+import br.com.meli.desafio_quality.entity.Property;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento do JFR da conversão entre {@code PropertyDTO} e {@link Property}. Desativado por padrão; o limite padrão
+ * é menor que o dos demais eventos, pois uma conversão normal leva poucos microssegundos.
+ */
+@Name(PropertyConversionEvent.NAME)
+@Label("Property DTO Conversion")
+@Description("Conversão de uma propriedade entre DTO e entidade, com a quantidade de cômodos")
+@Category({"Desafio Quality", "Conversion"})
+@Enabled(false)
+@Threshold("100 us")
+@StackTrace(false)
+public class PropertyConversionEvent extends DomainEvent {
+
+    public static final String NAME = "br.com.meli.desafio_quality.PropertyConversion";
+
+    public static final String TO_ENTITY = "dto-to-entity";
+    public static final String TO_DTO = "entity-to-dto";
+
+    @Label("Direction")
+    private String direction;
+
+    @Label("Property Id")
+    private String propertyId;
+
+    @Label("Room Count")
+    private int roomCount;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public PropertyConversionEvent(String direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Encerra e grava o evento, se ativo e acima do limite
+     * @param outcome  Resultado: {@link #OK} ou {@link #ERROR}
+     * @param property Entidade de origem ou de destino; {@code null} se a conversão falhou
+     */
+    public void record(String outcome, Property property) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.propertyId = property == null ? null : property.getId();
+            this.roomCount = roomCount(property);
+            commit();
+        }
+    }
+}
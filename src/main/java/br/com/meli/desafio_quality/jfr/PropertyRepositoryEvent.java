@@ -0,0 +1,64 @@
+package br.com.meli.desafio_quality.jfr;
+
+import br.com.meli.desafio_quality.entity.Property;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento do JFR de uma operação do repositório de propriedades. Desativado por padrão; com uma gravação que o ative,
+ * só operações acima do limite (1 ms por padrão) são gravadas.
+ * Uso: {@code event.begin()} antes da operação e {@link #record(String, Property, int)} depois dela.
+ */
+@Name(PropertyRepositoryEvent.NAME)
+@Label("Property Repository Operation")
+@Description("Operação do repositório de propriedades, com a propriedade envolvida e o resultado")
+@Category({"Desafio Quality", "Repository"})
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public class PropertyRepositoryEvent extends DomainEvent {
+
+    public static final String NAME = "br.com.meli.desafio_quality.PropertyRepository";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Property Id")
+    private String propertyId;
+
+    @Label("Room Count")
+    private int roomCount;
+
+    @Label("Property Count")
+    @Description("Propriedades lidas ou gravadas pela operação")
+    private int propertyCount;
+
+    @Label("Outcome")
+    private String outcome;
+
+    public PropertyRepositoryEvent(String operation, String propertyId) {
+        this.operation = operation;
+        this.propertyId = propertyId;
+    }
+
+    /**
+     * Encerra e grava o evento, se ativo e acima do limite
+     * @param outcome       Resultado: {@link #FOUND}, {@link #NOT_FOUND}, {@link #OK} ou {@link #ERROR}
+     * @param property      Propriedade envolvida, de onde vem a quantidade de cômodos; {@code null} se não houver
+     * @param propertyCount Propriedades lidas ou gravadas
+     */
+    public void record(String outcome, Property property, int propertyCount) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.roomCount = roomCount(property);
+            this.propertyCount = propertyCount;
+            commit();
+        }
+    }
+}
@@ -1,7 +1,23 @@
 package br.com.meli.desafio_quality.repository;
 
 import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.exception.DistrictNotFoundException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 public interface DistrictRepository {
-    District findDistrict(String districtName);
+    Optional<District> findDistrictByName(String districtName);
+
+    default District findDistrict(String districtName) {
+        return findDistrictByName(districtName).orElseThrow(() -> new DistrictNotFoundException(districtName));
+    }
+
+    District updateDistrictPrice(String districtName, BigDecimal valueDistrictM2);
+
+    /**
+     * Cadastra os bairros informados; bairros já existentes mantêm o valor atual
+     */
+    void addDistricts(List<District> newDistricts);
 }
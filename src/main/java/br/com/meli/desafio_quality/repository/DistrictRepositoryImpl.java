@@ -5,21 +5,35 @@ import br.com.meli.desafio_quality.exception.DistrictNotFoundException;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 public class DistrictRepositoryImpl implements DistrictRepository {
-    private static List<District> districts = new ArrayList<>(Arrays.asList(
-            new District("Barra da Tijuca", BigDecimal.valueOf(20.0)),
-            new District("Alphaville", BigDecimal.valueOf(10.0))
+    private final Map<String, District> districts = new ConcurrentHashMap<>(Map.of(
+            "Barra da Tijuca", new District("Barra da Tijuca", BigDecimal.valueOf(20.0)),
+            "Alphaville", new District("Alphaville", BigDecimal.valueOf(10.0))
     ));
 
     @Override
-    public District findDistrict(String districtName) {
-        return districts.stream().filter(district -> district.getName().equals(districtName))
-                .findFirst()
-                .orElseThrow(() -> new DistrictNotFoundException(districtName));
+    public Optional<District> findDistrictByName(String districtName) {
+        return districtName == null ? Optional.empty() : Optional.ofNullable(districts.get(districtName));
+    }
+
+    @Override
+    public District updateDistrictPrice(String districtName, BigDecimal valueDistrictM2) {
+        District updated = districtName == null ? null
+                : districts.computeIfPresent(districtName, (name, district) -> new District(name, valueDistrictM2));
+        if (updated == null) {
+            throw new DistrictNotFoundException(districtName);
+        }
+        return updated;
+    }
+
+    @Override
+    public void addDistricts(List<District> newDistricts) {
+        newDistricts.forEach(district -> districts.putIfAbsent(district.getName(), district));
     }
 }
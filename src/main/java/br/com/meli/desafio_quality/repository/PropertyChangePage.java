@@ -0,0 +1,35 @@
+package br.com.meli.desafio_quality.repository;
+
+import br.com.meli.desafio_quality.entity.Property;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Página de propriedades cadastradas ou alteradas depois de uma versão do repositório
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyChangePage {
+
+    /**
+     * Propriedades, na ordem da versão da sua última alteração
+     */
+    private final List<Property> properties;
+
+    /**
+     * Versão a ser informada na próxima consulta
+     */
+    private final long nextSince;
+
+    /**
+     * Verdadeiro se o repositório foi esvaziado depois da versão informada; a réplica do cliente deve ser descartada
+     */
+    private final boolean reset;
+
+    /**
+     * Verdadeiro se existem mais alterações além desta página
+     */
+    private final boolean hasMore;
+}
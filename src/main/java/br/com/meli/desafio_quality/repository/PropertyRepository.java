@@ -1,18 +1,42 @@
 package br.com.meli.desafio_quality.repository;
 
 
+import br.com.meli.desafio_quality.entity.District;
 import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 @Repository
 public interface PropertyRepository {
     Property addProperty(Property property);
 
+    void addProperties(List<Property> properties);
+
     List<Property> getAllProperties();
 
-    Property getProperty(String propertyId);
+    PropertySnapshot getSnapshot();
+
+    List<Property> getPropertiesByDistrict(String districtName);
+
+    Optional<Property> findPropertyById(String propertyId);
+
+    default Property getProperty(String propertyId) {
+        return findPropertyById(propertyId).orElseThrow(() -> new PropertyNotFoundException(propertyId));
+    }
+
+    List<Property> repriceDistrict(District district);
+
+    long getVersion();
+
+    long getResetVersion();
+
+    OptionalLong getPropertyVersion(String propertyId);
+
+    PropertyChangePage getChangesSince(long since, int limit);
 
     void cleanAllProperties();
 }
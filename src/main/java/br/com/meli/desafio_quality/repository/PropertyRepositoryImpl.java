@@ -1,34 +1,468 @@
 package br.com.meli.desafio_quality.repository;
 
+import br.com.meli.desafio_quality.entity.District;
 import br.com.meli.desafio_quality.entity.Property;
-import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
+import br.com.meli.desafio_quality.jfr.PropertyRepositoryEvent;
+import br.com.meli.desafio_quality.util.CompactIds;
+import br.com.meli.desafio_quality.util.LongObjectHashMap;
+import br.com.meli.desafio_quality.util.ServerTiming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Repositório em memória das propriedades, particionado em shards pelo hash do id.
+ * Cada shard possui o seu próprio lock e o seu próprio índice por bairro, de modo que
+ * inserções e leituras de ids diferentes não disputam um único lock global.
+ * Varreduras completas são feitas em paralelo entre os shards e devolvidas na ordem de inserção.
+ * Toda alteração recebe um número da sequência global do repositório, que serve de versão
+ * tanto para o repositório como um todo quanto para cada propriedade. Um índice ordenado pela versão
+ * da última alteração de cada propriedade permite listar apenas o que mudou depois de uma versão.
+ * Inserções, buscas por id e listagens completas entram na fase repository do {@link ServerTiming}, e as operações
+ * geram {@link PropertyRepositoryEvent eventos do JFR} (desativados por padrão).
+ */
 @Repository
-public class PropertyRepositoryImpl implements PropertyRepository{
+public class PropertyRepositoryImpl implements PropertyRepository {
 
-    private static List<Property> properties = new ArrayList<>();
+    private static final Comparator<StoredProperty> INSERTION_ORDER = Comparator.comparingLong(StoredProperty::getSequence);
 
+    private final Shard[] shards;
+    private final int shardMask;
+    private final AtomicLong mutationSequence = new AtomicLong();
+
+    /**
+     * Propriedades indexadas pela versão da sua última alteração. Versões são reservadas e gravadas
+     * no índice sob {@link #changelogLock}, sempre em ordem crescente; assim, quem percorre o índice
+     * nunca encontra uma versão sem que todas as versões menores já estejam gravadas.
+     */
+    private final ConcurrentSkipListMap<Long, StoredProperty> changelog = new ConcurrentSkipListMap<>();
+    private final Object changelogLock = new Object();
+
+    /**
+     * Versão da última limpeza do repositório
+     */
+    private volatile long resetVersion;
+
+    /**
+     * @param shardCount Quantidade de shards; valores menores ou iguais a zero usam quatro shards por processador.
+     *                   A quantidade é sempre arredondada para a próxima potência de dois.
+     */
+    public PropertyRepositoryImpl(@Value("${property.repository.shards:0}") int shardCount) {
+        int requested = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors() * 4;
+        int size = requested == 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+    }
+
+    @Override
     public Property addProperty(Property property) {
-        properties.add(property);
-        return property;
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("addProperty", property.getId());
+        event.begin();
+        long start = ServerTiming.start();
+        try {
+            Shard shard = shardFor(property.getId());
+
+            shard.lock.writeLock().lock();
+            try {
+                shard.put(record(property, 0, null));
+            } finally {
+                shard.lock.writeLock().unlock();
+                ServerTiming.stop(ServerTiming.Phase.REPOSITORY, start);
+            }
+            event.record(PropertyRepositoryEvent.OK, property, 1);
+            return property;
+        } catch (RuntimeException ex) {
+            event.record(PropertyRepositoryEvent.ERROR, property, 0);
+            throw ex;
+        }
+    }
+
+    /**
+     * Insere um lote de propriedades. Os locks de escrita dos shards afetados são adquiridos uma única vez, em ordem
+     * de índice, e mantidos enquanto as versões são reservadas e as propriedades gravadas: assim como em
+     * {@link #addProperty(Property)}, nenhuma leitura vê uma versão cujas propriedades ainda não estão nos shards.
+     * @param properties Propriedades a serem inseridas, na ordem de inserção desejada
+     */
+    @Override
+    public void addProperties(List<Property> properties) {
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("addProperties", null);
+        event.begin();
+        try {
+            boolean[] affected = new boolean[shards.length];
+            for (Property property : properties) {
+                affected[shardIndex(property.getId())] = true;
+            }
+
+            int locked = 0;
+            try {
+                for (int i = 0; i < shards.length; i++) {
+                    if (affected[i]) {
+                        shards[i].lock.writeLock().lock();
+                        locked = i + 1;
+                    }
+                }
+                synchronized (changelogLock) {
+                    for (Property property : properties) {
+                        shards[shardIndex(property.getId())].put(record(property, 0, null));
+                    }
+                }
+            } finally {
+                for (int i = 0; i < locked; i++) {
+                    if (affected[i]) {
+                        shards[i].lock.writeLock().unlock();
+                    }
+                }
+            }
+            event.record(PropertyRepositoryEvent.OK, null, properties.size());
+        } catch (RuntimeException ex) {
+            event.record(PropertyRepositoryEvent.ERROR, null, 0);
+            throw ex;
+        }
     }
 
     @Override
     public List<Property> getAllProperties() {
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("getAllProperties", null);
+        event.begin();
+        List<Property> properties = ServerTiming.time(ServerTiming.Phase.REPOSITORY, () -> scan(Shard::values));
+        event.record(PropertyRepositoryEvent.OK, null, properties.size());
+        return properties;
+    }
+
+    /**
+     * Copia todas as propriedades com os locks de leitura de todos os shards adquiridos ao mesmo tempo,
+     * de modo que nenhuma alteração fique pela metade na cópia. Os locks são mantidos apenas durante a
+     * cópia das referências; a ordenação é feita depois de liberá-los.
+     * @return Versão do repositório e propriedades na ordem de inserção
+     */
+    @Override
+    public PropertySnapshot getSnapshot() {
+        List<StoredProperty> stored = new ArrayList<>();
+        long version;
+        int locked = 0;
+        try {
+            for (Shard shard : shards) {
+                shard.lock.readLock().lock();
+                locked++;
+            }
+            version = mutationSequence.get();
+            for (Shard shard : shards) {
+                stored.addAll(shard.values());
+            }
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                shards[i].lock.readLock().unlock();
+            }
+        }
+
+        stored.sort(INSERTION_ORDER);
+        return new PropertySnapshot(version, stored.stream().map(StoredProperty::getProperty).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Property> getPropertiesByDistrict(String districtName) {
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("getPropertiesByDistrict", null);
+        event.begin();
+        List<Property> properties = scan(shard -> new ArrayList<>(shard.byDistrict.getOrDefault(districtName, Map.of()).values()));
+        event.record(PropertyRepositoryEvent.OK, null, properties.size());
         return properties;
     }
 
     @Override
-    public Property getProperty(String propertyId) throws PropertyNotFoundException {
-        return properties.stream().filter(prop -> prop.getId().equals(propertyId)).findFirst().orElseThrow(() -> new PropertyNotFoundException(propertyId));
+    public Optional<Property> findPropertyById(String propertyId) {
+        if (propertyId == null) {
+            return Optional.empty();
+        }
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("findPropertyById", propertyId);
+        event.begin();
+        long start = ServerTiming.start();
+        Shard shard = shardFor(propertyId);
+
+        StoredProperty stored;
+        shard.lock.readLock().lock();
+        try {
+            stored = shard.get(propertyId);
+        } finally {
+            shard.lock.readLock().unlock();
+            ServerTiming.stop(ServerTiming.Phase.REPOSITORY, start);
+        }
+        if (stored == null) {
+            event.record(PropertyRepositoryEvent.NOT_FOUND, null, 0);
+            return Optional.empty();
+        }
+        event.record(PropertyRepositoryEvent.FOUND, stored.getProperty(), 1);
+        return Optional.of(stored.getProperty());
     }
 
+    /**
+     * Substitui o bairro de todas as propriedades cadastradas nele, mantendo a posição de cada uma na ordem de inserção
+     * @param district Bairro com o novo valor do metro quadrado
+     * @return Propriedades atualizadas
+     */
+    @Override
+    public List<Property> repriceDistrict(District district) {
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("repriceDistrict", null);
+        event.begin();
+        try {
+            List<StoredProperty> repriced = new ArrayList<>();
+
+            for (Shard shard : shards) {
+                shard.lock.writeLock().lock();
+                try {
+                    Map<String, StoredProperty> inDistrict = shard.byDistrict.get(district.getName());
+                    if (inDistrict == null) {
+                        continue;
+                    }
+                    for (StoredProperty stored : new ArrayList<>(inDistrict.values())) {
+                        Property property = stored.getProperty();
+                        StoredProperty updated = record(
+                                new Property(property.getId(), property.getName(), district, property.getRooms()),
+                                stored.getSequence(), stored);
+                        shard.put(updated);
+                        repriced.add(updated);
+                    }
+                } finally {
+                    shard.lock.writeLock().unlock();
+                }
+            }
+
+            repriced.sort(INSERTION_ORDER);
+            event.record(PropertyRepositoryEvent.OK, null, repriced.size());
+            return repriced.stream().map(StoredProperty::getProperty).collect(Collectors.toList());
+        } catch (RuntimeException ex) {
+            event.record(PropertyRepositoryEvent.ERROR, null, 0);
+            throw ex;
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        return mutationSequence.get();
+    }
+
+    /**
+     * Versão registrada na última limpeza do repositório; zero se ele nunca foi limpo.
+     * Permite que índices derivados percebam que as propriedades que indexaram não existem mais.
+     */
+    @Override
+    public long getResetVersion() {
+        return resetVersion;
+    }
+
+    @Override
+    public OptionalLong getPropertyVersion(String propertyId) {
+        if (propertyId == null) {
+            return OptionalLong.empty();
+        }
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("getPropertyVersion", propertyId);
+        event.begin();
+        long start = ServerTiming.start();
+        Shard shard = shardFor(propertyId);
+
+        StoredProperty stored;
+        shard.lock.readLock().lock();
+        try {
+            stored = shard.get(propertyId);
+        } finally {
+            shard.lock.readLock().unlock();
+            ServerTiming.stop(ServerTiming.Phase.REPOSITORY, start);
+        }
+        if (stored == null) {
+            event.record(PropertyRepositoryEvent.NOT_FOUND, null, 0);
+            return OptionalLong.empty();
+        }
+        event.record(PropertyRepositoryEvent.FOUND, stored.getProperty(), 1);
+        return OptionalLong.of(stored.getVersion());
+    }
+
+    /**
+     * Lista as propriedades cadastradas ou alteradas depois de uma versão, na ordem das alterações
+     * @param since Versão já conhecida pelo cliente; zero para começar do início
+     * @param limit Quantidade máxima de propriedades
+     * @return Página de alterações com a versão a ser usada na próxima consulta
+     */
+    @Override
+    public PropertyChangePage getChangesSince(long since, int limit) {
+        PropertyRepositoryEvent event = new PropertyRepositoryEvent("getChangesSince", null);
+        event.begin();
+        long reset = resetVersion;
+        List<Property> properties = new ArrayList<>(Math.min(limit, 256));
+        long nextSince = Math.max(since, reset);
+        boolean hasMore = false;
+
+        for (Map.Entry<Long, StoredProperty> entry : changelog.tailMap(since, false).entrySet()) {
+            if (properties.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            properties.add(entry.getValue().getProperty());
+            nextSince = entry.getKey();
+        }
+        event.record(PropertyRepositoryEvent.OK, null, properties.size());
+        return new PropertyChangePage(properties, nextSince, since < reset, hasMore);
+    }
+
+    /**
+     * Remove todas as propriedades. Os locks de escrita de todos os shards são adquiridos em ordem de índice e, em
+     * seguida, o {@link #changelogLock}, como em {@link #addProperties(List)}: nenhuma inserção concorrente fica com a
+     * versão registrada depois da limpeza e a linha apagada, nem o contrário.
+     */
     @Override
     public void cleanAllProperties() {
-        properties.clear();
+        int locked = 0;
+        try {
+            for (Shard shard : shards) {
+                shard.lock.writeLock().lock();
+                locked++;
+            }
+            synchronized (changelogLock) {
+                resetVersion = mutationSequence.incrementAndGet();
+                changelog.clear();
+                for (Shard shard : shards) {
+                    shard.clear();
+                }
+            }
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                shards[i].lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Quantidade de shards em uso
+     * @return Quantidade de shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Reserva a próxima versão para uma propriedade nova ou alterada e a grava no índice de alterações
+     * @param property Propriedade a ser armazenada
+     * @param sequence Posição na ordem de inserção; ignorada para propriedades novas, que usam a própria versão
+     * @param previous Versão anterior da propriedade, removida do índice, ou {@code null} se a propriedade é nova
+     * @return Propriedade pronta para ser armazenada no shard
+     */
+    private StoredProperty record(Property property, long sequence, StoredProperty previous) {
+        synchronized (changelogLock) {
+            long version = mutationSequence.incrementAndGet();
+            StoredProperty stored = new StoredProperty(property, previous == null ? version : sequence, version);
+            if (previous != null) {
+                changelog.remove(previous.getVersion());
+            }
+            changelog.put(version, stored);
+            return stored;
+        }
+    }
+
+    /**
+     * Copia, em paralelo, as propriedades selecionadas de cada shard e as devolve na ordem de inserção
+     * @param selector Copia as propriedades selecionadas de um shard; é executado sob o lock de leitura do shard
+     * @return Propriedades selecionadas, na ordem em que foram inseridas
+     */
+    private List<Property> scan(Function<Shard, List<StoredProperty>> selector) {
+        return Arrays.stream(shards).parallel()
+                .flatMap(shard -> shard.copyOf(selector).stream())
+                .sorted(INSERTION_ORDER)
+                .map(StoredProperty::getProperty)
+                .collect(Collectors.toList());
+    }
+
+    private Shard shardFor(String propertyId) {
+        return shards[shardIndex(propertyId)];
+    }
+
+    private int shardIndex(String propertyId) {
+        long compactId = CompactIds.decode(propertyId);
+        if (compactId != CompactIds.NOT_COMPACT) {
+            return (int) (LongObjectHashMap.mix(compactId) >>> 32) & shardMask;
+        }
+        int hash = propertyId.hashCode();
+        return (hash ^ (hash >>> 16)) & shardMask;
+    }
+
+    /**
+     * Partição do repositório. Os mapas são protegidos pelo lock do próprio shard.
+     * Ids compactos (ver {@link CompactIds}) são indexados por um mapa de chaves primitivas;
+     * os demais ids, como os UUIDs do modo de compatibilidade, por um mapa de strings.
+     */
+    private static final class Shard {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final LongObjectHashMap<StoredProperty> byCompactId = new LongObjectHashMap<>();
+        private final Map<String, StoredProperty> byOtherId = new HashMap<>();
+        private final Map<String, Map<String, StoredProperty>> byDistrict = new HashMap<>();
+
+        private StoredProperty get(String propertyId) {
+            long compactId = CompactIds.decode(propertyId);
+            return compactId != CompactIds.NOT_COMPACT ? byCompactId.get(compactId) : byOtherId.get(propertyId);
+        }
+
+        private void put(StoredProperty stored) {
+            Property property = stored.getProperty();
+            long compactId = CompactIds.decode(property.getId());
+            if (compactId != CompactIds.NOT_COMPACT) {
+                byCompactId.put(compactId, stored);
+            } else {
+                byOtherId.put(property.getId(), stored);
+            }
+            byDistrict.computeIfAbsent(property.getDistrict().getName(), name -> new LinkedHashMap<>())
+                    .put(property.getId(), stored);
+        }
+
+        private void clear() {
+            byCompactId.clear();
+            byOtherId.clear();
+            byDistrict.clear();
+        }
+
+        private List<StoredProperty> values() {
+            List<StoredProperty> values = new ArrayList<>(byCompactId.size() + byOtherId.size());
+            byCompactId.forEachValue(values::add);
+            values.addAll(byOtherId.values());
+            return values;
+        }
+
+        private List<StoredProperty> copyOf(Function<Shard, List<StoredProperty>> selector) {
+            lock.readLock().lock();
+            try {
+                return selector.apply(this);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Propriedade armazenada junto com a sua posição na ordem de inserção ({@code sequence}) e a
+     * versão da sua última alteração ({@code version}). Ambas vêm da mesma sequência global de
+     * alterações do repositório, então a versão de uma propriedade nunca se repete nem diminui.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class StoredProperty {
+        private final Property property;
+        private final long sequence;
+        private final long version;
     }
 }
@@ -0,0 +1,25 @@
+package br.com.meli.desafio_quality.repository;
+
+import br.com.meli.desafio_quality.entity.Property;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Cópia de todas as propriedades do repositório em um mesmo instante
+ */
+@Getter
+@AllArgsConstructor
+public class PropertySnapshot {
+
+    /**
+     * Versão do repositório no momento da cópia
+     */
+    private final long version;
+
+    /**
+     * Propriedades, na ordem de inserção
+     */
+    private final List<Property> properties;
+}
@@ -0,0 +1,38 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.entity.Property;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Serializa propriedades em CBOR (RFC 8949), com os mesmos campos e a mesma ordem do JSON.
+ * Usado pelos serviços internos que trafegam listas completas de propriedades, nos quais
+ * o custo de gerar e interpretar texto JSON domina a transferência.
+ */
+@Component
+public class PropertyCborSerializer {
+
+    private final CBORFactory factory = new CBORFactory();
+
+    /**
+     * @param properties Propriedades a serem serializadas
+     * @param fields     Campos solicitados
+     * @param array      Se verdadeiro, escreve um array; caso contrário, a única propriedade informada
+     * @return Bytes CBOR
+     */
+    public byte[] toCbor(List<Property> properties, PropertyFields fields, boolean array) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + properties.size() * 128);
+        try (JsonGenerator gen = factory.createGenerator(out)) {
+            PropertyJsonWriter.writeProperties(gen, properties, fields, array);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interpreta uma linha CSV de propriedade. As colunas são {@code name,district,valueDistrictM2,rooms},
+ * e a coluna de cômodos lista {@code nome:largura:comprimento} separados por ponto e vírgula, por exemplo:
+ * <pre>Brooklyn Village,Barra da Tijuca,18000,"Kitchen:10.0:5.0;Living room:20.0:5.0"</pre>
+ * Campos podem vir entre aspas duplas, com aspas internas duplicadas. A linha de cabeçalho é opcional.
+ */
+public final class PropertyCsvParser {
+
+    public static final String HEADER = "name,district,valueDistrictM2,rooms";
+
+    private static final int COLUMNS = 4;
+
+    private PropertyCsvParser() {
+    }
+
+    public static boolean isHeader(String line) {
+        return HEADER.equalsIgnoreCase(line.trim());
+    }
+
+    /**
+     * @param line Linha CSV, sem a quebra de linha
+     * @return Propriedade ainda não validada
+     * @throws IllegalArgumentException se a linha não estiver no formato esperado
+     */
+    public static PropertyDTO parse(String line) {
+        List<String> columns = split(line);
+        if (columns.size() != COLUMNS) {
+            throw new IllegalArgumentException("a linha deve ter " + COLUMNS + " colunas (" + HEADER + "), mas tem " + columns.size() + ".");
+        }
+
+        DistrictDTO district = new DistrictDTO(columns.get(1), parseDecimal(columns.get(2), "valueDistrictM2"));
+        return new PropertyDTO(null, columns.get(0), district, parseRooms(columns.get(3)));
+    }
+
+    private static List<RoomDTO> parseRooms(String column) {
+        List<RoomDTO> rooms = new ArrayList<>();
+        if (column.isBlank()) {
+            return rooms;
+        }
+        for (String room : column.split(";")) {
+            String[] parts = room.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("o cômodo '" + room + "' deve estar no formato nome:largura:comprimento.");
+            }
+            rooms.add(new RoomDTO(parts[0].trim(), parseDouble(parts[1], "roomWidth"), parseDouble(parts[2], "roomLength")));
+        }
+        return rooms;
+    }
+
+    private static BigDecimal parseDecimal(String value, String column) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("o valor '" + value + "' da coluna " + column + " não é um número.");
+        }
+    }
+
+    private static double parseDouble(String value, String column) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("o valor '" + value + "' da coluna " + column + " não é um número.");
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>(COLUMNS);
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("aspas não foram fechadas.");
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.exception.InvalidExportFormatException;
+
+/**
+ * Formatos da exportação em massa de propriedades
+ */
+public enum PropertyExportFormat {
+
+    /**
+     * Uma propriedade por linha, no mesmo JSON da API
+     */
+    NDJSON("ndjson", ".ndjson"),
+
+    /**
+     * Sequência de itens CBOR (RFC 8742), um por propriedade, com os mesmos campos do JSON
+     */
+    CBOR("cbor", ".cbor");
+
+    private final String formatName;
+    private final String extension;
+
+    PropertyExportFormat(String formatName, String extension) {
+        this.formatName = formatName;
+        this.extension = extension;
+    }
+
+    public String getFormatName() {
+        return formatName;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param formatName Nome do formato (ndjson ou cbor), sem diferenciar maiúsculas e minúsculas
+     * @return Formato correspondente
+     * @throws InvalidExportFormatException se o formato não existir
+     */
+    public static PropertyExportFormat fromName(String formatName) {
+        for (PropertyExportFormat format : values()) {
+            if (format.formatName.equalsIgnoreCase(formatName)) {
+                return format;
+            }
+        }
+        throw new InvalidExportFormatException(formatName);
+    }
+}
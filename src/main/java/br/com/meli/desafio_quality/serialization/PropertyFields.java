@@ -0,0 +1,90 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.exception.InvalidPropertyFieldException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Conjunto de campos de uma propriedade solicitados pelo cliente (parâmetro {@code fields}).
+ * Campos não solicitados não são convertidos nem serializados.
+ */
+public final class PropertyFields {
+
+    /**
+     * Campos que podem ser solicitados, com o nome usado no JSON
+     */
+    public enum Field {
+        ID("id"),
+        NAME("name"),
+        DISTRICT("district"),
+        ROOMS("rooms");
+
+        private final String jsonName;
+
+        Field(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        public String getJsonName() {
+            return jsonName;
+        }
+    }
+
+    public static final PropertyFields ALL = new PropertyFields(EnumSet.allOf(Field.class));
+
+    private final Set<Field> fields;
+
+    private PropertyFields(Set<Field> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Interpreta o parâmetro {@code fields}, uma lista separada por vírgulas (por exemplo, {@code id,name})
+     * @param fields Valor do parâmetro; vazio ou nulo seleciona todos os campos
+     * @return Campos solicitados
+     * @throws InvalidPropertyFieldException se algum campo não existir
+     */
+    public static PropertyFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            selected.add(fieldNamed(name.trim()));
+        }
+        return selected.size() == Field.values().length ? ALL : new PropertyFields(selected);
+    }
+
+    public boolean includes(Field field) {
+        return fields.contains(field);
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Sufixo que diferencia a ETag de cada projeção da ETag da representação completa
+     * @return Sufixo vazio para todos os campos ou a lista dos campos solicitados
+     */
+    public String eTagSuffix() {
+        if (isAll()) {
+            return "";
+        }
+        StringBuilder suffix = new StringBuilder();
+        for (Field field : fields) {
+            suffix.append('-').append(field.getJsonName());
+        }
+        return suffix.toString();
+    }
+
+    private static Field fieldNamed(String name) {
+        for (Field field : Field.values()) {
+            if (field.getJsonName().equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidPropertyFieldException(name);
+    }
+}
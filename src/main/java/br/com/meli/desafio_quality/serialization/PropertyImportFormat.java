@@ -0,0 +1,43 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.exception.InvalidImportFormatException;
+
+/**
+ * Formatos aceitos na importação em massa de propriedades
+ */
+public enum PropertyImportFormat {
+
+    /**
+     * Uma propriedade por linha, no mesmo JSON do {@code PropertyDTO}
+     */
+    NDJSON("ndjson"),
+
+    /**
+     * Uma propriedade por linha, no formato descrito em {@link PropertyCsvParser}
+     */
+    CSV("csv");
+
+    private final String formatName;
+
+    PropertyImportFormat(String formatName) {
+        this.formatName = formatName;
+    }
+
+    public String getFormatName() {
+        return formatName;
+    }
+
+    /**
+     * @param formatName Nome do formato (ndjson ou csv), sem diferenciar maiúsculas e minúsculas
+     * @return Formato correspondente
+     * @throws InvalidImportFormatException se o formato não existir
+     */
+    public static PropertyImportFormat fromName(String formatName) {
+        for (PropertyImportFormat format : values()) {
+            if (format.formatName.equalsIgnoreCase(formatName)) {
+                return format;
+            }
+        }
+        throw new InvalidImportFormatException(formatName);
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Módulo Jackson que serializa as entidades diretamente, por meio do {@link PropertyJsonWriter}.
+ * Por ser um bean, o Spring Boot o registra no ObjectMapper da aplicação.
+ */
+@Component
+public class PropertyJsonModule extends SimpleModule {
+
+    public PropertyJsonModule() {
+        super("PropertyJsonModule");
+        addSerializer(Property.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(Property property, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                PropertyJsonWriter.writeProperty(gen, property);
+            }
+        });
+        addSerializer(District.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(District district, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                PropertyJsonWriter.writeDistrict(gen, district);
+            }
+        });
+        addSerializer(Room.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(Room room, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                PropertyJsonWriter.writeRoom(gen, room);
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escreve as entidades {@link Property}, {@link District} e {@link Room} diretamente em um
+ * {@link JsonGenerator}, no mesmo formato de {@link PropertyDTO}, {@link DistrictDTO} e {@link RoomDTO},
+ * sem criar as cópias em DTO. Qualquer mudança nos DTOs deve ser refletida aqui; o formato é
+ * verificado pelo teste de contrato {@code PropertyJsonContractTest}.
+ */
+public final class PropertyJsonWriter {
+
+    private PropertyJsonWriter() {
+    }
+
+    public static void writeProperty(JsonGenerator gen, Property property) throws IOException {
+        writeProperty(gen, property, PropertyFields.ALL);
+    }
+
+    /**
+     * Escreve uma lista de propriedades, ou a única propriedade informada, com os campos solicitados
+     * @param gen        Gerador de saída (JSON ou CBOR)
+     * @param properties Propriedades
+     * @param fields     Campos solicitados
+     * @param array      Se verdadeiro, escreve um array; caso contrário, a única propriedade informada
+     */
+    public static void writeProperties(JsonGenerator gen, List<Property> properties, PropertyFields fields, boolean array) throws IOException {
+        if (array) {
+            gen.writeStartArray();
+        }
+        for (Property property : properties) {
+            writeProperty(gen, property, fields);
+        }
+        if (array) {
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * Escreve apenas os campos solicitados da propriedade, na mesma ordem da representação completa
+     * @param gen      Gerador de saída
+     * @param property Propriedade
+     * @param fields   Campos solicitados
+     */
+    public static void writeProperty(JsonGenerator gen, Property property, PropertyFields fields) throws IOException {
+        gen.writeStartObject();
+        if (fields.includes(PropertyFields.Field.ID)) {
+            gen.writeStringField("id", property.getId());
+        }
+        if (fields.includes(PropertyFields.Field.NAME)) {
+            gen.writeStringField("name", property.getName());
+        }
+        if (fields.includes(PropertyFields.Field.DISTRICT)) {
+            gen.writeFieldName("district");
+            writeDistrict(gen, property.getDistrict());
+        }
+        if (fields.includes(PropertyFields.Field.ROOMS)) {
+            gen.writeFieldName("rooms");
+            writeRooms(gen, property.getRooms());
+        }
+        gen.writeEndObject();
+    }
+
+    public static void writeDistrict(JsonGenerator gen, District district) throws IOException {
+        if (district == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeStringField("name", district.getName());
+        gen.writeFieldName("valueDistrictM2");
+        gen.writeNumber(district.getValueDistrictM2());
+        gen.writeEndObject();
+    }
+
+    public static void writeRooms(JsonGenerator gen, List<Room> rooms) throws IOException {
+        if (rooms == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (Room room : rooms) {
+            writeRoom(gen, room);
+        }
+        gen.writeEndArray();
+    }
+
+    public static void writeRoom(JsonGenerator gen, Room room) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("roomName", room.getRoomName());
+        gen.writeNumberField("roomWidth", room.getRoomWidth());
+        gen.writeNumberField("roomLength", room.getRoomLength());
+        gen.writeEndObject();
+    }
+}
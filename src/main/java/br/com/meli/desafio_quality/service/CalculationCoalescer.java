@@ -0,0 +1,125 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.CoalescingStatsDTO;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes do mesmo cálculo para a mesma versão de uma propriedade (single-flight).
+ * A primeira chamada executa o cálculo; as que chegam enquanto ele está em andamento
+ * aguardam e recebem o mesmo resultado, ou a mesma exceção. Chamadas que já leram uma versão mais nova não aproveitam
+ * um cálculo iniciado na versão anterior.
+ */
+@Component
+public class CalculationCoalescer {
+
+    private final ConcurrentMap<CalculationKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Executa o cálculo ou aguarda a execução idêntica já em andamento
+     *
+     * @param propertyId Id da propriedade
+     * @param version    Versão da propriedade lida antes do cálculo
+     * @param metric     Cálculo desejado
+     * @param calculation Executa o cálculo
+     * @return Resultado do cálculo, compartilhado entre as chamadas agrupadas
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String propertyId, long version, CalculationMetric metric, Supplier<T> calculation) {
+        calls.increment();
+        CalculationKey key = new CalculationKey(propertyId, version, metric);
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, leader);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(running);
+        }
+
+        try {
+            T result = calculation.get();
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            leader.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Variante sem bloqueio de {@link #execute(String, long, CalculationMetric, Supplier)}: a primeira chamada executa
+     * o cálculo na thread atual e as que chegam enquanto ele está em andamento recebem o futuro da execução, em vez
+     * de aguardá-la. Usada pelas rotas reativas, cujas threads não podem ficar paradas.
+     *
+     * @param propertyId Id da propriedade
+     * @param version    Versão da propriedade lida antes do cálculo
+     * @param metric     Cálculo desejado
+     * @param calculation Executa o cálculo
+     * @return Futuro com o resultado do cálculo ou com a exceção lançada por ele
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String propertyId, long version, CalculationMetric metric, Supplier<T> calculation) {
+        calls.increment();
+        CalculationKey key = new CalculationKey(propertyId, version, metric);
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, leader);
+        if (running != null) {
+            coalesced.increment();
+            return (CompletableFuture<T>) running;
+        }
+
+        try {
+            leader.complete(calculation.get());
+        } catch (RuntimeException | Error ex) {
+            leader.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(key, leader);
+        }
+        return (CompletableFuture<T>) leader;
+    }
+
+    /**
+     * Estatísticas do agrupamento
+     * @return Chamadas recebidas, cálculos executados, chamadas agrupadas e cálculos em andamento
+     */
+    public CoalescingStatsDTO getStats() {
+        long totalCalls = calls.sum();
+        long totalCoalesced = coalesced.sum();
+        return new CoalescingStatsDTO(totalCalls, totalCalls - totalCoalesced, totalCoalesced, inFlight.size());
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class CalculationKey {
+        private final String propertyId;
+        private final long version;
+        private final CalculationMetric metric;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.meli.desafio_quality.service;
+
+/**
+ * Cálculos oferecidos pelo {@link PropertyService} para uma propriedade
+ */
+public enum CalculationMetric {
+    TOTAL_AREA,
+    LARGEST_ROOM,
+    ROOM_AREAS,
+    PRICE
+}
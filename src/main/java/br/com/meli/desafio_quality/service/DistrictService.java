@@ -1,14 +1,18 @@
 package br.com.meli.desafio_quality.service;
 
 import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.event.DistrictPriceChangedEvent;
+import br.com.meli.desafio_quality.exception.DistrictNotFoundException;
+import br.com.meli.desafio_quality.jfr.DistrictLookupEvent;
 import br.com.meli.desafio_quality.repository.DistrictRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 /**
  * Classe Service responsável pelos serviços do District. Possui método para encontrar um distrito
- * pelo nome.
+ * pelo nome e para alterar o valor do seu metro quadrado.
  *
  * @author Luis Felipe Olimpio
  */
@@ -22,6 +26,12 @@ public class DistrictService {
     @Autowired
     private DistrictRepository districtRepository;
 
+    /**
+     * {@link ApplicationEventPublisher Publisher} dos eventos de alteração de bairro
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Busca por um distrito utilizando o nome como identificador
      *
@@ -29,6 +39,29 @@ public class DistrictService {
      * @return              Retorna o distrito encontrado ou um objeto District vazio se o cômodo com o nome correspondente não for encontrado
      */
     public DistrictDTO findDistrict(String districtName) {
-        return  DistrictDTO.districtToDTO(districtRepository.findDistrict(districtName));
+        DistrictLookupEvent event = new DistrictLookupEvent(districtName);
+        event.begin();
+        try {
+            DistrictDTO district = DistrictDTO.districtToDTO(districtRepository.findDistrict(districtName));
+            event.record(DistrictLookupEvent.FOUND);
+            return district;
+        } catch (DistrictNotFoundException ex) {
+            event.record(DistrictLookupEvent.NOT_FOUND);
+            throw ex;
+        }
+    }
+
+    /**
+     * Altera o valor do metro quadrado de um distrito e publica um {@link DistrictPriceChangedEvent}
+     *
+     * @param districtDTO   Nome do distrito e o novo valor do metro quadrado
+     * @return              Distrito atualizado
+     */
+    public DistrictDTO updateDistrictPrice(DistrictDTO districtDTO) {
+        DistrictDTO updated = DistrictDTO.districtToDTO(
+                districtRepository.updateDistrictPrice(districtDTO.getName(), districtDTO.getValueDistrictM2()));
+
+        eventPublisher.publishEvent(new DistrictPriceChangedEvent(updated.getName(), updated.getValueDistrictM2()));
+        return updated;
     }
 }
@@ -0,0 +1,165 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.CacheStatsDTO;
+import br.com.meli.desafio_quality.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache limitado dos resultados dos cálculos de cada propriedade, indexado pelo id.
+ * Cada entrada guarda a versão da propriedade e os DTOs já calculados nela (um por {@link CalculationMetric});
+ * as propriedades usadas há mais tempo são descartadas quando o limite é atingido.
+ * Uma entrada só atende consultas da mesma versão: um resultado calculado antes de uma alteração (como a mudança de
+ * preço do bairro) nunca é devolvido junto com a ETag da versão nova, mesmo antes de a entrada ser invalidada.
+ * Uma propriedade só ganha entrada depois de um cálculo bem-sucedido: ids inexistentes não ocupam espaço nem
+ * descartam entradas em uso.
+ */
+@Component
+public class PropertyCalculationCache {
+
+    private static final int METRICS = CalculationMetric.values().length;
+    private static final int INVALIDATION_STRIPES = 64;
+
+    private final BoundedCache<String, Entry> results;
+    private final int maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Contadores de invalidações, por faixa de ids, usados para não gravar um resultado calculado enquanto a
+     * propriedade era alterada
+     */
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    /**
+     * @param maximumSize Quantidade máxima de propriedades com resultados em cache
+     */
+    public PropertyCalculationCache(@Value("${property.calculation-cache.maximum-size:10000}") int maximumSize) {
+        this.results = new BoundedCache<>(maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Devolve o resultado em cache ou o calcula e armazena. Chamadas concorrentes que calculam métricas da mesma
+     * propriedade gravam na mesma entrada, sem perder resultados.
+     * Se a propriedade for invalidada durante o cálculo, o resultado não fica no cache: gravado em uma entrada que já
+     * saiu do cache, quando ela existia antes do cálculo, ou descartado pela verificação do contador de invalidações.
+     *
+     * @param propertyId Id da propriedade
+     * @param version    Versão da propriedade lida antes do cálculo; o cálculo usa essa versão ou uma mais nova
+     * @param metric     Cálculo desejado
+     * @param calculator Executa o cálculo; pode lançar exceção se a propriedade não existir
+     * @return Resultado do cálculo
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String propertyId, long version, CalculationMetric metric, Supplier<T> calculator) {
+        Entry entry = results.getIfPresent(propertyId);
+        if (entry != null && entry.version == version) {
+            Object cached = entry.values.get(metric.ordinal());
+            if (cached != null) {
+                hits.increment();
+                return (T) cached;
+            }
+        }
+
+        misses.increment();
+        int stripe = stripe(propertyId);
+        long invalidationsBefore = invalidations.get(stripe);
+        T calculated = calculator.get();
+
+        if (entry != null && entry.version == version) {
+            entry.values.set(metric.ordinal(), calculated);
+            return calculated;
+        }
+        store(propertyId, version, metric, calculated);
+        // a invalidação incrementa o contador antes de remover a entrada: se ele mudou, a entrada pode ter sido
+        // gravada depois da remoção e é descartada; se mudar depois desta leitura, a remoção ainda vai alcançá-la
+        if (invalidations.get(stripe) != invalidationsBefore) {
+            results.invalidate(propertyId);
+        }
+        return calculated;
+    }
+
+    /**
+     * Devolve o resultado em cache sem calcular nada
+     *
+     * @param propertyId Id da propriedade
+     * @param version    Versão atual da propriedade
+     * @param metric     Cálculo desejado
+     * @return Resultado em cache, ou {@code null} se ainda não foi calculado nessa versão
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresent(String propertyId, long version, CalculationMetric metric) {
+        Entry entry = results.getIfPresent(propertyId);
+        Object cached = entry == null || entry.version != version ? null : entry.values.get(metric.ordinal());
+        if (cached != null) {
+            hits.increment();
+        }
+        return (T) cached;
+    }
+
+    /**
+     * Grava o resultado na entrada da versão informada, criando-a ou substituindo a entrada de uma versão anterior.
+     * A entrada de uma versão mais nova nunca é substituída.
+     */
+    private void store(String propertyId, long version, CalculationMetric metric, Object calculated) {
+        Entry created = new Entry(version);
+        created.values.set(metric.ordinal(), calculated);
+        Entry existing = results.putIfAbsent(propertyId, created);
+        while (existing != null) {
+            if (existing.version == version) {
+                existing.values.set(metric.ordinal(), calculated);
+                return;
+            }
+            if (existing.version > version || results.replace(propertyId, existing, created)) {
+                return;
+            }
+            existing = results.putIfAbsent(propertyId, created);
+        }
+    }
+
+    /**
+     * Descarta os resultados de uma propriedade
+     * @param propertyId Id da propriedade alterada
+     */
+    public void invalidate(String propertyId) {
+        invalidations.incrementAndGet(stripe(propertyId));
+        results.invalidate(propertyId);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        results.invalidateAll();
+    }
+
+    private static int stripe(String propertyId) {
+        int hash = propertyId.hashCode();
+        return (hash ^ (hash >>> 16)) & (INVALIDATION_STRIPES - 1);
+    }
+
+    /**
+     * Resultados calculados em uma versão da propriedade
+     */
+    private static final class Entry {
+        private final long version;
+        private final AtomicReferenceArray<Object> values = new AtomicReferenceArray<>(METRICS);
+
+        private Entry(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * Estatísticas de uso do cache
+     * @return Tamanho atual, limite, acertos, falhas e descartes por limite
+     */
+    public CacheStatsDTO getStats() {
+        return new CacheStatsDTO(results.size(), maximumSize, hits.sum(), misses.sum(), results.getEvictionCount());
+    }
+}
@@ -0,0 +1,327 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.FeedStatsDTO;
+import br.com.meli.desafio_quality.event.DistrictPriceChangedEvent;
+import br.com.meli.desafio_quality.event.PropertyInsertedEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feed de alterações enviado por Server-Sent Events: cadastros de propriedades e alterações de preço de bairro.
+ * Os eventos são gravados em um buffer circular de tamanho fixo. Quem publica apenas grava no buffer e avisa
+ * os assinantes, sem nunca esperar por eles; o envio é feito por threads próprias, com no máximo um envio
+ * em andamento por assinante. Um assinante que fica mais atrasado do que o tamanho do buffer perde os eventos
+ * sobrescritos e recebe um evento {@code resync}, indicando que deve recarregar a lista completa.
+ * <p>
+ * As threads de envio são limitadas ({@code property.feed.sender-threads}). Um cliente parado bloqueia o envio
+ * em andamento; um vigia verifica periodicamente os envios e descarta o assinante cujo envio passa do tempo máximo
+ * de escrita ({@code property.feed.write-timeout-ms}), interrompendo a thread presa, para que poucos clientes
+ * parados não ocupem todas as threads.
+ */
+@Component
+public class PropertyChangeFeed {
+
+    public static final String PROPERTY_INSERTED = "property-inserted";
+    public static final String DISTRICT_PRICE_CHANGED = "district-price-changed";
+    public static final String RESYNC = "resync";
+
+    private final FeedEvent[] ring;
+    private final long timeoutMillis;
+    private final Executor executor;
+    private final long writeTimeoutNanos;
+    private final ScheduledExecutorService watchdog;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Sequência do último evento gravado; o evento de sequência {@code n} fica na posição {@code n % ring.length}
+     */
+    private long lastSequence;
+
+    /**
+     * @param bufferSize         Quantidade de eventos mantidos para assinantes atrasados
+     * @param timeoutMillis      Tempo máximo de uma conexão, em milissegundos; zero para não expirar
+     * @param senderThreads      Quantidade máxima de threads de envio
+     * @param writeTimeoutMillis Tempo máximo de um envio, em milissegundos, antes de o assinante ser descartado
+     */
+    @Autowired
+    public PropertyChangeFeed(@Value("${property.feed.buffer-size:1024}") int bufferSize,
+                              @Value("${property.feed.timeout-ms:0}") long timeoutMillis,
+                              @Value("${property.feed.sender-threads:4}") int senderThreads,
+                              @Value("${property.feed.write-timeout-ms:10000}") long writeTimeoutMillis) {
+        this(bufferSize, timeoutMillis, writeTimeoutMillis, senderPool(senderThreads),
+                Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "property-feed-watchdog")));
+        long period = Math.max(100, writeTimeoutMillis / 2);
+        watchdog.scheduleWithFixedDelay(this::dropStalledSubscribers, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    PropertyChangeFeed(int bufferSize, long timeoutMillis, Executor executor) {
+        this(bufferSize, timeoutMillis, 0, executor, null);
+    }
+
+    /**
+     * @param writeTimeoutMillis Tempo máximo de um envio; zero para não descartar assinantes lentos
+     * @param watchdog           Executor do vigia, encerrado junto com o feed; {@code null} quando o vigia é
+     *                           acionado por quem cria o feed
+     */
+    PropertyChangeFeed(int bufferSize, long timeoutMillis, long writeTimeoutMillis, Executor executor,
+                       ScheduledExecutorService watchdog) {
+        this.ring = new FeedEvent[bufferSize];
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+        this.executor = executor;
+        this.watchdog = watchdog;
+    }
+
+    private static ExecutorService senderPool(int threads) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> daemon(runnable, "property-feed"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Registra um novo assinante
+     * @param lastEventId Último evento recebido pelo cliente (cabeçalho Last-Event-ID), ou {@code null} para
+     *                    receber apenas os eventos a partir de agora
+     * @return Emitter da conexão
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, resumeFrom(lastEventId));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @EventListener
+    public void onPropertyInserted(PropertyInsertedEvent event) {
+        publish(PROPERTY_INSERTED, event.getProperty());
+    }
+
+    @EventListener
+    public void onDistrictPriceChanged(DistrictPriceChangedEvent event) {
+        publish(DISTRICT_PRICE_CHANGED, new DistrictDTO(event.getDistrictName(), event.getValueDistrictM2()));
+    }
+
+    /**
+     * Estatísticas do feed; o atraso de um assinante é a quantidade de eventos gravados que ele ainda não recebeu
+     * @return Assinantes, última sequência, tamanho do buffer, maior atraso, atraso somado, resyncs e assinantes descartados
+     */
+    public FeedStatsDTO getStats() {
+        long last = currentSequence();
+        long maxLag = 0;
+        long totalLag = 0;
+        int count = 0;
+        for (Subscriber subscriber : subscribers) {
+            long lag = last - subscriber.cursor;
+            maxLag = Math.max(maxLag, lag);
+            totalLag += lag;
+            count++;
+        }
+        return new FeedStatsDTO(count, last, ring.length, maxLag, totalLag, resyncs.sum(), dropped.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    /**
+     * Descarta os assinantes com um envio em andamento há mais tempo que o limite de escrita e interrompe a thread
+     * presa no envio. O emitter é encerrado pela própria thread de envio, quando o envio falha: encerrá-lo daqui
+     * esperaria pelo mesmo envio parado.
+     */
+    void dropStalledSubscribers() {
+        if (writeTimeoutNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedAt;
+            if (started != 0 && now - started > writeTimeoutNanos && subscribers.remove(subscriber)) {
+                dropped.increment();
+                subscriber.stalled = true;
+                subscriber.interruptSender();
+            }
+        }
+    }
+
+    private void publish(String name, Object data) {
+        synchronized (ring) {
+            lastSequence++;
+            ring[(int) (lastSequence % ring.length)] = new FeedEvent(lastSequence, name, data);
+        }
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    private long currentSequence() {
+        synchronized (ring) {
+            return lastSequence;
+        }
+    }
+
+    private long resumeFrom(String lastEventId) {
+        if (lastEventId != null) {
+            try {
+                return Math.min(Long.parseLong(lastEventId.trim()), currentSequence());
+            } catch (NumberFormatException ex) {
+                // id desconhecido: o cliente recomeça do momento atual
+            }
+        }
+        return currentSequence();
+    }
+
+    /**
+     * Copia os eventos posteriores a {@code cursor} que ainda estão no buffer
+     * @return Eventos em ordem, ou {@code null} se algum evento posterior ao cursor já foi sobrescrito
+     */
+    private List<FeedEvent> eventsAfter(long cursor) {
+        synchronized (ring) {
+            if (lastSequence - cursor > ring.length) {
+                return null;
+            }
+            List<FeedEvent> events = new ArrayList<>((int) (lastSequence - cursor));
+            for (long sequence = cursor + 1; sequence <= lastSequence; sequence++) {
+                events.add(ring[(int) (sequence % ring.length)]);
+            }
+            return events;
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class FeedEvent {
+        private final long sequence;
+        private final String name;
+        private final Object data;
+    }
+
+    /**
+     * Assinante do feed. {@code cursor} é a sequência do último evento enviado; {@code scheduled}
+     * garante que exista no máximo um envio em andamento para o assinante. {@code sendStartedAt} é o início do
+     * envio em andamento (zero sem envio) e {@code sender} a thread que o executa, vigiados por
+     * {@link #dropStalledSubscribers()}.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile long sendStartedAt;
+        private volatile boolean stalled;
+        private Thread sender;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            synchronized (this) {
+                sender = Thread.currentThread();
+            }
+            try {
+                do {
+                    sendPending();
+                    scheduled.set(false);
+                } while (cursor < currentSequence() && subscribers.contains(this) && scheduled.compareAndSet(false, true));
+                if (stalled) {
+                    // o envio terminou logo depois de o vigia descartar o assinante
+                    emitter.completeWithError(new IOException("Assinante descartado por exceder o tempo máximo de escrita."));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                if (subscribers.remove(this)) {
+                    dropped.increment();
+                }
+                emitter.completeWithError(ex);
+            } finally {
+                sendStartedAt = 0;
+                synchronized (this) {
+                    sender = null;
+                    // uma interrupção do vigia que chegou depois do envio não pode alcançar o próximo assinante
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private synchronized void interruptSender() {
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            if (!subscribers.contains(this)) {
+                throw new IOException("Assinante descartado por exceder o tempo máximo de escrita.");
+            }
+            sendStartedAt = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+
+        private void sendPending() throws IOException {
+            List<FeedEvent> events = eventsAfter(cursor);
+            if (events == null) {
+                long resyncAt = currentSequence();
+                resyncs.increment();
+                send(SseEmitter.event().id(Long.toString(resyncAt)).name(RESYNC).data(resyncAt));
+                cursor = resyncAt;
+                return;
+            }
+            for (FeedEvent event : events) {
+                send(SseEmitter.event().id(Long.toString(event.sequence)).name(event.name)
+                        .data(event.data, MediaType.APPLICATION_JSON));
+                cursor = event.sequence;
+            }
+        }
+    }
+}
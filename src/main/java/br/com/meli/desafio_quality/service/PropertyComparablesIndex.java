@@ -0,0 +1,451 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.event.DistrictPriceChangedEvent;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.event.PropertyInsertedEvent;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.util.IntArrayList;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial das propriedades para a busca das mais parecidas (comparáveis) com uma propriedade.
+ * Cada propriedade é um ponto de {@value #DIMENSIONS} dimensões: área total, quantidade de cômodos, área do maior
+ * cômodo e valor do metro quadrado do bairro, calculados como no {@link PropertyService}.
+ * <p>
+ * Os pontos ficam em uma floresta de KD-trees estáticas e balanceadas com tamanhos em potências de dois (método
+ * logarítmico): uma inserção junta as árvores menores em uma nova, como em um contador binário, o que mantém todas as
+ * árvores balanceadas mesmo quando as propriedades chegam ordenadas. Propriedades reprecificadas são marcadas como
+ * removidas e reinseridas com o novo valor; quando as removidas superam as vivas, a floresta é reconstruída.
+ * <p>
+ * A distância é a euclidiana entre as características padronizadas (divididas pelo desvio padrão de cada dimensão
+ * entre as propriedades indexadas). Como as árvores só comparam coordenadas de um mesmo eixo, a escala pode mudar a cada
+ * inserção sem reconstruir nada.
+ */
+@Component
+public class PropertyComparablesIndex {
+
+    public static final int DIMENSIONS = 4;
+    public static final int TOTAL_AREA = 0;
+    public static final int ROOM_COUNT = 1;
+    public static final int LARGEST_ROOM_AREA = 2;
+    public static final int VALUE_DISTRICT_M2 = 3;
+
+    private final PropertyRepository propertyRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> districtNames = new ArrayList<>();
+    private double[] points = new double[DIMENSIONS * 1024];
+    private final BitSet alive = new BitSet();
+    private final Map<String, IntArrayList> districtOrdinals = new HashMap<>();
+    private final List<int[]> trees = new ArrayList<>();
+    private final double[] sums = new double[DIMENSIONS];
+    private final double[] squareSums = new double[DIMENSIONS];
+    private int aliveCount;
+    private volatile long indexedResetVersion;
+
+    public PropertyComparablesIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @EventListener
+    public void onPropertyInserted(PropertyInsertedEvent event) {
+        add(List.of(event.getProperty()));
+    }
+
+    @EventListener
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        add(event.getProperties());
+    }
+
+    /**
+     * Reinsere as propriedades do bairro com o novo valor do metro quadrado
+     */
+    @EventListener
+    public void onDistrictPriceChanged(DistrictPriceChangedEvent event) {
+        double valueDistrictM2 = event.getValueDistrictM2().doubleValue();
+
+        lock.writeLock().lock();
+        try {
+            discardIfReset();
+            IntArrayList ordinals = districtOrdinals.get(event.getDistrictName());
+            if (ordinals == null) {
+                return;
+            }
+            int[] repriced = new int[ordinals.size()];
+            int count = 0;
+            for (int i = 0; i < ordinals.size(); i++) {
+                int ordinal = ordinals.get(i);
+                if (alive.get(ordinal) && points[ordinal * DIMENSIONS + VALUE_DISTRICT_M2] != valueDistrictM2) {
+                    double[] point = Arrays.copyOfRange(points, ordinal * DIMENSIONS, (ordinal + 1) * DIMENSIONS);
+                    point[VALUE_DISTRICT_M2] = valueDistrictM2;
+                    kill(ordinal);
+                    repriced[count++] = append(ids.get(ordinal), event.getDistrictName(), point);
+                }
+            }
+            insertIntoForest(Arrays.copyOf(repriced, count));
+            if (ids.size() - aliveCount > aliveCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa as propriedades informadas
+     */
+    public void add(List<Property> properties) {
+        lock.writeLock().lock();
+        try {
+            discardIfReset();
+            int[] added = new int[properties.size()];
+            for (int i = 0; i < added.length; i++) {
+                Property property = properties.get(i);
+                added[i] = append(property.getId(), property.getDistrict().getName(), features(property));
+            }
+            insertIntoForest(added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Características usadas na comparação, com os mesmos cálculos de área do {@link PropertyService}
+     * @return Vetor indexado por {@link #TOTAL_AREA}, {@link #ROOM_COUNT}, {@link #LARGEST_ROOM_AREA} e {@link #VALUE_DISTRICT_M2}
+     */
+    public static double[] features(Property property) {
+        double totalArea = 0;
+        double largestRoomArea = 0;
+        List<Room> rooms = property.getRooms() == null ? List.of() : property.getRooms();
+        for (Room room : rooms) {
+            double area = PropertyService.calculateRoomArea(room);
+            totalArea += area;
+            largestRoomArea = Math.max(largestRoomArea, area);
+        }
+        double[] point = new double[DIMENSIONS];
+        point[TOTAL_AREA] = totalArea;
+        point[ROOM_COUNT] = rooms.size();
+        point[LARGEST_ROOM_AREA] = largestRoomArea;
+        point[VALUE_DISTRICT_M2] = property.getDistrict().getValueDistrictM2().doubleValue();
+        return point;
+    }
+
+    /**
+     * Busca as propriedades mais próximas da propriedade informada, sem incluí-la
+     * @param property     Propriedade de referência
+     * @param k            Quantidade de propriedades
+     * @param sameDistrict Se apenas propriedades do mesmo bairro devem ser consideradas
+     * @return Propriedades em ordem crescente de distância
+     */
+    public List<Match> nearest(Property property, int k, boolean sameDistrict) {
+        double[] query = features(property);
+        discardIfRepositoryReset();
+
+        lock.readLock().lock();
+        try {
+            double[] weights = new double[DIMENSIONS];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                double mean = aliveCount == 0 ? 0 : sums[d] / aliveCount;
+                double variance = aliveCount == 0 ? 0 : squareSums[d] / aliveCount - mean * mean;
+                weights[d] = variance > 1e-12 ? 1 / variance : 1;
+            }
+            Search search = new Search(query, weights, k, property.getId(), sameDistrict ? property.getDistrict().getName() : null);
+            for (int[] tree : trees) {
+                if (tree != null) {
+                    search.visit(tree, 0, tree.length, 0);
+                }
+            }
+
+            List<Match> matches = new ArrayList<>(search.heap.size());
+            while (!search.heap.isEmpty()) {
+                Candidate candidate = search.heap.poll();
+                matches.add(new Match(ids.get(candidate.ordinal),
+                        Arrays.copyOfRange(points, candidate.ordinal * DIMENSIONS, (candidate.ordinal + 1) * DIMENSIONS),
+                        Math.sqrt(candidate.distance)));
+            }
+            Collections.reverse(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int append(String id, String districtName, double[] point) {
+        int ordinal = ids.size();
+        ids.add(id);
+        districtNames.add(districtName);
+        if (points.length < (ordinal + 1) * DIMENSIONS) {
+            points = Arrays.copyOf(points, points.length * 2);
+        }
+        System.arraycopy(point, 0, points, ordinal * DIMENSIONS, DIMENSIONS);
+        districtOrdinals.computeIfAbsent(districtName, k -> new IntArrayList()).add(ordinal);
+        alive.set(ordinal);
+        aliveCount++;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            sums[d] += point[d];
+            squareSums[d] += point[d] * point[d];
+        }
+        return ordinal;
+    }
+
+    private void kill(int ordinal) {
+        alive.clear(ordinal);
+        aliveCount--;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            double value = points[ordinal * DIMENSIONS + d];
+            sums[d] -= value;
+            squareSums[d] -= value * value;
+        }
+    }
+
+    /**
+     * Insere os ordinais na floresta: a árvore de nível i tem 2^i pontos ou não existe. Os novos pontos são somados às
+     * árvores dos níveis ocupados, a partir do menor, até caberem exatamente em um nível vazio.
+     */
+    private void insertIntoForest(int[] ordinals) {
+        for (int ordinal : ordinals) {
+            int[] carry = {ordinal};
+            int level = 0;
+            while (level < trees.size() && trees.get(level) != null) {
+                int[] tree = trees.get(level);
+                int[] merged = Arrays.copyOf(tree, tree.length + carry.length);
+                System.arraycopy(carry, 0, merged, tree.length, carry.length);
+                carry = merged;
+                trees.set(level, null);
+                level++;
+            }
+            if (level == trees.size()) {
+                trees.add(null);
+            }
+            build(carry, 0, carry.length, 0);
+            trees.set(level, carry);
+        }
+    }
+
+    /**
+     * Reconstrói a floresta apenas com as propriedades vivas, renumerando os ordinais
+     */
+    private void compact() {
+        int size = ids.size();
+        List<String> oldIds = new ArrayList<>(ids);
+        List<String> oldDistricts = new ArrayList<>(districtNames);
+        double[] oldPoints = points;
+        BitSet oldAlive = (BitSet) alive.clone();
+        clear();
+
+        List<Integer> survivors = new ArrayList<>();
+        for (int ordinal = oldAlive.nextSetBit(0); ordinal >= 0 && ordinal < size; ordinal = oldAlive.nextSetBit(ordinal + 1)) {
+            survivors.add(append(oldIds.get(ordinal), oldDistricts.get(ordinal),
+                    Arrays.copyOfRange(oldPoints, ordinal * DIMENSIONS, (ordinal + 1) * DIMENSIONS)));
+        }
+        // decomposição binária: uma árvore por bit do total de propriedades vivas
+        int offset = 0;
+        for (int level = 0; (survivors.size() >> level) > 0; level++) {
+            trees.add(null);
+        }
+        for (int level = trees.size() - 1; level >= 0; level--) {
+            if ((survivors.size() & (1 << level)) != 0) {
+                int[] tree = new int[1 << level];
+                for (int i = 0; i < tree.length; i++) {
+                    tree[i] = survivors.get(offset + i);
+                }
+                offset += tree.length;
+                build(tree, 0, tree.length, 0);
+                trees.set(level, tree);
+            }
+        }
+    }
+
+    private void clear() {
+        ids.clear();
+        districtNames.clear();
+        alive.clear();
+        districtOrdinals.clear();
+        trees.clear();
+        Arrays.fill(sums, 0);
+        Arrays.fill(squareSums, 0);
+        aliveCount = 0;
+    }
+
+    /**
+     * Organiza o intervalo como uma KD-tree implícita: a mediana no eixo do nível fica no meio do intervalo,
+     * os menores à esquerda e os maiores à direita
+     */
+    private void build(int[] tree, int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        int axis = depth % DIMENSIONS;
+        int middle = (from + to) >>> 1;
+        select(tree, from, to - 1, middle, axis);
+        build(tree, from, middle, depth + 1);
+        build(tree, middle + 1, to, depth + 1);
+    }
+
+    /**
+     * Seleção do k-ésimo menor com partição em três faixas, que não degrada com muitos valores iguais
+     * (a quantidade de cômodos, por exemplo)
+     */
+    private void select(int[] tree, int low, int high, int k, int axis) {
+        while (low < high) {
+            double pivot = coordinate(tree[(low + high) >>> 1], axis);
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i <= gt) {
+                double value = coordinate(tree[i], axis);
+                if (value < pivot) {
+                    swap(tree, lt++, i++);
+                } else if (value > pivot) {
+                    swap(tree, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                high = lt - 1;
+            } else if (k > gt) {
+                low = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double coordinate(int ordinal, int axis) {
+        return points[ordinal * DIMENSIONS + axis];
+    }
+
+    private static void swap(int[] tree, int i, int j) {
+        int value = tree[i];
+        tree[i] = tree[j];
+        tree[j] = value;
+    }
+
+    private void discardIfRepositoryReset() {
+        if (propertyRepository.getResetVersion() != indexedResetVersion) {
+            lock.writeLock().lock();
+            try {
+                discardIfReset();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Descarta o índice se o repositório foi limpo depois da última indexação; chamado com a trava de escrita
+     */
+    private void discardIfReset() {
+        long resetVersion = propertyRepository.getResetVersion();
+        if (resetVersion != indexedResetVersion) {
+            clear();
+            indexedResetVersion = resetVersion;
+        }
+    }
+
+    /**
+     * Busca dos k vizinhos mais próximos com um heap de máximo: a raiz é o pior candidato aceito até o momento,
+     * e um lado da árvore só é visitado se a distância até o plano de corte for menor que a dele
+     */
+    private final class Search {
+        private final double[] query;
+        private final double[] weights;
+        private final int k;
+        private final String excludedId;
+        private final String district;
+        private final PriorityQueue<Candidate> heap;
+
+        Search(double[] query, double[] weights, int k, String excludedId, String district) {
+            this.query = query;
+            this.weights = weights;
+            this.k = k;
+            this.excludedId = excludedId;
+            this.district = district;
+            this.heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble((Candidate c) -> c.distance).reversed());
+        }
+
+        void visit(int[] tree, int from, int to, int depth) {
+            if (from >= to) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            int ordinal = tree[middle];
+            offer(ordinal);
+
+            int axis = depth % DIMENSIONS;
+            double difference = query[axis] - coordinate(ordinal, axis);
+            if (difference < 0) {
+                visit(tree, from, middle, depth + 1);
+                if (shouldVisit(difference, axis)) {
+                    visit(tree, middle + 1, to, depth + 1);
+                }
+            } else {
+                visit(tree, middle + 1, to, depth + 1);
+                if (shouldVisit(difference, axis)) {
+                    visit(tree, from, middle, depth + 1);
+                }
+            }
+        }
+
+        private boolean shouldVisit(double difference, int axis) {
+            return heap.size() < k || difference * difference * weights[axis] < heap.peek().distance;
+        }
+
+        private void offer(int ordinal) {
+            if (!alive.get(ordinal)) {
+                return;
+            }
+            double distance = 0;
+            int base = ordinal * DIMENSIONS;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                double difference = query[d] - points[base + d];
+                distance += difference * difference * weights[d];
+            }
+            if (heap.size() == k && distance >= heap.peek().distance) {
+                return;
+            }
+            if (ids.get(ordinal).equals(excludedId) || (district != null && !district.equals(districtNames.get(ordinal)))) {
+                return;
+            }
+            heap.add(new Candidate(ordinal, distance));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Candidate {
+        private final int ordinal;
+        private final double distance;
+    }
+
+    /**
+     * Propriedade encontrada, com as características indexadas e a distância padronizada até a referência
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Match {
+        private final String id;
+        private final double[] features;
+        private final double distance;
+    }
+}
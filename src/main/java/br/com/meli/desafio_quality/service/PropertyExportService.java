@@ -0,0 +1,332 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.ExportJobDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.repository.PropertySnapshot;
+import br.com.meli.desafio_quality.serialization.PropertyExportFormat;
+import br.com.meli.desafio_quality.serialization.PropertyFields;
+import br.com.meli.desafio_quality.serialization.PropertyJsonWriter;
+import br.com.meli.desafio_quality.util.ChannelOutputStream;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação completa do repositório para arquivos, para a carga noturna do data warehouse.
+ * A exportação trabalha sobre uma cópia consistente do repositório ({@link PropertyRepository#getSnapshot()}),
+ * cujos locks são mantidos apenas durante a cópia das referências. A serialização roda em uma única thread,
+ * escreve direto nos arquivos por meio de um {@link FileChannel} com buffer e não passa pelo cache de JSON,
+ * de modo que as requisições em andamento não disputam memória nem o cache com ela.
+ * <p>
+ * A prioridade da thread não tem efeito no Linux; o que protege as requisições em andamento é o limite de
+ * propriedades exportadas por segundo ({@code property.export.max-properties-per-second}): a exportação pausa entre
+ * blocos de propriedades sempre que está adiantada em relação ao limite, deixando a CPU livre nesse intervalo.
+ * Cada arquivo é gravado com a extensão {@code .part} e renomeado apenas quando está completo.
+ */
+@Service
+public class PropertyExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertyExportService.class);
+
+    private static final int CHANNEL_BUFFER_BYTES = 256 * 1024;
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_REMEMBERED_JOBS = 20;
+    /**
+     * Máximo de propriedades exportadas entre duas verificações do limite de taxa
+     */
+    private static final int MAX_THROTTLE_BLOCK = 256;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final PropertyRepository propertyRepository;
+    private final Path directory;
+    private final PropertyExportFormat defaultFormat;
+    private final boolean defaultGzip;
+    private final long defaultChunkBytes;
+    private final long maxPropertiesPerSecond;
+    /**
+     * Propriedades exportadas entre duas verificações do limite: no máximo o equivalente a 10 ms de exportação,
+     * para que as pausas sejam curtas e frequentes
+     */
+    private final int throttleBlock;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final AtomicLong jobIds = new AtomicLong();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "property-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Exportações recentes, da mais antiga para a mais nova
+     */
+    private final Map<String, ExportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ExportJob> eldest) {
+            return size() > MAX_REMEMBERED_JOBS;
+        }
+    });
+
+    /**
+     * @param directory   Diretório onde os arquivos são gravados
+     * @param format      Formato da exportação agendada
+     * @param gzip        Se a exportação agendada é compactada
+     * @param chunkBytes  Tamanho máximo aproximado de cada arquivo, em bytes gravados
+     * @param maxPropertiesPerSecond Limite de propriedades exportadas por segundo; zero ou negativo para não limitar
+     */
+    public PropertyExportService(PropertyRepository propertyRepository,
+                                 @Value("${property.export.directory:${java.io.tmpdir}/property-exports}") Path directory,
+                                 @Value("${property.export.format:ndjson}") String format,
+                                 @Value("${property.export.gzip:true}") boolean gzip,
+                                 @Value("${property.export.chunk-bytes:268435456}") long chunkBytes,
+                                 @Value("${property.export.max-properties-per-second:20000}") long maxPropertiesPerSecond) {
+        this.propertyRepository = propertyRepository;
+        this.directory = directory;
+        this.defaultFormat = PropertyExportFormat.fromName(format);
+        this.defaultGzip = gzip;
+        this.defaultChunkBytes = chunkBytes;
+        this.maxPropertiesPerSecond = maxPropertiesPerSecond;
+        this.throttleBlock = (int) Math.max(1, Math.min(MAX_THROTTLE_BLOCK, maxPropertiesPerSecond / 100));
+    }
+
+    /**
+     * Exportação agendada; desativada a menos que {@code property.export.cron} seja configurado
+     */
+    @Scheduled(cron = "${property.export.cron:-}")
+    public void scheduledExport() {
+        startExport(defaultFormat, defaultGzip, defaultChunkBytes);
+    }
+
+    /**
+     * Agenda uma exportação em segundo plano; exportações são executadas uma de cada vez
+     * @param format     Formato dos arquivos
+     * @param gzip       Se os arquivos são compactados com gzip
+     * @param chunkBytes Tamanho máximo aproximado de cada arquivo; zero ou negativo usa o padrão configurado
+     * @return Situação inicial da exportação
+     */
+    public ExportJobDTO startExport(PropertyExportFormat format, boolean gzip, long chunkBytes) {
+        ExportJob job = new ExportJob(Long.toString(jobIds.incrementAndGet()), format, gzip,
+                chunkBytes > 0 ? chunkBytes : defaultChunkBytes);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+        return job.toDTO();
+    }
+
+    /**
+     * @param jobId Id da exportação
+     * @return Situação da exportação, se ela estiver entre as mais recentes
+     */
+    public Optional<ExportJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ExportJob::toDTO);
+    }
+
+    /**
+     * Executa uma exportação na thread atual
+     * @return Situação final da exportação
+     */
+    public ExportJobDTO export(PropertyExportFormat format, boolean gzip, long chunkBytes) {
+        ExportJob job = new ExportJob(Long.toString(jobIds.incrementAndGet()), format, gzip,
+                chunkBytes > 0 ? chunkBytes : defaultChunkBytes);
+        jobs.put(job.id, job);
+        run(job);
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job) {
+        long start = System.nanoTime();
+        job.status = "RUNNING";
+        try {
+            Files.createDirectories(directory);
+            PropertySnapshot snapshot = propertyRepository.getSnapshot();
+            job.version = snapshot.getVersion();
+            writeChunks(job, snapshot.getProperties(), "properties-" + snapshot.getVersion() + "-" + LocalDateTime.now().format(FILE_TIMESTAMP));
+            job.status = "COMPLETED";
+            LOGGER.info("Exportação {} concluída: {} propriedades, {} bytes em {} arquivo(s)", job.id, job.properties, job.bytes, job.files.size());
+        } catch (IOException | RuntimeException ex) {
+            job.status = "FAILED";
+            job.error = ex.getMessage();
+            LOGGER.error("Exportação {} falhou", job.id, ex);
+        } finally {
+            job.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+
+    private void writeChunks(ExportJob job, List<Property> properties, String baseName) throws IOException {
+        ChunkWriter chunk = null;
+        long start = System.nanoTime();
+        try {
+            for (Property property : properties) {
+                if (job.properties % throttleBlock == 0) {
+                    throttle(job.properties, start);
+                }
+                if (chunk == null) {
+                    chunk = new ChunkWriter(job, baseName, job.files.size() + 1);
+                }
+                chunk.write(property);
+                job.properties++;
+                if (chunk.size() >= job.chunkBytes) {
+                    chunk.commit();
+                    chunk = null;
+                }
+            }
+            if (chunk == null && job.files.isEmpty()) {
+                chunk = new ChunkWriter(job, baseName, 1);
+            }
+            if (chunk != null) {
+                chunk.commit();
+                chunk = null;
+            }
+        } finally {
+            if (chunk != null) {
+                chunk.abort();
+            }
+        }
+    }
+
+    /**
+     * Pausa a exportação enquanto ela estiver adiantada em relação ao limite de propriedades por segundo
+     * @param exported Propriedades já exportadas
+     * @param start    Início da escrita dos arquivos
+     */
+    private void throttle(long exported, long start) throws IOException {
+        if (maxPropertiesPerSecond <= 0) {
+            return;
+        }
+        long aheadNanos = exported * 1_000_000_000L / maxPropertiesPerSecond - (System.nanoTime() - start);
+        if (aheadNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Exportação interrompida.");
+            }
+        }
+    }
+
+    /**
+     * Um arquivo da exportação: FileChannel com buffer, gzip opcional e o gerador do formato escolhido
+     */
+    private final class ChunkWriter {
+        private final ExportJob job;
+        private final Path partFile;
+        private final Path finalFile;
+        private final ChannelOutputStream channelOut;
+        private final JsonGenerator generator;
+
+        private ChunkWriter(ExportJob job, String baseName, int index) throws IOException {
+            this.job = job;
+            String fileName = String.format("%s-%05d%s%s", baseName, index, job.format.getExtension(), job.gzip ? ".gz" : "");
+            this.finalFile = directory.resolve(fileName);
+            this.partFile = directory.resolve(fileName + ".part");
+            this.channelOut = new ChannelOutputStream(
+                    FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), CHANNEL_BUFFER_BYTES);
+            OutputStream out = job.gzip ? new GZIPOutputStream(channelOut, GZIP_BUFFER_BYTES) : channelOut;
+            if (job.format == PropertyExportFormat.CBOR) {
+                this.generator = cborFactory.createGenerator(out);
+            } else {
+                this.generator = jsonFactory.createGenerator(out);
+                this.generator.setRootValueSeparator(null);
+            }
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        private void write(Property property) throws IOException {
+            PropertyJsonWriter.writeProperty(generator, property, PropertyFields.ALL);
+            if (job.format == PropertyExportFormat.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+
+        /**
+         * Bytes já gravados no arquivo, considerando a compactação. Com gzip, o compactador retém parte
+         * dos dados até acumular um bloco, por isso o limite de tamanho de cada arquivo é aproximado.
+         */
+        private long size() {
+            return channelOut.getWritten();
+        }
+
+        private void commit() throws IOException {
+            generator.close();
+            job.bytes += channelOut.getWritten();
+            Files.move(partFile, finalFile, StandardCopyOption.ATOMIC_MOVE);
+            job.files.add(finalFile.toString());
+        }
+
+        private void abort() {
+            try {
+                generator.close();
+            } catch (IOException ex) {
+                // o arquivo parcial é descartado de qualquer forma
+            }
+            try {
+                Files.deleteIfExists(partFile);
+            } catch (IOException ex) {
+                LOGGER.warn("Não foi possível remover o arquivo parcial {}", partFile, ex);
+            }
+        }
+    }
+
+    /**
+     * Situação de uma exportação; alterada apenas pela thread que a executa
+     */
+    private static final class ExportJob {
+        private final String id;
+        private final PropertyExportFormat format;
+        private final boolean gzip;
+        private final long chunkBytes;
+        private final List<String> files = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "QUEUED";
+        private volatile long version;
+        private volatile long properties;
+        private volatile long bytes;
+        private volatile long elapsedMillis;
+        private volatile String error;
+
+        private ExportJob(String id, PropertyExportFormat format, boolean gzip, long chunkBytes) {
+            this.id = id;
+            this.format = format;
+            this.gzip = gzip;
+            this.chunkBytes = chunkBytes;
+        }
+
+        private ExportJobDTO toDTO() {
+            return new ExportJobDTO(id, format.getFormatName(), gzip, status, version, properties, bytes,
+                    List.copyOf(files), elapsedMillis, error);
+        }
+    }
+}
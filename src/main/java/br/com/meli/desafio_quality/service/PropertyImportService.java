@@ -0,0 +1,207 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.ImportRejectionDTO;
+import br.com.meli.desafio_quality.dto.ImportReportDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.exception.DistrictNotFoundException;
+import br.com.meli.desafio_quality.repository.DistrictRepository;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.serialization.PropertyCsvParser;
+import br.com.meli.desafio_quality.serialization.PropertyImportFormat;
+import br.com.meli.desafio_quality.util.IdGenerator;
+import br.com.meli.desafio_quality.validation.PropertyDTOValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Serviço de importação em massa de propriedades a partir de NDJSON ou CSV.
+ * O arquivo é lido linha a linha e nunca é mantido inteiro em memória: as linhas são agrupadas em lotes,
+ * cada lote é convertido e validado em paralelo (com as mesmas regras do {@link PropertyDTO}) enquanto
+ * o lote seguinte é lido, e as propriedades válidas são inseridas no repositório de uma só vez.
+ * Propriedades importadas não são publicadas no feed de alterações; a sincronização incremental as recebe normalmente.
+ * Cada lote inserido é anunciado com um {@link PropertiesImportedEvent}, que mantém os índices de busca atualizados.
+ */
+@Service
+public class PropertyImportService {
+
+    /**
+     * Quantidade máxima de linhas rejeitadas detalhadas no relatório
+     */
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private static final int READ_BUFFER_CHARS = 64 * 1024;
+
+    private final PropertyRepository propertyRepository;
+    private final DistrictRepository districtRepository;
+    private final IdGenerator idGenerator;
+    private final PropertyDTOValidator propertyDTOValidator;
+    private final ObjectReader propertyReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public PropertyImportService(PropertyRepository propertyRepository, DistrictRepository districtRepository,
+                                 IdGenerator idGenerator, PropertyDTOValidator propertyDTOValidator, ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${property.import.batch-size:5000}") int batchSize) {
+        this.propertyRepository = propertyRepository;
+        this.districtRepository = districtRepository;
+        this.idGenerator = idGenerator;
+        this.propertyDTOValidator = propertyDTOValidator;
+        this.propertyReader = objectMapper.readerFor(PropertyDTO.class);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importa as propriedades do conteúdo informado. Linhas em branco são ignoradas.
+     * @param input  Conteúdo em UTF-8; não é fechado por este método
+     * @param format Formato do conteúdo
+     * @return Relatório com linhas lidas, importadas, rejeitadas e a vazão
+     */
+    public ImportReportDTO importProperties(InputStream input, PropertyImportFormat format) {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        CompletableFuture<List<ConvertedLine>> converting = CompletableFuture.completedFuture(List.of());
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8), READ_BUFFER_CHARS);
+            long lineNumber = 0;
+            List<RawLine> batch = new ArrayList<>(batchSize);
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == PropertyImportFormat.CSV && PropertyCsvParser.isHeader(line))) {
+                    continue;
+                }
+                batch.add(new RawLine(lineNumber, line));
+                if (batch.size() == batchSize) {
+                    converting = convertNext(converting, batch, format, progress);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            converting = convertNext(converting, batch, format, progress);
+            insert(converting.join(), progress);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        return new ImportReportDTO(format.getFormatName(), progress.rows, progress.imported, progress.rows - progress.imported,
+                elapsedNanos / 1_000_000, progress.rows * 1_000_000_000L / elapsedNanos, progress.rejections);
+    }
+
+    /**
+     * Aguarda a conversão do lote anterior, insere as suas propriedades e inicia a conversão do próximo lote
+     */
+    private CompletableFuture<List<ConvertedLine>> convertNext(CompletableFuture<List<ConvertedLine>> previous, List<RawLine> batch,
+                                                               PropertyImportFormat format, ImportProgress progress) {
+        insert(previous.join(), progress);
+        progress.rows += batch.size();
+        return CompletableFuture.supplyAsync(() -> batch.parallelStream()
+                .map(line -> convert(line, format))
+                .collect(Collectors.toList()));
+    }
+
+    private void insert(List<ConvertedLine> converted, ImportProgress progress) {
+        List<Property> properties = new ArrayList<>(converted.size());
+        for (ConvertedLine line : converted) {
+            if (line.property != null) {
+                properties.add(line.property);
+            } else if (progress.rejections.size() < MAX_REPORTED_REJECTIONS) {
+                progress.rejections.add(new ImportRejectionDTO(line.lineNumber, line.rejection));
+            }
+        }
+        if (!properties.isEmpty()) {
+            propertyRepository.addProperties(properties);
+            eventPublisher.publishEvent(new PropertiesImportedEvent(properties));
+            progress.imported += properties.size();
+        }
+    }
+
+    private ConvertedLine convert(RawLine line, PropertyImportFormat format) {
+        PropertyDTO propertyDTO;
+        try {
+            propertyDTO = format == PropertyImportFormat.CSV
+                    ? PropertyCsvParser.parse(line.text)
+                    : propertyReader.readValue(line.text);
+        } catch (JsonProcessingException ex) {
+            return new ConvertedLine(line.lineNumber, null, ex.getOriginalMessage());
+        } catch (IllegalArgumentException ex) {
+            return new ConvertedLine(line.lineNumber, null, ex.getMessage());
+        }
+        if (propertyDTO == null) {
+            // uma linha NDJSON com o literal null
+            return new ConvertedLine(line.lineNumber, null, "A linha não contém uma propriedade.");
+        }
+
+        String rejection = validate(propertyDTO);
+        if (rejection != null) {
+            return new ConvertedLine(line.lineNumber, null, rejection);
+        }
+        return new ConvertedLine(line.lineNumber, PropertyDTO.dtoToProperty(propertyDTO, idGenerator.nextId()), null);
+    }
+
+    /**
+     * Aplica as mesmas regras do cadastro pela API: as do {@link PropertyDTOValidator} e a existência do bairro
+     * @return Motivo da rejeição, ou {@code null} se a propriedade é válida; entre várias violações, a primeira na
+     *         ordem de declaração, a mesma informada pela API
+     */
+    private String validate(PropertyDTO propertyDTO) {
+        List<PropertyDTOValidator.Violation> violations = propertyDTOValidator.validate(propertyDTO);
+        if (!violations.isEmpty()) {
+            return violations.get(0).getMessage();
+        }
+        if (propertyDTO.getDistrict() == null || propertyDTO.getDistrict().getName() == null) {
+            return "O nome do bairro não pode estar vazio.";
+        }
+        if (propertyDTO.getRooms() == null || propertyDTO.getRooms().contains(null)) {
+            return "A lista de cômodos não pode estar vazia nem conter cômodos vazios.";
+        }
+        if (districtRepository.findDistrictByName(propertyDTO.getDistrict().getName()).isEmpty()) {
+            return new DistrictNotFoundException(propertyDTO.getDistrict().getName()).getError().getDescription();
+        }
+        return null;
+    }
+
+    @AllArgsConstructor
+    private static final class RawLine {
+        private final long lineNumber;
+        private final String text;
+    }
+
+    @AllArgsConstructor
+    private static final class ConvertedLine {
+        private final long lineNumber;
+        private final Property property;
+        private final String rejection;
+    }
+
+    /**
+     * Contadores da importação; usados apenas pela thread que lê o conteúdo
+     */
+    private static final class ImportProgress {
+        private long rows;
+        private long imported;
+        private final List<ImportRejectionDTO> rejections = new ArrayList<>();
+    }
+}
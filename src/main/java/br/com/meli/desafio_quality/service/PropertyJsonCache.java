@@ -0,0 +1,116 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.CacheStatsDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.serialization.PropertyFields;
+import br.com.meli.desafio_quality.serialization.PropertyJsonModule;
+import br.com.meli.desafio_quality.serialization.PropertyJsonWriter;
+import br.com.meli.desafio_quality.util.BoundedCache;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache dos bytes JSON de cada propriedade, limitado pelo total de bytes armazenados.
+ * A entidade é serializada diretamente pelo {@link PropertyJsonModule}, sem cópia para {@link PropertyDTO}.
+ * As propriedades armazenadas não mudam: uma alteração (como a de preço do bairro) gera uma nova
+ * instância no repositório. Por isso cada entrada guarda a instância que a originou e só é usada
+ * enquanto o repositório devolver essa mesma instância.
+ */
+@Component
+public class PropertyJsonCache {
+
+    /**
+     * Custo aproximado, em bytes, de uma entrada além do próprio JSON
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final ObjectMapper objectMapper;
+    private final BoundedCache<String, CachedJson> cache;
+    private final long maximumBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param objectMapper  ObjectMapper da aplicação, com o {@link PropertyJsonModule} registrado
+     * @param maximumBytes  Quantidade máxima de bytes mantidos em cache
+     */
+    public PropertyJsonCache(ObjectMapper objectMapper,
+                             @Value("${property.json-cache.maximum-bytes:67108864}") long maximumBytes) {
+        this.objectMapper = objectMapper;
+        this.maximumBytes = maximumBytes;
+        this.cache = new BoundedCache<>(maximumBytes, cached -> cached.json.length + ENTRY_OVERHEAD);
+    }
+
+    /**
+     * Devolve o JSON da propriedade, serializando-a apenas na primeira leitura
+     * @param property Propriedade como está armazenada no repositório
+     * @return Bytes JSON, no mesmo formato de {@link PropertyDTO}
+     */
+    public byte[] toJson(Property property) {
+        CachedJson cached = cache.getIfPresent(property.getId());
+        if (cached != null && cached.property == property) {
+            hits.increment();
+            return cached.json;
+        }
+
+        misses.increment();
+        byte[] json = serialize(property);
+        cache.put(property.getId(), new CachedJson(property, json));
+        return json;
+    }
+
+    /**
+     * Serializa apenas os campos solicitados das propriedades, em um único trecho.
+     * Projeções não são armazenadas: são baratas justamente por escreverem pouco.
+     * @param properties Propriedades a serem serializadas
+     * @param fields     Campos solicitados
+     * @param array      Se verdadeiro, escreve um array JSON; caso contrário, a única propriedade informada
+     * @return Bytes JSON
+     */
+    public byte[] toProjectedJson(List<Property> properties, PropertyFields fields, boolean array) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + properties.size() * 48);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            PropertyJsonWriter.writeProperties(gen, properties, fields, array);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    public void invalidate(String propertyId) {
+        cache.invalidate(propertyId);
+    }
+
+    /**
+     * Estatísticas de uso do cache; o tamanho e o limite são medidos em bytes
+     * @return Bytes em uso, limite, acertos, falhas e descartes por limite
+     */
+    public CacheStatsDTO getStats() {
+        return new CacheStatsDTO(cache.weight(), maximumBytes, hits.sum(), misses.sum(), cache.getEvictionCount());
+    }
+
+    private byte[] serialize(Property property) {
+        try {
+            return objectMapper.writeValueAsBytes(property);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class CachedJson {
+        private final Property property;
+        private final byte[] json;
+    }
+}
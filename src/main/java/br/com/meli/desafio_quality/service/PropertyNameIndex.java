@@ -0,0 +1,284 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.event.PropertyInsertedEvent;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.util.IntArrayList;
+import br.com.meli.desafio_quality.util.LongObjectHashMap;
+import br.com.meli.desafio_quality.util.TextNormalizer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória dos nomes das propriedades, usado pela busca por nome.
+ * Cada propriedade recebe um ordinal denso na ordem em que é indexada. Os nomes são normalizados com
+ * {@link TextNormalizer#fold(String)} (sem acentos e em minúsculas), cobrindo as letras aceitas pelo padrão do PropertyDTO.
+ * <ul>
+ *     <li>Uma trie guarda o nome a partir do início de cada palavra, de modo que "vil" encontre "Brooklyn Village";</li>
+ *     <li>Listas de trigramas (postings) encontram o texto em qualquer posição, como "okly" em "Brooklyn Village".</li>
+ * </ul>
+ * O índice é atualizado a cada cadastro e a cada lote importado. Apenas ids são devolvidos; quem consulta
+ * descarta os que não existem mais no repositório. Quando o repositório é limpo, o índice é descartado na próxima
+ * inserção ou consulta.
+ */
+@Component
+public class PropertyNameIndex {
+
+    private final PropertyRepository propertyRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private TrieNode root = new TrieNode();
+    private LongObjectHashMap<IntArrayList> trigrams = new LongObjectHashMap<>();
+    private volatile long indexedResetVersion;
+
+    public PropertyNameIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @EventListener
+    public void onPropertyInserted(PropertyInsertedEvent event) {
+        add(List.of(event.getProperty()));
+    }
+
+    @EventListener
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        add(event.getProperties());
+    }
+
+    /**
+     * Indexa os nomes das propriedades informadas
+     * @param properties Propriedades, na ordem em que foram cadastradas
+     */
+    public void add(List<Property> properties) {
+        lock.writeLock().lock();
+        try {
+            discardIfReset();
+            for (Property property : properties) {
+                int ordinal = ids.size();
+                String name = TextNormalizer.fold(property.getName());
+                ids.add(property.getId());
+                names.add(name);
+                indexWordPrefixes(name, ordinal);
+                indexTrigrams(name, ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca propriedades pelo nome. Primeiro vêm as que têm uma palavra começando pelo texto informado, em ordem
+     * alfabética; se faltarem resultados, completa com as que contêm o texto em qualquer posição, na ordem de cadastro.
+     * @param query Texto buscado; acentos, maiúsculas e espaços repetidos são ignorados
+     * @param limit Quantidade máxima de ids
+     * @return Ids das propriedades encontradas, sem repetição
+     */
+    public List<String> search(String query, int limit) {
+        String folded = TextNormalizer.fold(query);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        discardIfRepositoryReset();
+        lock.readLock().lock();
+        try {
+            Set<Integer> found = new HashSet<>();
+            List<String> result = new ArrayList<>(Math.min(limit, 16));
+
+            TrieNode node = root.find(folded);
+            if (node != null) {
+                node.collect(found, result, limit, ids);
+            }
+            if (result.size() < limit && folded.length() >= 3) {
+                collectInfix(folded, found, result, limit);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantidade de nomes indexados, incluindo propriedades já removidas do repositório
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void discardIfRepositoryReset() {
+        if (propertyRepository.getResetVersion() != indexedResetVersion) {
+            lock.writeLock().lock();
+            try {
+                discardIfReset();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Descarta o índice se o repositório foi limpo depois da última indexação; chamado com a trava de escrita
+     */
+    private void discardIfReset() {
+        long resetVersion = propertyRepository.getResetVersion();
+        if (resetVersion != indexedResetVersion) {
+            ids.clear();
+            names.clear();
+            root = new TrieNode();
+            trigrams = new LongObjectHashMap<>();
+            indexedResetVersion = resetVersion;
+        }
+    }
+
+    private void indexWordPrefixes(String name, int ordinal) {
+        for (int start = 0; start < name.length(); start++) {
+            if (start == 0 || name.charAt(start - 1) == ' ') {
+                root.insert(name, start, ordinal);
+            }
+        }
+    }
+
+    private void indexTrigrams(String name, int ordinal) {
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            long key = trigramKey(name, i);
+            IntArrayList postings = trigrams.get(key);
+            if (postings == null) {
+                postings = new IntArrayList();
+                trigrams.put(key, postings);
+            }
+            // o mesmo trigrama pode se repetir no nome; as listas ficam ordenadas e sem repetição
+            if (postings.size() == 0 || postings.get(postings.size() - 1) != ordinal) {
+                postings.add(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Percorre a intersecção das listas de todos os trigramas do texto, guiada pela menor lista, e confirma cada
+     * candidato no nome normalizado. A intersecção não é materializada: a varredura para assim que atinge o limite.
+     */
+    private void collectInfix(String folded, Set<Integer> found, List<String> result, int limit) {
+        IntArrayList[] lists = new IntArrayList[folded.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = trigrams.get(trigramKey(folded, i));
+            if (lists[i] == null) {
+                return;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+        int[] cursors = new int[lists.length];
+        IntArrayList smallest = lists[0];
+        candidates:
+        for (int i = 0; i < smallest.size(); i++) {
+            int ordinal = smallest.get(i);
+            for (int l = 1; l < lists.length; l++) {
+                cursors[l] = lists[l].advance(cursors[l], ordinal);
+                if (cursors[l] == lists[l].size()) {
+                    return;
+                }
+                if (lists[l].get(cursors[l]) != ordinal) {
+                    continue candidates;
+                }
+            }
+            if (!found.contains(ordinal) && names.get(ordinal).contains(folded)) {
+                found.add(ordinal);
+                result.add(ids.get(ordinal));
+                if (result.size() == limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static long trigramKey(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    /**
+     * Nó da trie. Os filhos ficam em vetores ordenados pelo caractere, o que mantém a busca binária
+     * e percorre os nomes em ordem alfabética.
+     */
+    private static final class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private IntArrayList ordinals;
+
+        void insert(String text, int offset, int ordinal) {
+            TrieNode node = this;
+            for (int i = offset; i < text.length(); i++) {
+                node = node.childOrCreate(text.charAt(i));
+            }
+            if (node.ordinals == null) {
+                node.ordinals = new IntArrayList(1);
+            }
+            if (node.ordinals.size() == 0 || node.ordinals.get(node.ordinals.size() - 1) != ordinal) {
+                node.ordinals.add(ordinal);
+            }
+        }
+
+        TrieNode find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                int index = Arrays.binarySearch(node.keys, prefix.charAt(i));
+                node = index >= 0 ? node.children[index] : null;
+            }
+            return node;
+        }
+
+        /**
+         * Percorre a subárvore em profundidade, adicionando os ids ainda não encontrados até atingir o limite
+         */
+        boolean collect(Set<Integer> found, List<String> result, int limit, List<String> ids) {
+            if (ordinals != null) {
+                for (int i = 0; i < ordinals.size(); i++) {
+                    if (found.add(ordinals.get(i))) {
+                        result.add(ids.get(ordinals.get(i)));
+                        if (result.size() == limit) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            for (TrieNode child : children) {
+                if (child.collect(found, result, limit, ids)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private TrieNode childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            TrieNode[] newChildren = new TrieNode[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new TrieNode();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.event.PropertyInsertedEvent;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.util.OrdinalSet;
+import br.com.meli.desafio_quality.util.TextNormalizer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido dos cômodos, bairros e quantidade de cômodos das propriedades, usado na busca por cômodos.
+ * Cada propriedade recebe um ordinal denso na ordem em que é indexada, e cada nome de cômodo (normalizado com
+ * {@link TextNormalizer#fold(String)}), bairro e quantidade de cômodos aponta para um {@link OrdinalSet} com as
+ * propriedades correspondentes. As consultas e as contagens por faceta são operações entre bitmaps; nenhuma
+ * propriedade é percorrida.
+ * Como as propriedades nunca mudam de cômodos ou de bairro, o índice só recebe inserções. Quando o repositório é
+ * limpo, o índice é descartado na próxima inserção ou consulta.
+ */
+@Component
+public class PropertyRoomIndex {
+
+    /**
+     * Quantidade máxima de nomes de cômodos na faceta de cômodos
+     */
+    public static final int MAX_ROOM_FACETS = 20;
+
+    private final PropertyRepository propertyRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> ids = new ArrayList<>();
+    private final Map<String, OrdinalSet> rooms = new HashMap<>();
+    private final Map<String, String> roomLabels = new HashMap<>();
+    private final Map<String, OrdinalSet> districts = new HashMap<>();
+    private final List<OrdinalSet> roomCounts = new ArrayList<>();
+    private volatile long indexedResetVersion;
+
+    public PropertyRoomIndex(PropertyRepository propertyRepository) {
+        this.propertyRepository = propertyRepository;
+    }
+
+    @EventListener
+    public void onPropertyInserted(PropertyInsertedEvent event) {
+        add(List.of(event.getProperty()));
+    }
+
+    @EventListener
+    public void onPropertiesImported(PropertiesImportedEvent event) {
+        add(event.getProperties());
+    }
+
+    /**
+     * Indexa os cômodos, o bairro e a quantidade de cômodos das propriedades informadas
+     * @param properties Propriedades, na ordem em que foram cadastradas
+     */
+    public void add(List<Property> properties) {
+        lock.writeLock().lock();
+        try {
+            discardIfReset();
+            for (Property property : properties) {
+                int ordinal = ids.size();
+                ids.add(property.getId());
+
+                List<Room> propertyRooms = property.getRooms() == null ? List.of() : property.getRooms();
+                for (Room room : propertyRooms) {
+                    String key = TextNormalizer.fold(room.getRoomName());
+                    rooms.computeIfAbsent(key, k -> new OrdinalSet()).add(ordinal);
+                    roomLabels.putIfAbsent(key, room.getRoomName());
+                }
+                if (property.getDistrict() != null) {
+                    districts.computeIfAbsent(property.getDistrict().getName(), k -> new OrdinalSet()).add(ordinal);
+                }
+                while (roomCounts.size() <= propertyRooms.size()) {
+                    roomCounts.add(new OrdinalSet());
+                }
+                roomCounts.get(propertyRooms.size()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca as propriedades que atendem a todos os filtros informados; filtros vazios ou nulos são ignorados.
+     * As facetas contam, entre as propriedades encontradas, quantas têm cada cômodo, cada quantidade de cômodos
+     * e cada bairro.
+     * @param allRooms Cômodos que a propriedade deve ter, todos eles
+     * @param anyRooms Cômodos dos quais a propriedade deve ter pelo menos um
+     * @param district Nome do bairro
+     * @param minRooms Quantidade mínima de cômodos
+     * @param maxRooms Quantidade máxima de cômodos
+     * @param limit    Quantidade máxima de ids devolvidos, na ordem de cadastro
+     * @return Total encontrado, ids e facetas
+     */
+    public Result search(Collection<String> allRooms, Collection<String> anyRooms, String district,
+                         Integer minRooms, Integer maxRooms, int limit) {
+        discardIfRepositoryReset();
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = new BitSet(ids.size());
+            matches.set(0, ids.size());
+
+            if (allRooms != null) {
+                for (String room : allRooms) {
+                    andWith(matches, rooms.get(TextNormalizer.fold(room)));
+                }
+            }
+            if (anyRooms != null && !anyRooms.isEmpty()) {
+                BitSet any = new BitSet(ids.size());
+                for (String room : anyRooms) {
+                    OrdinalSet postings = rooms.get(TextNormalizer.fold(room));
+                    if (postings != null) {
+                        postings.orInto(any);
+                    }
+                }
+                matches.and(any);
+            }
+            if (district != null && !district.isBlank()) {
+                andWith(matches, districts.get(district));
+            }
+            if (minRooms != null || maxRooms != null) {
+                BitSet counts = new BitSet(ids.size());
+                int from = minRooms == null ? 0 : Math.max(0, minRooms);
+                int to = maxRooms == null ? roomCounts.size() - 1 : Math.min(maxRooms, roomCounts.size() - 1);
+                for (int count = from; count <= to; count++) {
+                    roomCounts.get(count).orInto(counts);
+                }
+                matches.and(counts);
+            }
+
+            List<String> matchedIds = new ArrayList<>(Math.min(limit, 64));
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0 && matchedIds.size() < limit; ordinal = matches.nextSetBit(ordinal + 1)) {
+                matchedIds.add(ids.get(ordinal));
+            }
+            long[] matchWords = matches.toLongArray();
+            return new Result(matches.cardinality(), matchedIds, roomFacets(matchWords), roomCountFacets(matchWords), districtFacets(matchWords));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nomes de cômodos mais frequentes entre as propriedades encontradas, com o nome como foi cadastrado pela primeira vez
+     */
+    private Map<String, Integer> roomFacets(long[] matches) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        rooms.forEach((key, postings) -> {
+            int count = postings.andCardinality(matches);
+            if (count > 0) {
+                counts.add(Map.entry(roomLabels.get(key), count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        counts.stream().limit(MAX_ROOM_FACETS).forEach(entry -> facets.put(entry.getKey(), entry.getValue()));
+        return facets;
+    }
+
+    private Map<Integer, Integer> roomCountFacets(long[] matches) {
+        Map<Integer, Integer> facets = new LinkedHashMap<>();
+        for (int count = 0; count < roomCounts.size(); count++) {
+            int cardinality = roomCounts.get(count).andCardinality(matches);
+            if (cardinality > 0) {
+                facets.put(count, cardinality);
+            }
+        }
+        return facets;
+    }
+
+    private Map<String, Integer> districtFacets(long[] matches) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        districts.forEach((name, postings) -> {
+            int count = postings.andCardinality(matches);
+            if (count > 0) {
+                counts.add(Map.entry(name, count));
+            }
+        });
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> facets = new LinkedHashMap<>();
+        counts.forEach(entry -> facets.put(entry.getKey(), entry.getValue()));
+        return facets;
+    }
+
+    private static void andWith(BitSet matches, OrdinalSet postings) {
+        if (postings == null) {
+            matches.clear();
+        } else {
+            postings.andInto(matches);
+        }
+    }
+
+    private void discardIfRepositoryReset() {
+        if (propertyRepository.getResetVersion() != indexedResetVersion) {
+            lock.writeLock().lock();
+            try {
+                discardIfReset();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Descarta o índice se o repositório foi limpo depois da última indexação; chamado com a trava de escrita
+     */
+    private void discardIfReset() {
+        long resetVersion = propertyRepository.getResetVersion();
+        if (resetVersion != indexedResetVersion) {
+            ids.clear();
+            rooms.clear();
+            roomLabels.clear();
+            districts.clear();
+            roomCounts.clear();
+            indexedResetVersion = resetVersion;
+        }
+    }
+
+    /**
+     * Resultado de uma busca por cômodos
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final int total;
+        private final List<String> ids;
+        private final Map<String, Integer> roomFacets;
+        private final Map<Integer, Integer> roomCountFacets;
+        private final Map<String, Integer> districtFacets;
+    }
+}
@@ -1,19 +1,38 @@
 package br.com.meli.desafio_quality.service;
 
 import br.com.meli.desafio_quality.dto.*;
+import br.com.meli.desafio_quality.entity.District;
 import br.com.meli.desafio_quality.entity.Property;
 import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.event.DistrictPriceChangedEvent;
+import br.com.meli.desafio_quality.event.PropertyInsertedEvent;
+import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
+import br.com.meli.desafio_quality.jfr.PropertyCalculationEvent;
+import br.com.meli.desafio_quality.repository.PropertyChangePage;
 import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.serialization.PropertyCborSerializer;
+import br.com.meli.desafio_quality.serialization.PropertyFields;
+import br.com.meli.desafio_quality.util.IdGenerator;
+import br.com.meli.desafio_quality.util.ServerTiming;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Classe Service responsável pelos serviços do recurso Property
@@ -41,14 +60,108 @@ public class PropertyService {
     private DistrictService districtService;
 
     /**
-     * Insere uma nova propriedade
+     * {@link IdGenerator Gerador} dos ids das novas propriedades
+     */
+    @Autowired
+    private IdGenerator idGenerator;
+
+    /**
+     * {@link PropertyCalculationCache Cache} dos resultados dos cálculos
+     */
+    @Autowired
+    private PropertyCalculationCache calculationCache;
+
+    /**
+     * {@link CalculationCoalescer Agrupador} de cálculos concorrentes idênticos
+     */
+    @Autowired
+    private CalculationCoalescer calculationCoalescer;
+
+    /**
+     * {@link PropertyJsonCache Cache} do JSON já serializado de cada propriedade
+     */
+    @Autowired
+    private PropertyJsonCache propertyJsonCache;
+
+    /**
+     * {@link PropertyCborSerializer Serializador} da representação binária (CBOR) das propriedades
+     */
+    @Autowired
+    private PropertyCborSerializer propertyCborSerializer;
+
+    /**
+     * {@link ApplicationEventPublisher Publisher} dos eventos de cadastro de propriedade
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * {@link PropertyNameIndex Índice} dos nomes das propriedades, usado na busca por nome
+     */
+    @Autowired
+    private PropertyNameIndex propertyNameIndex;
+
+    /**
+     * {@link PropertyRoomIndex Índice} dos cômodos das propriedades, usado na busca por cômodos
+     */
+    @Autowired
+    private PropertyRoomIndex propertyRoomIndex;
+
+    /**
+     * {@link PropertyComparablesIndex Índice} espacial usado na busca de propriedades comparáveis
+     */
+    @Autowired
+    private PropertyComparablesIndex propertyComparablesIndex;
+
+    /**
+     * Quantidade máxima de propriedades por consulta de alterações
+     */
+    public static final int MAX_CHANGES_LIMIT = 1000;
+
+    /**
+     * Quantidade máxima de resultados por busca por nome ou por cômodos
+     */
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    /**
+     * Quantidade máxima de propriedades comparáveis por consulta
+     */
+    public static final int MAX_COMPARABLES = 50;
+
+    /**
+     * Identifica esta instância nas ETags; as versões do repositório recomeçam a cada inicialização
+     */
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * Insere uma nova propriedade e publica um {@link PropertyInsertedEvent}
      * @param propertyDTO Uma propriedade
      * @return Propriedade inserida
      */
     public PropertyDTO insertProperty(PropertyDTO propertyDTO) {
         districtService.findDistrict(propertyDTO.getDistrict().getName());
 
-        return PropertyDTO.propertyToDTO(propertyRepository.addProperty(PropertyDTO.dtoToProperty(propertyDTO)));
+        Property property = propertyRepository.addProperty(PropertyDTO.dtoToProperty(propertyDTO, idGenerator.nextId()));
+        eventPublisher.publishEvent(new PropertyInsertedEvent(property));
+        return PropertyDTO.propertyToDTO(property);
+    }
+
+    /**
+     * ETag da lista de propriedades, derivada da versão atual do repositório
+     * @return ETag forte, sem aspas
+     */
+    public String getPropertiesETag() {
+        return instanceTag + "-" + propertyRepository.getVersion();
+    }
+
+    /**
+     * ETag de uma propriedade e dos cálculos feitos sobre ela, derivada da versão da propriedade
+     * @param propertyId Id da propriedade
+     * @return ETag forte, sem aspas, ou vazio se a propriedade não existir
+     */
+    public Optional<String> getPropertyETag(String propertyId) {
+        OptionalLong version = propertyRepository.getPropertyVersion(propertyId);
+        return version.isPresent() ? Optional.of(instanceTag + "-" + version.getAsLong()) : Optional.empty();
     }
 
     /**
@@ -59,12 +172,212 @@ public class PropertyService {
         return propertyRepository.getAllProperties().stream().map(PropertyDTO::propertyToDTO).collect(Collectors.toList());
     }
 
+    /**
+     * Busca propriedades pelo nome, por início de palavra ou por trecho do nome, ignorando acentos e maiúsculas
+     * @param query Texto buscado
+     * @param limit Quantidade máxima de resultados, entre 1 e {@value #MAX_SEARCH_LIMIT}
+     * @return Id e nome das propriedades encontradas
+     */
+    public List<PropertyNameDTO> searchByName(String query, int limit) {
+        List<PropertyNameDTO> result = new ArrayList<>();
+        List<String> ids = ServerTiming.time(ServerTiming.Phase.INDEX,
+                () -> propertyNameIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT))));
+        for (String id : ids) {
+            propertyRepository.findPropertyById(id).ifPresent(property -> result.add(new PropertyNameDTO(property.getId(), property.getName())));
+        }
+        return result;
+    }
+
+    /**
+     * Busca propriedades pelos cômodos, bairro e quantidade de cômodos, com as contagens por faceta
+     * @param allRooms Cômodos que a propriedade deve ter, todos eles
+     * @param anyRooms Cômodos dos quais a propriedade deve ter pelo menos um
+     * @param district Nome do bairro
+     * @param minRooms Quantidade mínima de cômodos
+     * @param maxRooms Quantidade máxima de cômodos
+     * @param limit    Quantidade máxima de propriedades, entre 1 e {@value #MAX_SEARCH_LIMIT}
+     * @return Total encontrado, as primeiras propriedades na ordem de cadastro e as facetas
+     */
+    public RoomSearchResultDTO searchByRooms(List<String> allRooms, List<String> anyRooms, String district,
+                                             Integer minRooms, Integer maxRooms, int limit) {
+        PropertyRoomIndex.Result result = ServerTiming.time(ServerTiming.Phase.INDEX, () -> propertyRoomIndex.search(
+                allRooms, anyRooms, district, minRooms, maxRooms, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT))));
+
+        List<PropertyDTO> properties = new ArrayList<>(result.getIds().size());
+        for (String id : result.getIds()) {
+            propertyRepository.findPropertyById(id).ifPresent(property -> properties.add(PropertyDTO.propertyToDTO(property)));
+        }
+        return new RoomSearchResultDTO(result.getTotal(), properties, result.getRoomFacets(), result.getRoomCountFacets(),
+                result.getDistrictFacets());
+    }
+
+    /**
+     * Busca as propriedades mais parecidas com uma propriedade em área total, quantidade de cômodos, área do maior
+     * cômodo e valor do metro quadrado do bairro. Bairros com valor do metro quadrado próximo contam como vizinhos.
+     * @param propertyId   Id da propriedade de referência
+     * @param k            Quantidade de propriedades, entre 1 e {@value #MAX_COMPARABLES}
+     * @param sameDistrict Se apenas propriedades do mesmo bairro devem ser consideradas
+     * @return Propriedades comparáveis, da mais parecida para a menos parecida
+     */
+    public List<ComparablePropertyDTO> getComparables(String propertyId, int k, boolean sameDistrict) {
+        Property reference = propertyRepository.getProperty(propertyId);
+
+        List<ComparablePropertyDTO> comparables = new ArrayList<>();
+        List<PropertyComparablesIndex.Match> matches = ServerTiming.time(ServerTiming.Phase.INDEX,
+                () -> propertyComparablesIndex.nearest(reference, Math.max(1, Math.min(k, MAX_COMPARABLES)), sameDistrict));
+        for (PropertyComparablesIndex.Match match : matches) {
+            propertyRepository.findPropertyById(match.getId()).ifPresent(property -> comparables.add(new ComparablePropertyDTO(
+                    property.getId(), property.getName(), property.getDistrict().getName(), property.getDistrict().getValueDistrictM2(),
+                    match.getFeatures()[PropertyComparablesIndex.TOTAL_AREA],
+                    (int) match.getFeatures()[PropertyComparablesIndex.ROOM_COUNT],
+                    match.getFeatures()[PropertyComparablesIndex.LARGEST_ROOM_AREA],
+                    match.getDistance())));
+        }
+        return comparables;
+    }
+
+    /**
+     * Obtém as propriedades cadastradas ou alteradas depois de uma versão, para a sincronização incremental de réplicas
+     * @param since Versão já conhecida pelo cliente (o {@code nextSince} da consulta anterior); zero para começar do início
+     * @param limit Quantidade máxima de propriedades, entre 1 e {@value #MAX_CHANGES_LIMIT}
+     * @return Propriedades alteradas, a versão para a próxima consulta e se a réplica deve ser descartada
+     */
+    public PropertyChangesDTO getChangesSince(long since, int limit) {
+        PropertyChangePage page = propertyRepository.getChangesSince(Math.max(0, since),
+                Math.max(1, Math.min(limit, MAX_CHANGES_LIMIT)));
+
+        return new PropertyChangesDTO(page.getProperties().stream().map(PropertyDTO::propertyToDTO).collect(Collectors.toList()),
+                page.getNextSince(), page.isReset(), page.isHasMore());
+    }
+
+    /**
+     * Aplica o novo valor do metro quadrado às propriedades do bairro e descarta os cálculos e o JSON já gerados para elas
+     * @param event Bairro alterado e o novo valor do metro quadrado
+     */
+    @EventListener
+    public void onDistrictPriceChanged(DistrictPriceChangedEvent event) {
+        District district = new District(event.getDistrictName(), event.getValueDistrictM2());
+
+        propertyRepository.repriceDistrict(district).forEach(property -> {
+            calculationCache.invalidate(property.getId());
+            propertyJsonCache.invalidate(property.getId());
+        });
+    }
+
+    /**
+     * Devolve o resultado em cache ou executa o cálculo, agrupando chamadas concorrentes para a mesma propriedade.
+     * A versão é lida antes do cálculo, que por isso usa a mesma versão ou uma mais nova: o resultado nunca é mais
+     * antigo que a ETag enviada com ele, nem no intervalo entre uma alteração e a invalidação do cache.
+     * @param propertyId Id da propriedade
+     * @param metric     Cálculo desejado
+     * @param calculation Executa o cálculo
+     * @return Resultado do cálculo
+     */
+    private <T> T calculate(String propertyId, CalculationMetric metric, Supplier<T> calculation) {
+        OptionalLong version = propertyRepository.getPropertyVersion(propertyId);
+        if (version.isEmpty()) {
+            // propriedade inexistente: o cálculo lança PropertyNotFoundException
+            return calculation.get();
+        }
+        long current = version.getAsLong();
+        return calculationCache.get(propertyId, current, metric,
+                () -> calculationCoalescer.execute(propertyId, current, metric, calculation));
+    }
+
+    /**
+     * Variante sem bloqueio de {@link #calculate(String, CalculationMetric, Supplier)}: chamadas que chegam durante
+     * um cálculo idêntico recebem o futuro dele em vez de aguardá-lo
+     * @param propertyId Id da propriedade
+     * @param metric     Cálculo desejado
+     * @param calculation Executa o cálculo
+     * @return Futuro com o resultado do cálculo
+     */
+    private <T> CompletableFuture<T> calculateAsync(String propertyId, CalculationMetric metric, Supplier<T> calculation) {
+        OptionalLong version = propertyRepository.getPropertyVersion(propertyId);
+        if (version.isEmpty()) {
+            try {
+                return CompletableFuture.completedFuture(calculation.get());
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        long current = version.getAsLong();
+        T cached = calculationCache.getIfPresent(propertyId, current, metric);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return calculationCoalescer.executeAsync(propertyId, current, metric,
+                () -> calculationCache.get(propertyId, current, metric, calculation));
+    }
+
+    /**
+     * Obtém a lista de propriedades já serializada em JSON. A representação completa reaproveita os bytes
+     * de cada propriedade; uma projeção serializa apenas os campos solicitados.
+     * @param fields Campos solicitados
+     * @return Array JSON com as propriedades, no mesmo formato de {@link #getAllProperties()}
+     */
+    public PreSerializedJson getAllPropertiesJson(PropertyFields fields) {
+        List<Property> properties = propertyRepository.getAllProperties();
+        return ServerTiming.time(ServerTiming.Phase.SERIALIZATION, () -> fields.isAll()
+                ? PreSerializedJson.arrayOf(properties.stream().map(propertyJsonCache::toJson).collect(Collectors.toList()))
+                : PreSerializedJson.single(propertyJsonCache.toProjectedJson(properties, fields, true)));
+    }
+
+    /**
+     * Percorre as propriedades serializadas em JSON, uma a uma. A lista de referências às propriedades é copiada do
+     * repositório de uma vez, ao chamar o método, pois a ordem de cadastro atravessa os shards; apenas a serialização
+     * (ou a leitura do cache) de cada propriedade é adiada até o elemento ser consumido, sem montar o JSON inteiro
+     * @param fields Campos solicitados
+     * @return JSON de cada propriedade, na ordem de cadastro e no mesmo formato de {@link #getPropertyJson(String, PropertyFields)}
+     */
+    public Stream<byte[]> streamAllPropertiesJson(PropertyFields fields) {
+        Stream<Property> properties = propertyRepository.getAllProperties().stream();
+        if (!fields.isAll()) {
+            return properties.map(property -> propertyJsonCache.toProjectedJson(List.of(property), fields, false));
+        }
+        return properties.map(propertyJsonCache::toJson);
+    }
+
+    /**
+     * Obtém uma propriedade já serializada em JSON
+     * @param propertyId Id da propriedade
+     * @param fields     Campos solicitados
+     * @return JSON da propriedade, no mesmo formato de {@link PropertyDTO}
+     */
+    public PreSerializedJson getPropertyJson(String propertyId, PropertyFields fields) {
+        Property property = propertyRepository.getProperty(propertyId);
+        return ServerTiming.time(ServerTiming.Phase.SERIALIZATION, () -> PreSerializedJson.single(fields.isAll()
+                ? propertyJsonCache.toJson(property)
+                : propertyJsonCache.toProjectedJson(List.of(property), fields, false)));
+    }
+
+    /**
+     * Obtém a lista de propriedades em CBOR, com os mesmos campos de {@link #getAllPropertiesJson(PropertyFields)}
+     * @param fields Campos solicitados
+     * @return Array CBOR com as propriedades
+     */
+    public byte[] getAllPropertiesCbor(PropertyFields fields) {
+        List<Property> properties = propertyRepository.getAllProperties();
+        return ServerTiming.time(ServerTiming.Phase.SERIALIZATION, () -> propertyCborSerializer.toCbor(properties, fields, true));
+    }
+
+    /**
+     * Obtém uma propriedade em CBOR, com os mesmos campos de {@link #getPropertyJson(String, PropertyFields)}
+     * @param propertyId Id da propriedade
+     * @param fields     Campos solicitados
+     * @return Propriedade em CBOR
+     */
+    public byte[] getPropertyCbor(String propertyId, PropertyFields fields) {
+        Property property = propertyRepository.getProperty(propertyId);
+        return ServerTiming.time(ServerTiming.Phase.SERIALIZATION, () -> propertyCborSerializer.toCbor(List.of(property), fields, false));
+    }
+
     /**
      * Calcula a área de um cômodo
      * @param room Cômodo informado para o cálculo da área
      * @return Área do cômodo informado
      */
-    private Double calculateRoomArea(Room room) {
+    static Double calculateRoomArea(Room room) {
         return room.getRoomLength() * room.getRoomWidth();
     }
 
@@ -75,7 +388,17 @@ public class PropertyService {
      */
     private BigDecimal calculatePropertyPrice(Property property) {
 
-         return property.getDistrict().getValueDistrictM2().multiply(BigDecimal.valueOf(calculateTotalArea(property.getId()).getTotalArea()));
+         return property.getDistrict().getValueDistrictM2().multiply(BigDecimal.valueOf(calculateTotalArea(property)));
+    }
+
+    /**
+     * Soma as áreas dos cômodos de uma propriedade
+     * @param property Propriedade informada para o cálculo da área
+     * @return Área total da propriedade informada
+     */
+    private static Double calculateTotalArea(Property property) {
+        return property.getRooms().stream()
+                .reduce(0.0, (acc, currentRoom) -> acc + calculateRoomArea(currentRoom), Double::sum);
     }
 
     /**
@@ -84,12 +407,21 @@ public class PropertyService {
      * @return Área total da propriedade informada
      */
     public PropertyTotalAreaDTO calculateTotalArea(String id) {
-        Property property = propertyRepository.getProperty(id);
+        return calculate(id, CalculationMetric.TOTAL_AREA, () -> totalArea(id));
+    }
 
-        Double totalPropertyArea = property.getRooms().stream()
-                .reduce(0.0, (acc, currentRoom) -> acc + calculateRoomArea(currentRoom), Double::sum);
+    /**
+     * Variante sem bloqueio de {@link #calculateTotalArea(String)}
+     * @param id Id da propriedade que terá área total calculada
+     * @return Futuro com a área total da propriedade informada
+     */
+    public CompletableFuture<PropertyTotalAreaDTO> calculateTotalAreaAsync(String id) {
+        return calculateAsync(id, CalculationMetric.TOTAL_AREA, () -> totalArea(id));
+    }
 
-        return new PropertyTotalAreaDTO(id, property.getName(), totalPropertyArea);
+    private PropertyTotalAreaDTO totalArea(String id) {
+        return compute(id, CalculationMetric.TOTAL_AREA,
+                property -> new PropertyTotalAreaDTO(id, property.getName(), calculateTotalArea(property)));
     }
 
     /**
@@ -98,11 +430,24 @@ public class PropertyService {
      * @return Maior cômodo da propriedade informada
      */
     public LargestRoomAreaDTO findLargestRoom(String propertyId) {
-        Property property = propertyRepository.getProperty(propertyId);
+        return calculate(propertyId, CalculationMetric.LARGEST_ROOM, () -> largestRoom(propertyId));
+    }
+
+    /**
+     * Variante sem bloqueio de {@link #findLargestRoom(String)}
+     * @param propertyId Id da propriedade que terá o maior cômodo buscado
+     * @return Futuro com o maior cômodo da propriedade informada
+     */
+    public CompletableFuture<LargestRoomAreaDTO> findLargestRoomAsync(String propertyId) {
+        return calculateAsync(propertyId, CalculationMetric.LARGEST_ROOM, () -> largestRoom(propertyId));
+    }
 
-        Room room = property.getRooms().stream().max(Comparator.comparing(this::calculateRoomArea)).orElse(new Room());
+    private LargestRoomAreaDTO largestRoom(String propertyId) {
+        return compute(propertyId, CalculationMetric.LARGEST_ROOM, property -> {
+            Room room = property.getRooms().stream().max(Comparator.comparing(PropertyService::calculateRoomArea)).orElse(new Room());
 
-        return new LargestRoomAreaDTO(property.getName(), room.getRoomName(), calculateRoomArea(room));
+            return new LargestRoomAreaDTO(property.getName(), room.getRoomName(), calculateRoomArea(room));
+        });
     }
 
     /**
@@ -111,13 +456,25 @@ public class PropertyService {
      * @return Áreas dos cômodos da propriedade informada
      */
     public RoomAreasDTO calculateAreaRooms(String propertyId) {
-        Property property = propertyRepository.getProperty(propertyId);
+        return calculate(propertyId, CalculationMetric.ROOM_AREAS, () -> roomAreas(propertyId));
+    }
 
-        Map<String, Double> roomsMap = new HashMap<>();
-        property.getRooms().forEach(room -> roomsMap.put(room.getRoomName(), calculateRoomArea(room)));
+    /**
+     * Variante sem bloqueio de {@link #calculateAreaRooms(String)}
+     * @param propertyId Id da propriedade que terá a área dos cômodos calculada
+     * @return Futuro com as áreas dos cômodos da propriedade informada
+     */
+    public CompletableFuture<RoomAreasDTO> calculateAreaRoomsAsync(String propertyId) {
+        return calculateAsync(propertyId, CalculationMetric.ROOM_AREAS, () -> roomAreas(propertyId));
+    }
 
-        return new RoomAreasDTO(roomsMap);
+    private RoomAreasDTO roomAreas(String propertyId) {
+        return compute(propertyId, CalculationMetric.ROOM_AREAS, property -> {
+            Map<String, Double> roomsMap = new HashMap<>();
+            property.getRooms().forEach(room -> roomsMap.put(room.getRoomName(), calculateRoomArea(room)));
 
+            return new RoomAreasDTO(roomsMap);
+        });
     }
 
     /**
@@ -126,7 +483,47 @@ public class PropertyService {
      * @return Preço da propriedade informada
      */
     public PropertyPriceDTO calculateProperty(String propertyId) {
-        Property property = propertyRepository.getProperty(propertyId);
-        return new PropertyPriceDTO(property.getName(), calculatePropertyPrice(property));
+        return calculate(propertyId, CalculationMetric.PRICE, () -> price(propertyId));
+    }
+
+    /**
+     * Variante sem bloqueio de {@link #calculateProperty(String)}
+     * @param propertyId Id da propriedade que terá o preço calculado
+     * @return Futuro com o preço da propriedade informada
+     */
+    public CompletableFuture<PropertyPriceDTO> calculatePropertyAsync(String propertyId) {
+        return calculateAsync(propertyId, CalculationMetric.PRICE, () -> price(propertyId));
+    }
+
+    private PropertyPriceDTO price(String propertyId) {
+        return compute(propertyId, CalculationMetric.PRICE,
+                property -> new PropertyPriceDTO(property.getName(), calculatePropertyPrice(property)));
+    }
+
+    /**
+     * Busca a propriedade e executa um cálculo sobre ela, fora do cache, medindo o cálculo na fase calculation do
+     * {@link ServerTiming} e registrando um {@link PropertyCalculationEvent} com o resultado
+     * @param propertyId  Id da propriedade
+     * @param metric      Cálculo executado
+     * @param calculation Cálculo sobre a propriedade encontrada
+     * @return Resultado do cálculo
+     */
+    private <T> T compute(String propertyId, CalculationMetric metric, Function<Property, T> calculation) {
+        PropertyCalculationEvent event = new PropertyCalculationEvent(metric.name(), propertyId);
+        event.begin();
+        Property property = null;
+        try {
+            property = propertyRepository.getProperty(propertyId);
+            Property found = property;
+            T result = ServerTiming.time(ServerTiming.Phase.CALCULATION, () -> calculation.apply(found));
+            event.record(PropertyCalculationEvent.OK, property);
+            return result;
+        } catch (PropertyNotFoundException ex) {
+            event.record(PropertyCalculationEvent.NOT_FOUND, null);
+            throw ex;
+        } catch (RuntimeException ex) {
+            event.record(PropertyCalculationEvent.ERROR, property);
+            throw ex;
+        }
     }
 }
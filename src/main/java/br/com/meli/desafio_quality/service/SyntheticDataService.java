@@ -0,0 +1,101 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.repository.DistrictRepository;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.util.IdGenerator;
+import br.com.meli.desafio_quality.util.SyntheticPropertyGenerator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Serviço que semeia o repositório com dados do {@link SyntheticPropertyGenerator} ou os grava em NDJSON, no
+ * mesmo formato aceito pela importação em massa ({@link PropertyImportService}).
+ * As propriedades são geradas em lotes, em paralelo, e inseridas como na importação: sem passar pelo feed de
+ * alterações e com um {@link PropertiesImportedEvent} por lote para os índices de busca.
+ */
+@Service
+public class SyntheticDataService {
+
+    private final PropertyRepository propertyRepository;
+    private final DistrictRepository districtRepository;
+    private final IdGenerator idGenerator;
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter propertyWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public SyntheticDataService(PropertyRepository propertyRepository, DistrictRepository districtRepository,
+                                IdGenerator idGenerator, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                                @Value("${property.import.batch-size:5000}") int batchSize) {
+        this.propertyRepository = propertyRepository;
+        this.districtRepository = districtRepository;
+        this.idGenerator = idGenerator;
+        this.jsonFactory = objectMapper.getFactory();
+        this.propertyWriter = objectMapper.writerFor(PropertyDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Cadastra os bairros do gerador; bairros já existentes mantêm o valor atual
+     */
+    public void seedDistricts(SyntheticPropertyGenerator generator) {
+        districtRepository.addDistricts(generator.districts().stream()
+                .map(DistrictDTO::dtoToDistrict)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Cadastra os bairros e as primeiras {@code count} propriedades do gerador. Os ids são atribuídos na ordem dos
+     * índices, de modo que a listagem devolve as propriedades na ordem de geração.
+     * @return Quantidade de propriedades inseridas
+     */
+    public long seedProperties(SyntheticPropertyGenerator generator, long count) {
+        seedDistricts(generator);
+        for (long from = 0; from < count; from += batchSize) {
+            List<PropertyDTO> batch = LongStream.range(from, Math.min(count, from + batchSize))
+                    .parallel()
+                    .mapToObj(generator::property)
+                    .collect(Collectors.toList());
+            List<Property> properties = new ArrayList<>(batch.size());
+            for (PropertyDTO propertyDTO : batch) {
+                properties.add(PropertyDTO.dtoToProperty(propertyDTO, idGenerator.nextId()));
+            }
+            propertyRepository.addProperties(properties);
+            eventPublisher.publishEvent(new PropertiesImportedEvent(properties));
+        }
+        return count;
+    }
+
+    /**
+     * Grava as primeiras {@code count} propriedades do gerador em NDJSON, sem ids
+     * @param output Destino; não é fechado por este método
+     */
+    public void writeNdjson(SyntheticPropertyGenerator generator, long count, OutputStream output) throws IOException {
+        try (JsonGenerator json = jsonFactory.createGenerator(output)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            for (long index = 0; index < count; index++) {
+                propertyWriter.writeValue(json, generator.property(index));
+                json.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.meli.desafio_quality.util;
+
+import br.com.meli.desafio_quality.dto.ConcurrencyLimitStatsDTO;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite adaptativo de requisições simultâneas, ajustado pela latência observada (algoritmo de gradiente).
+ * <p>
+ * São mantidas duas médias móveis da latência: uma curta, que acompanha a situação atual, e uma longa, que representa
+ * a latência sem fila. O gradiente {@code longa / curta} fica próximo de 1 enquanto não há fila e cai quando a latência
+ * sobe; a cada amostra o novo limite é {@code limite * gradiente + sqrt(limite)}, suavizado. Assim o limite cresce
+ * devagar enquanto a latência está estável e recua assim que requisições começam a esperar.
+ * O limite só cresce quando está sendo usado: com menos da metade das vagas ocupadas, a amostra não o altera.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Tolerância da latência curta em relação à longa antes de o gradiente reduzir o limite
+     */
+    static final double TOLERANCE = 1.5;
+    static final double SMOOTHING = 0.2;
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private final Object lock = new Object();
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private long increases;
+    private long decreases;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+
+    /**
+     * Reserva uma vaga, se houver
+     * @return Vaga reservada, que deve ser liberada ao fim da requisição, ou {@code null} se o limite foi atingido
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    /**
+     * Atualiza o limite com uma amostra de latência
+     * @param rttNanos Latência da requisição
+     * @param inFlightAtStart Requisições simultâneas quando ela começou, incluindo ela
+     */
+    void update(long rttNanos, int inFlightAtStart) {
+        synchronized (lock) {
+            if (longRttNanos == 0) {
+                shortRttNanos = rttNanos;
+                longRttNanos = rttNanos;
+                return;
+            }
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+            // depois de um período de fila, a média longa também sobe; ela é puxada de volta quando a fila acaba
+            if (longRttNanos > 2 * shortRttNanos) {
+                longRttNanos *= 0.95;
+            }
+            if (inFlightAtStart < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+            double target = limit * gradient + Math.sqrt(limit);
+            double next = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+            if ((int) next > (int) limit) {
+                increases++;
+            } else if ((int) next < (int) limit) {
+                decreases++;
+            }
+            limit = next;
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Estatísticas do limitador
+     * @return Limite atual e faixa, requisições em andamento, aceitas, recusadas, aumentos e reduções do limite e latências
+     */
+    public ConcurrencyLimitStatsDTO getStats() {
+        synchronized (lock) {
+            return new ConcurrencyLimitStatsDTO(name, (int) limit, minLimit, maxLimit, inFlight.get(), accepted.sum(), rejected.sum(),
+                    increases, decreases, (long) shortRttNanos / 1000, (long) longRttNanos / 1000);
+        }
+    }
+
+    /**
+     * Vaga reservada; liberá-la mais de uma vez não tem efeito
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Libera a vaga e usa a latência da requisição para ajustar o limite
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                update(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+        }
+    }
+}
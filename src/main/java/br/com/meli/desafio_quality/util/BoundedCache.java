@@ -0,0 +1,238 @@
+package br.com.meli.desafio_quality.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache em memória limitado por quantidade de entradas (ou pelo peso total delas), com descarte do
+ * item usado há mais tempo (LRU).
+ * As entradas são distribuídas em segmentos independentes, cada um com o seu próprio lock, para que
+ * leituras concorrentes de chaves diferentes não disputem um lock único.
+ *
+ * @param <K> Tipo das chaves
+ * @param <V> Tipo dos valores
+ */
+public class BoundedCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize Quantidade máxima de entradas
+     */
+    public BoundedCache(int maximumSize) {
+        this(maximumSize, value -> 1);
+    }
+
+    /**
+     * @param maximumWeight Peso total máximo das entradas
+     * @param weigher       Calcula o peso de um valor (por exemplo, o seu tamanho em bytes)
+     */
+    public BoundedCache(long maximumWeight, ToIntFunction<? super V> weigher) {
+        this(maximumWeight, weigher, (int) Math.min(16, Long.highestOneBit(Math.max(1, maximumWeight / 64))));
+    }
+
+    /**
+     * @param maximumWeight Peso total máximo das entradas
+     * @param weigher       Calcula o peso de um valor
+     * @param segmentCount  Quantidade de segmentos, potência de dois
+     */
+    public BoundedCache(long maximumWeight, ToIntFunction<? super V> weigher, int segmentCount) {
+        if (maximumWeight <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("Tamanho máximo deve ser positivo e a quantidade de segmentos uma potência de dois.");
+        }
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        this.segments = segments;
+        long segmentWeight = Math.max(1, maximumWeight / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentWeight, weigher, evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Busca um valor sem calculá-lo
+     * @param key Chave buscada
+     * @return Valor em cache ou {@code null}
+     */
+    public V getIfPresent(K key) {
+        V value = segmentFor(key).get(key);
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    /**
+     * Busca um valor, calculando e armazenando-o quando ausente. O cálculo é feito fora do lock,
+     * então chamadas concorrentes para a mesma chave podem calculá-lo mais de uma vez.
+     * @param key     Chave buscada
+     * @param loader  Função que calcula o valor ausente
+     * @return Valor em cache ou recém calculado
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        segmentFor(key).put(key, value);
+    }
+
+    /**
+     * Armazena o valor apenas se a chave estiver ausente, de forma atômica em relação às demais operações na chave
+     * @param key   Chave
+     * @param value Valor a ser armazenado
+     * @return Valor já existente, ou {@code null} se o valor informado foi armazenado
+     */
+    public V putIfAbsent(K key, V value) {
+        return segmentFor(key).putIfAbsentWeighted(key, value);
+    }
+
+    /**
+     * Substitui o valor apenas se a chave ainda estiver associada ao valor esperado (comparado por identidade)
+     * @param key      Chave
+     * @param expected Valor que deve estar armazenado
+     * @param value    Novo valor
+     * @return Se o valor foi substituído
+     */
+    public boolean replace(K key, V expected, V value) {
+        return segmentFor(key).replaceWeighted(key, expected, value);
+    }
+
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Peso total das entradas; igual a {@link #size()} quando o cache é limitado por quantidade
+     * @return Soma dos pesos
+     */
+    public long weight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & segmentMask];
+    }
+
+    /**
+     * Segmento do cache: um {@link LinkedHashMap} em ordem de acesso protegido pelo próprio monitor.
+     * Após cada inserção, as entradas usadas há mais tempo são descartadas até o peso voltar ao limite.
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+        private final long maximumWeight;
+        private final ToIntFunction<? super V> weigher;
+        private final LongAdder evictions;
+        private long weight;
+
+        private Segment(long maximumWeight, ToIntFunction<? super V> weigher, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            this.evictions = evictions;
+        }
+
+        @Override
+        public synchronized V get(Object key) {
+            return super.get(key);
+        }
+
+        @Override
+        public synchronized V put(K key, V value) {
+            V previous = super.put(key, value);
+            weight += weigher.applyAsInt(value) - (previous != null ? weigher.applyAsInt(previous) : 0);
+
+            Iterator<V> eldest = values().iterator();
+            while (weight > maximumWeight && super.size() > 1) {
+                weight -= weigher.applyAsInt(eldest.next());
+                eldest.remove();
+                evictions.increment();
+            }
+            return previous;
+        }
+
+        /**
+         * {@link LinkedHashMap#putIfAbsent} não passa por {@link #put}, que mantém o peso e aplica o descarte
+         */
+        private synchronized V putIfAbsentWeighted(K key, V value) {
+            V existing = super.get(key);
+            if (existing == null) {
+                put(key, value);
+            }
+            return existing;
+        }
+
+        private synchronized boolean replaceWeighted(K key, V expected, V value) {
+            if (super.get(key) != expected) {
+                return false;
+            }
+            put(key, value);
+            return true;
+        }
+
+        @Override
+        public synchronized V remove(Object key) {
+            V removed = super.remove(key);
+            if (removed != null) {
+                weight -= weigher.applyAsInt(removed);
+            }
+            return removed;
+        }
+
+        @Override
+        public synchronized void clear() {
+            super.clear();
+            weight = 0;
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+
+        private synchronized long weight() {
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.meli.desafio_quality.util;
+
+import br.com.meli.desafio_quality.dto.BulkheadStatsDTO;
+import br.com.meli.desafio_quality.exception.BulkheadFullException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Grupo isolado de threads (bulkhead) para uma classe de requisições. Cada bulkhead tem threads e fila limitadas
+ * próprias: quando a fila enche, a tarefa é recusada na hora com {@link BulkheadFullException}, em vez de esperar
+ * atrás de outras classes de tráfego ou ocupar uma thread do Tomcat.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    public Bulkhead(String name, int threads, int queueCapacity) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Executa a tarefa neste bulkhead. A medição de {@link ServerTiming} da requisição acompanha a tarefa e recebe
+     * a espera na fila.
+     * @param task Tarefa; exceções lançadas por ela completam o resultado com erro
+     * @return Resultado da tarefa
+     * @throws BulkheadFullException se todas as threads estão ocupadas e a fila está cheia
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        ServerTiming timing = ServerTiming.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long waitNanos = System.nanoTime() - submittedAt;
+                queueWaitNanos.add(waitNanos);
+                if (timing == null) {
+                    return task.get();
+                }
+                timing.add(ServerTiming.Phase.QUEUE, waitNanos);
+                ServerTiming previous = ServerTiming.bind(timing);
+                try {
+                    return task.get();
+                } finally {
+                    ServerTiming.bind(previous);
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Estatísticas do bulkhead
+     * @return Threads, threads ocupadas, fila, capacidade da fila, tarefas concluídas, recusadas e espera média na fila
+     */
+    public BulkheadStatsDTO getStats() {
+        long completed = executor.getCompletedTaskCount();
+        return new BulkheadStatsDTO(name, executor.getMaximumPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                queueCapacity, completed, rejected.sum(), completed == 0 ? 0 : queueWaitNanos.sum() / completed / 1000);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
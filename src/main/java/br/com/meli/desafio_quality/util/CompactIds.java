@@ -0,0 +1,70 @@
+package br.com.meli.desafio_quality.util;
+
+import java.util.Arrays;
+
+/**
+ * Codificação dos ids numéricos de 64 bits em texto compacto (base32 de Crockford, 13 caracteres).
+ * A representação tem largura fixa, então a ordem lexicográfica dos textos é a mesma ordem dos números.
+ */
+public final class CompactIds {
+
+    public static final int LENGTH = 13;
+
+    /**
+     * Valor devolvido por {@link #decode(String)} quando o texto não é um id compacto
+     */
+    public static final long NOT_COMPACT = -1L;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private CompactIds() {
+    }
+
+    /**
+     * Codifica um id numérico
+     * @param id Id não negativo
+     * @return Texto de 13 caracteres
+     */
+    public static String encode(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("O id compacto não pode ser negativo: " + id);
+        }
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Decodifica um id compacto. Apenas a forma canônica (maiúscula, 13 caracteres) é aceita,
+     * de modo que cada número corresponde a exatamente um texto.
+     * @param text Texto informado pelo cliente
+     * @return Id numérico, ou {@link #NOT_COMPACT} se o texto não for um id compacto (por exemplo, um UUID)
+     */
+    public static long decode(String text) {
+        if (text == null || text.length() != LENGTH) {
+            return NOT_COMPACT;
+        }
+        long id = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = text.charAt(i);
+            int value = c < 128 ? VALUES[c] : -1;
+            if (value < 0) {
+                return NOT_COMPACT;
+            }
+            id = (id << 5) | value;
+        }
+        // o primeiro caractere carrega 5 bits, mas apenas 3 cabem em um long não negativo
+        return VALUES[text.charAt(0)] < 8 ? id : NOT_COMPACT;
+    }
+}
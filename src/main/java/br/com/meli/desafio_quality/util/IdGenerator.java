@@ -0,0 +1,14 @@
+package br.com.meli.desafio_quality.util;
+
+/**
+ * Gerador dos ids atribuídos às propriedades no momento da inserção.
+ * A implementação é escolhida pela configuração {@code property.id.generator}.
+ */
+public interface IdGenerator {
+
+    /**
+     * Gera um novo id
+     * @return Id único, já no formato exposto pela API
+     */
+    String nextId();
+}
@@ -0,0 +1,56 @@
+package br.com.meli.desafio_quality.util;
+
+import java.util.Arrays;
+
+/**
+ * Lista de {@code int} sem boxing, usada como lista de ocorrências (postings) nos índices em memória.
+ * Quando os valores são acrescentados em ordem crescente, a lista fica ordenada e pode ser percorrida
+ * em conjunto com outras listas por {@link #advance(int, int)}. Não é thread-safe.
+ */
+public class IntArrayList {
+
+    private int[] values;
+    private int size;
+
+    public IntArrayList() {
+        this(4);
+    }
+
+    public IntArrayList(int capacity) {
+        this.values = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Posição do primeiro valor maior ou igual ao informado, a partir de {@code from}, em uma lista ordenada.
+     * Avança em saltos exponenciais e termina com busca binária, o que favorece alvos próximos da posição atual.
+     * @return Posição encontrada, ou {@link #size()} se todos os valores restantes são menores
+     */
+    public int advance(int from, int target) {
+        int low = from;
+        int step = 1;
+        int high = from;
+        while (high < size && values[high] < target) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high + 1, size);
+        int index = Arrays.binarySearch(values, low, high, target);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.meli.desafio_quality.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa de chaves {@code long} para objetos com endereçamento aberto (sondagem linear).
+ * As chaves ficam em um {@code long[]} e os valores em um array paralelo, sem boxing
+ * nem objetos de entrada por elemento. A chave {@code 0} é reservada para marcar posições vazias.
+ * Não é thread-safe: o chamador é responsável pela sincronização.
+ *
+ * @param <V> Tipo dos valores
+ */
+public class LongObjectHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int resizeAt;
+
+    public LongObjectHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Busca o valor associado à chave
+     * @param key Chave; zero nunca está no mapa
+     * @return Valor associado ou {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associa o valor à chave
+     * @param key   Chave diferente de zero
+     * @param value Valor a ser armazenado
+     * @return Valor anterior ou {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("A chave 0 é reservada.");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a chave, reposicionando as chaves seguintes da mesma sequência de sondagem
+     * @param key Chave a ser removida; zero nunca está no mapa
+     * @return Valor removido ou {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        // zero marca as posições vazias: a busca abaixo pararia na primeira delas como se fosse a chave
+        if (key == 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == 0) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        V removed = (V) values[slot];
+
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            // a chave só pode ocupar o buraco se o buraco estiver entre a posição ideal dela e a posição atual
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Percorre todos os valores, sem ordem definida
+     * @param action Ação executada para cada valor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept((V) values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Posição ideal da chave. Os ids ordenados pelo tempo têm os bits baixos pouco variados,
+     * então a chave é espalhada antes de aplicar a máscara.
+     */
+    private static int slot(long key, int mask) {
+        return (int) mix(key) & mask;
+    }
+
+    /**
+     * Função de mistura de 64 bits (finalizador do SplitMix64)
+     * @param key Valor a ser espalhado
+     * @return Valor com os bits bem distribuídos
+     */
+    public static long mix(long key) {
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+}
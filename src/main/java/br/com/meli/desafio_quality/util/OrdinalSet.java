@@ -0,0 +1,123 @@
+package br.com.meli.desafio_quality.util;
+
+import java.util.BitSet;
+
+/**
+ * Conjunto de ordinais usado como lista de ocorrências (postings) nos índices em memória, acrescentado em ordem crescente.
+ * Conjuntos pequenos ficam em um vetor ordenado, que ocupa 4 bytes por ordinal independentemente do tamanho do índice;
+ * ao passar de {@value #ARRAY_LIMIT} ordinais o conjunto é convertido em um {@link BitSet}, que ocupa um bit por ordinal
+ * indexado. É a mesma escolha de representação dos bitmaps comprimidos (Roaring), aplicada ao conjunto inteiro.
+ * Não é thread-safe para escrita: as inserções devem ser exclusivas, mas as leituras podem ser concorrentes entre si.
+ */
+public class OrdinalSet {
+
+    /**
+     * Acima desta quantidade o vetor ocuparia mais que um bitmap de 128 mil ordinais
+     */
+    static final int ARRAY_LIMIT = 4096;
+
+    private IntArrayList array = new IntArrayList(1);
+    private BitSet bitmap;
+    private int cardinality;
+
+    /**
+     * Cópia das palavras do bitmap usada nas contagens, refeita na primeira contagem depois de uma inserção
+     */
+    private volatile long[] words;
+
+    /**
+     * Acrescenta um ordinal maior ou igual aos já presentes; repetir o último ordinal não tem efeito
+     */
+    public void add(int ordinal) {
+        if (bitmap != null) {
+            if (!bitmap.get(ordinal)) {
+                bitmap.set(ordinal);
+                cardinality++;
+                words = null;
+            }
+            return;
+        }
+        if (array.size() > 0 && array.get(array.size() - 1) == ordinal) {
+            return;
+        }
+        array.add(ordinal);
+        cardinality++;
+        if (cardinality > ARRAY_LIMIT) {
+            bitmap = new BitSet(ordinal + 1);
+            for (int i = 0; i < array.size(); i++) {
+                bitmap.set(array.get(i));
+            }
+            array = null;
+        }
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Adiciona os ordinais deste conjunto ao bitmap informado
+     */
+    public void orInto(BitSet target) {
+        if (bitmap != null) {
+            target.or(bitmap);
+            return;
+        }
+        for (int i = 0; i < array.size(); i++) {
+            target.set(array.get(i));
+        }
+    }
+
+    /**
+     * Mantém no bitmap informado apenas os ordinais presentes neste conjunto
+     */
+    public void andInto(BitSet target) {
+        if (bitmap != null) {
+            target.and(bitmap);
+            return;
+        }
+        BitSet kept = new BitSet();
+        for (int i = 0; i < array.size(); i++) {
+            if (target.get(array.get(i))) {
+                kept.set(array.get(i));
+            }
+        }
+        target.clear();
+        target.or(kept);
+    }
+
+    /**
+     * Quantidade de ordinais presentes ao mesmo tempo neste conjunto e no bitmap informado, sem alocar memória.
+     * A contagem é feita palavra a palavra, com {@link Long#bitCount(long)} sobre a intersecção.
+     * @param other Palavras do bitmap, no formato de {@link BitSet#toLongArray()}
+     */
+    public int andCardinality(long[] other) {
+        if (bitmap != null) {
+            long[] own = bitmapWords();
+            int length = Math.min(own.length, other.length);
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                count += Long.bitCount(own[i] & other[i]);
+            }
+            return count;
+        }
+        int count = 0;
+        for (int i = 0; i < array.size(); i++) {
+            int ordinal = array.get(i);
+            int word = ordinal >>> 6;
+            if (word < other.length && (other[word] & (1L << ordinal)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long[] bitmapWords() {
+        long[] current = words;
+        if (current == null) {
+            current = bitmap.toLongArray();
+            words = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.meli.desafio_quality.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Tempo gasto por uma requisição em cada fase do atendimento, enviado no cabeçalho {@code Server-Timing}.
+ * A medição é ligada à thread que atende a requisição ({@link #bind(ServerTiming)}); os pontos medidos usam
+ * {@link #start()} e {@link #stop(Phase, long)}, que custam apenas uma leitura de ThreadLocal quando não há
+ * medição em andamento (testes, importação, tarefas agendadas).
+ * <p>
+ * Uma requisição passa por mais de uma thread (a do Tomcat, a do bulkhead e a do despacho assíncrono), mas nunca
+ * por duas ao mesmo tempo, e cada passagem estabelece happens-before; por isso os acumuladores não são sincronizados.
+ * Fases repetidas na mesma requisição (várias buscas no repositório, por exemplo) são somadas.
+ */
+public final class ServerTiming {
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Fases medidas, na ordem em que aparecem no cabeçalho
+     */
+    public enum Phase {
+        /**
+         * Espera na fila do bulkhead
+         */
+        QUEUE("queue"),
+        /**
+         * Validação do corpo do cadastro
+         */
+        VALIDATION("validation"),
+        /**
+         * Buscas e gravações no repositório de propriedades
+         */
+        REPOSITORY("repository"),
+        /**
+         * Consultas aos índices de busca por nome, por cômodos e de comparáveis
+         */
+        INDEX("index"),
+        /**
+         * Cálculos de área, maior cômodo e preço
+         */
+        CALCULATION("calculation"),
+        /**
+         * Serialização em JSON ou CBOR, no serviço e no conversor da resposta até o envio dos primeiros bytes
+         */
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final long[] openedAt = new long[PHASES.length];
+
+    /**
+     * Liga a medição à thread atual
+     * @param timing Medição da requisição, ou {@code null} para desligar
+     * @return Medição ligada anteriormente, a ser restaurada ao final
+     */
+    public static ServerTiming bind(ServerTiming timing) {
+        ServerTiming previous = CURRENT.get();
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+        return previous;
+    }
+
+    /**
+     * @return Medição ligada à thread atual, ou {@code null}
+     */
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Início de um trecho medido
+     * @return Instante atual, ou zero se não há medição ligada à thread
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Fim de um trecho medido
+     * @param phase Fase à qual o trecho é somado
+     * @param start Valor devolvido por {@link #start()}
+     */
+    public static void stop(Phase phase, long start) {
+        if (start != 0) {
+            ServerTiming timing = CURRENT.get();
+            if (timing != null) {
+                timing.add(phase, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Executa e mede um trecho que devolve um valor
+     */
+    public static <T> T time(Phase phase, Supplier<T> section) {
+        long start = start();
+        try {
+            return section.get();
+        } finally {
+            stop(phase, start);
+        }
+    }
+
+    public void add(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()] += elapsedNanos;
+    }
+
+    /**
+     * Abre uma fase que termina em outro ponto do código, como a serialização feita pelo conversor da resposta
+     */
+    public void open(Phase phase) {
+        openedAt[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Fecha a fase aberta por {@link #open(Phase)}; sem efeito se ela não está aberta
+     */
+    public void close(Phase phase) {
+        long opened = openedAt[phase.ordinal()];
+        if (opened != 0) {
+            nanos[phase.ordinal()] += System.nanoTime() - opened;
+            openedAt[phase.ordinal()] = 0;
+        }
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * Tempo desde a criação da medição, no início da requisição
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Valor do cabeçalho, com as fases que consumiram tempo e o total até agora, em milissegundos, por exemplo
+     * {@code queue;dur=0.021, repository;dur=0.004, serialization;dur=0.032, total;dur=0.412}
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long phaseNanos = nanos[phase.ordinal()];
+            if (phaseNanos > 0) {
+                appendMetric(header, phase.getMetricName(), phaseNanos).append(", ");
+            }
+        }
+        return appendMetric(header, "total", elapsedNanos()).toString();
+    }
+
+    private static StringBuilder appendMetric(StringBuilder header, String name, long nanos) {
+        // milissegundos com três casas, sem String.format
+        long micros = nanos / 1000;
+        long fraction = micros % 1000;
+        header.append(name).append(";dur=").append(micros / 1000).append('.');
+        if (fraction < 100) {
+            header.append(fraction < 10 ? "00" : "0");
+        }
+        return header.append(fraction);
+    }
+}
@@ -0,0 +1,196 @@
+package br.com.meli.desafio_quality.util;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Gerador determinístico de bairros e propriedades sintéticas, válidas segundo as regras do {@link PropertyDTO}.
+ * A mesma semente produz sempre os mesmos dados, de modo que benchmarks, testes de carga e instâncias semeadas
+ * trabalham com o mesmo conjunto.
+ * <p>
+ * Cada propriedade depende apenas da semente e do seu índice: {@link #property(long)} pode ser chamado em qualquer
+ * ordem ou em paralelo, e os primeiros N itens de um conjunto maior são iguais a um conjunto de N itens.
+ * A distribuição imita um cadastro real: poucos bairros concentram a maior parte das propriedades, a maioria tem
+ * de três a seis cômodos e as dimensões dependem do tipo do cômodo.
+ */
+public class SyntheticPropertyGenerator {
+
+    private static final String[] DISTRICT_PREFIXES = {
+            "Vila", "Jardim", "Parque", "Alto da", "Recanto", "Chácara", "Bela", "Nova", "Santa", "Porto"
+    };
+    private static final String[] DISTRICT_NAMES = {
+            "Aurora", "Esperança", "Mariana", "Olímpia", "Madalena", "Leopoldina", "Clementino", "Progresso", "Glória",
+            "Serena", "Imperial", "Primavera", "Paulista", "Bonita", "Lúcia", "Cecília", "Vitória", "Alegre", "Europa",
+            "Brasil"
+    };
+    private static final String[] PROPERTY_TYPES = {
+            "Residencial", "Edifício", "Condomínio", "Casa", "Solar", "Torre", "Village", "Loft", "Mansão", "Chácara"
+    };
+    private static final String[] PROPERTY_NAMES = {
+            "Aurora", "Ipê", "das Flores", "do Lago", "Jacarandá", "Bela Vista", "Horizonte", "Primavera", "Atlântico",
+            "Jardins", "Monte Verde", "Paineiras", "Girassol", "Imperial", "Costa Azul", "Central", "Boa Vista", "Palmeiras"
+    };
+
+    /**
+     * Probabilidade acumulada, em milésimos, de uma propriedade ter 1, 2, ... 10 cômodos
+     */
+    private static final int[] ROOM_COUNT_CUMULATIVE = {40, 140, 320, 540, 720, 840, 910, 950, 980, 1000};
+
+    private static final RoomType LIVING_ROOM = new RoomType("Sala", 0, 3.0, 8.0, 4.0, 12.0);
+    private static final RoomType KITCHEN = new RoomType("Cozinha", 0, 2.0, 5.0, 2.5, 6.0);
+    private static final RoomType BEDROOM = new RoomType("Quarto", 35, 2.5, 5.0, 3.0, 5.5);
+
+    /**
+     * Cômodos sorteados depois da sala e da cozinha, com peso (em centésimos) e largura e comprimento mínimos e
+     * máximos em metros
+     */
+    private static final RoomType[] EXTRA_ROOM_TYPES = {
+            BEDROOM,
+            new RoomType("Banheiro", 25, 1.2, 3.0, 1.5, 3.5),
+            new RoomType("Suíte", 12, 3.0, 6.0, 3.5, 7.0),
+            new RoomType("Varanda", 8, 1.0, 4.0, 2.0, 10.0),
+            new RoomType("Lavanderia", 8, 1.2, 3.0, 1.5, 4.0),
+            new RoomType("Escritório", 6, 2.0, 4.0, 2.5, 5.0),
+            new RoomType("Quarto de hóspedes", 4, 2.5, 4.5, 3.0, 5.0),
+            new RoomType("Salão de festas", 2, 6.0, 25.0, 8.0, 33.0)
+    };
+
+    private final long seed;
+    private final List<DistrictDTO> districts;
+
+    /**
+     * @param seed          Semente; a mesma semente gera os mesmos bairros e propriedades
+     * @param districtCount Quantidade de bairros
+     */
+    public SyntheticPropertyGenerator(long seed, int districtCount) {
+        if (districtCount < 1) {
+            throw new IllegalArgumentException("A quantidade de bairros deve ser positiva.");
+        }
+        this.seed = seed;
+        this.districts = Collections.unmodifiableList(newDistricts(districtCount));
+    }
+
+    /**
+     * Bairros usados pelas propriedades, do mais ao menos frequente
+     */
+    public List<DistrictDTO> districts() {
+        return districts;
+    }
+
+    /**
+     * Propriedade de índice informado, sem id
+     */
+    public PropertyDTO property(long index) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(index)));
+
+        // a potência concentra os sorteios nos primeiros bairros: metade das propriedades fica em ~6% deles
+        DistrictDTO district = districts.get((int) (districts.size() * Math.pow(random.nextDouble(), 4)));
+
+        String name = PROPERTY_TYPES[random.nextInt(PROPERTY_TYPES.length)] + " " + PROPERTY_NAMES[random.nextInt(PROPERTY_NAMES.length)];
+        if (random.nextInt(3) == 0) {
+            name += " " + (1 + random.nextInt(999));
+        }
+
+        int roomCount = roomCount(random.nextInt(1000));
+        List<RoomDTO> rooms = new ArrayList<>(roomCount);
+        int bedrooms = 0;
+        for (int i = 0; i < roomCount; i++) {
+            RoomType type = i == 0 ? LIVING_ROOM : i == 1 ? KITCHEN : extraRoomType(random.nextInt(100));
+            String roomName = type.name;
+            if (type == BEDROOM) {
+                roomName += " " + (++bedrooms);
+            }
+            rooms.add(new RoomDTO(roomName, dimension(random, type.minWidth, type.maxWidth),
+                    dimension(random, type.minLength, type.maxLength)));
+        }
+        return new PropertyDTO(null, name, district, rooms);
+    }
+
+    /**
+     * Propriedades de índice 0 até {@code count - 1}, em ordem
+     */
+    public Stream<PropertyDTO> properties(long count) {
+        return LongStream.range(0, count).mapToObj(this::property);
+    }
+
+    private List<DistrictDTO> newDistricts(int count) {
+        SplittableRandom random = new SplittableRandom(mix(seed));
+        List<String> names = new ArrayList<>(DISTRICT_PREFIXES.length * DISTRICT_NAMES.length);
+        for (String prefix : DISTRICT_PREFIXES) {
+            for (String name : DISTRICT_NAMES) {
+                names.add(prefix + " " + name);
+            }
+        }
+        Collections.shuffle(names, new Random(random.nextLong()));
+
+        List<DistrictDTO> districts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // com mais bairros do que combinações, os nomes se repetem com um número ao final
+            String name = names.get(i % names.size()) + (i < names.size() ? "" : " " + (i / names.size() + 1));
+            // de 3.000 a 25.000 por metro quadrado, em múltiplos de 50
+            districts.add(new DistrictDTO(name, BigDecimal.valueOf(3000 + 50L * random.nextInt(441))));
+        }
+        return districts;
+    }
+
+    private static int roomCount(int permille) {
+        int count = 0;
+        while (permille >= ROOM_COUNT_CUMULATIVE[count]) {
+            count++;
+        }
+        return count + 1;
+    }
+
+    private static RoomType extraRoomType(int percent) {
+        int index = 0;
+        for (int cumulative = EXTRA_ROOM_TYPES[0].weight; percent >= cumulative; cumulative += EXTRA_ROOM_TYPES[index].weight) {
+            index++;
+        }
+        return EXTRA_ROOM_TYPES[index];
+    }
+
+    /**
+     * Dimensão entre os limites, arredondada a 5 cm
+     */
+    private static double dimension(SplittableRandom random, double min, double max) {
+        return Math.round((min + random.nextDouble() * (max - min)) * 20) / 20.0;
+    }
+
+    /**
+     * Função de mistura do SplitMix64: sementes vizinhas geram sequências sem relação entre si
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class RoomType {
+        private final String name;
+        private final int weight;
+        private final double minWidth;
+        private final double maxWidth;
+        private final double minLength;
+        private final double maxLength;
+
+        private RoomType(String name, int weight, double minWidth, double maxWidth, double minLength, double maxLength) {
+            this.name = name;
+            this.weight = weight;
+            this.minWidth = minWidth;
+            this.maxWidth = maxWidth;
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.meli.desafio_quality.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador padrão de ids: números de 64 bits ordenados pelo tempo, expostos no formato de {@link CompactIds}.
+ * O id é composto pelos milissegundos desde 2022-01-01 (bits mais altos), um contador de 12 bits
+ * e o número do nó (10 bits mais baixos). Não há lock nem fonte de aleatoriedade compartilhada:
+ * a geração é um único compare-and-set sobre o último id emitido.
+ */
+@Component
+@ConditionalOnProperty(name = "property.id.generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2022-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    private static final long SEQUENCE_STEP = 1L << NODE_BITS;
+
+    private final long node;
+    private final AtomicLong lastId = new AtomicLong();
+
+    /**
+     * @param node Número deste nó, entre 0 e 1023; nós diferentes nunca geram o mesmo id
+     */
+    public TimeOrderedIdGenerator(@Value("${property.id.node:0}") int node) {
+        if (node < 0 || node >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("property.id.node deve estar entre 0 e " + ((1 << NODE_BITS) - 1));
+        }
+        this.node = node;
+    }
+
+    @Override
+    public String nextId() {
+        return CompactIds.encode(nextLongId());
+    }
+
+    /**
+     * Gera o próximo id numérico. Se o contador do milissegundo se esgotar, o id avança para o
+     * milissegundo seguinte, então os ids continuam estritamente crescentes.
+     * @return Id numérico positivo
+     */
+    public long nextLongId() {
+        long base = ((System.currentTimeMillis() - EPOCH_MILLIS) << (SEQUENCE_BITS + NODE_BITS)) | node;
+        return lastId.accumulateAndGet(base, (last, now) -> Math.max(last + SEQUENCE_STEP, now));
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.meli.desafio_quality.util;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Modo de compatibilidade: gera UUIDs aleatórios (versão 4), como antes dos ids compactos.
+ * Os bits vêm de {@link ThreadLocalRandom} em vez do {@code SecureRandom} compartilhado de
+ * {@link UUID#randomUUID()}, já que os ids não são segredos.
+ */
+@Component
+@ConditionalOnProperty(name = "property.id.generator", havingValue = "uuid")
+public class UuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
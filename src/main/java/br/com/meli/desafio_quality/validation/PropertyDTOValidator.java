@@ -0,0 +1,185 @@
+package br.com.meli.desafio_quality.validation;
+
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+import br.com.meli.desafio_quality.util.ServerTiming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validação escrita à mão das anotações de {@link PropertyDTO} e {@link RoomDTO}, com as mesmas regras e mensagens
+ * do Bean Validation, sem reflexão nem expressões regulares: o padrão dos nomes é verificado caractere a caractere.
+ * Registrada nos controllers de property com {@code @InitBinder} e usada por item na importação em massa.
+ * <p>
+ * As violações são devolvidas na ordem de declaração dos campos e das anotações (nome, depois cada cômodo em ordem),
+ * de modo que o primeiro erro informado pela API é sempre o mesmo para a mesma entrada.
+ * As anotações continuam nos DTOs como documentação das regras; {@code PropertyDTOValidatorTest} garante que as duas
+ * validações produzem as mesmas violações.
+ */
+@Component
+public class PropertyDTOValidator implements Validator {
+
+    static final int MAX_NAME_LENGTH = 30;
+    static final double MAX_ROOM_WIDTH = 25.0;
+    static final double MAX_ROOM_LENGTH = 33.0;
+
+    /**
+     * Caracteres aceitos depois do primeiro no padrão {@code [A-Z][a-záàâãéèêíïóôõöúçñ A-Z0-9]+}, além de letras
+     * sem acento, dígitos e espaço
+     */
+    private static final String ACCENTED_LETTERS = "áàâãéèêíïóôõöúçñ";
+
+    private static final String[] PROPERTY_NAME_MESSAGES = {
+            "O nome da propriedade não pode estar vazio.",
+            "O nome da propriedade deve começar com uma letra maiúscula.",
+            "O comprimento do nome da propriedade não pode exceder 30 caracteres."
+    };
+    private static final String[] ROOM_NAME_MESSAGES = {
+            "O nome do cômodo não pode estar vazio.",
+            "O nome do cômodo deve começar com uma letra maiúscula.",
+            "O comprimento do nome do cômodo não pode exceder 30 caracteres."
+    };
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return PropertyDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long start = ServerTiming.start();
+        for (Violation violation : validate((PropertyDTO) target)) {
+            errors.rejectValue(violation.getField(), violation.getCode(), violation.getMessage());
+        }
+        ServerTiming.stop(ServerTiming.Phase.VALIDATION, start);
+    }
+
+    /**
+     * Valida a propriedade e os seus cômodos
+     *
+     * @param propertyDTO Propriedade informada
+     * @return Violações encontradas, na ordem de declaração; vazia se a propriedade é válida
+     */
+    public List<Violation> validate(PropertyDTO propertyDTO) {
+        List<Violation> violations = List.of();
+        violations = validateName(propertyDTO.getName(), "name", PROPERTY_NAME_MESSAGES, violations);
+
+        List<RoomDTO> rooms = propertyDTO.getRooms();
+        if (rooms != null) {
+            for (int i = 0; i < rooms.size(); i++) {
+                RoomDTO room = rooms.get(i);
+                if (room != null) {
+                    violations = validateRoom(room, i, violations);
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static List<Violation> validateRoom(RoomDTO room, int index, List<Violation> violations) {
+        String path = "rooms[" + index + "].";
+        if (isNameValid(room.getRoomName()) && room.getRoomWidth() <= MAX_ROOM_WIDTH && room.getRoomLength() <= MAX_ROOM_LENGTH) {
+            return violations;
+        }
+        violations = validateName(room.getRoomName(), path + "roomName", ROOM_NAME_MESSAGES, violations);
+        // @DecimalMax inclusivo; NaN é inválido, como no Hibernate Validator
+        if (!(room.getRoomWidth() <= MAX_ROOM_WIDTH)) {
+            violations = add(violations, path + "roomWidth", "DecimalMax", "A largura máxima permitida por cômodo é de 25 metros.");
+        }
+        if (!(room.getRoomLength() <= MAX_ROOM_LENGTH)) {
+            violations = add(violations, path + "roomLength", "DecimalMax", "A altura máxima permitida por cômodo é de 33 metros.");
+        }
+        return violations;
+    }
+
+    /**
+     * Aplica {@code @NotBlank}, {@code @Pattern} e {@code @Size(max = 30)} a um nome de propriedade ou de cômodo
+     * @param messages Mensagens das três anotações, nessa ordem
+     */
+    private static List<Violation> validateName(String name, String field, String[] messages, List<Violation> violations) {
+        if (isNameValid(name)) {
+            return violations;
+        }
+        if (isBlank(name)) {
+            violations = add(violations, field, "NotBlank", messages[0]);
+        }
+        if (name != null && !matchesNamePattern(name)) {
+            violations = add(violations, field, "Pattern", messages[1]);
+        }
+        if (name != null && name.length() > MAX_NAME_LENGTH) {
+            violations = add(violations, field, "Size", messages[2]);
+        }
+        return violations;
+    }
+
+    private static boolean isNameValid(String name) {
+        // um nome que segue o padrão começa com letra maiúscula, portanto não está em branco
+        return name != null && name.length() <= MAX_NAME_LENGTH && matchesNamePattern(name);
+    }
+
+    /**
+     * Mesmo critério do {@code @NotBlank}: nulo, vazio ou apenas caracteres removidos por {@link String#trim()}
+     */
+    private static boolean isBlank(String name) {
+        if (name == null) {
+            return true;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalente a {@code name.matches("[A-Z][a-záàâãéèêíïóôõöúçñ A-Z0-9]+")}
+     */
+    static boolean matchesNamePattern(String name) {
+        if (name.length() < 2) {
+            return false;
+        }
+        char first = name.charAt(0);
+        if (first < 'A' || first > 'Z') {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == ' '
+                    || (c >= 'à' && ACCENTED_LETTERS.indexOf(c) >= 0);
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Violation> add(List<Violation> violations, String field, String code, String message) {
+        List<Violation> mutable = violations.isEmpty() ? new ArrayList<>(2) : violations;
+        mutable.add(new Violation(field, code, message));
+        return mutable;
+    }
+
+    /**
+     * Violação de uma regra
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Violation {
+        /**
+         * Caminho do campo, no mesmo formato do Bean Validation, por exemplo {@code rooms[0].roomName}
+         */
+        private final String field;
+        /**
+         * Nome da anotação correspondente, usado como código do erro
+         */
+        private final String code;
+        private final String message;
+    }
+}
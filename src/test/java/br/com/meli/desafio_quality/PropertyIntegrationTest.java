@@ -6,21 +6,30 @@ import br.com.meli.desafio_quality.entity.Property;
 import br.com.meli.desafio_quality.repository.PropertyRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 /**
  * Classe responsável pelos testes de integração dos endpoints do PropertyController.
  * @author Jederson Macedo
@@ -91,7 +100,7 @@ public class PropertyIntegrationTest {
     }
 
     private List<PropertyDTO> getAllProperties() throws Exception {
-        MvcResult getResult = mockMvc.perform(get("/property/get-all-properties"))
+        MvcResult getResult = performAsync(get("/property/get-all-properties"))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -131,7 +140,7 @@ public class PropertyIntegrationTest {
      */
     @Test
     public void getAllPropertiesTest() throws Exception{
-        MvcResult getResult = mockMvc.perform(get("/property/get-all-properties"))
+        MvcResult getResult = performAsync(get("/property/get-all-properties"))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -152,7 +161,7 @@ public class PropertyIntegrationTest {
         List<PropertyDTO> propertyDtoResponseList = getAllProperties();
         PropertyDTO propertyDTO = propertyDtoResponseList.get(0);
 
-        MvcResult getResult = mockMvc.perform(get("/property/calculate-total-area-property/{propertyId}", propertyDTO.getId()))
+        MvcResult getResult = performAsync(get("/property/calculate-total-area-property/{propertyId}", propertyDTO.getId()))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -171,7 +180,7 @@ public class PropertyIntegrationTest {
         List<PropertyDTO> propertyDtoResponseList = getAllProperties();
         PropertyDTO propertyDTO = propertyDtoResponseList.get(1);
 
-        MvcResult getResult = mockMvc.perform(get("/property/find-largest-room/{propertyId}", propertyDTO.getId()))
+        MvcResult getResult = performAsync(get("/property/find-largest-room/{propertyId}", propertyDTO.getId()))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -192,7 +201,7 @@ public class PropertyIntegrationTest {
         List<PropertyDTO> propertyDtoResponseList = getAllProperties();
         PropertyDTO propertyDTO = propertyDtoResponseList.get(0);
 
-        MvcResult getResult = mockMvc.perform(get("/property/calculate-area-rooms/{propertyId}", propertyDTO.getId()))
+        MvcResult getResult = performAsync(get("/property/calculate-area-rooms/{propertyId}", propertyDTO.getId()))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -214,7 +223,7 @@ public class PropertyIntegrationTest {
         List<PropertyDTO> propertyDtoResponseList = getAllProperties();
         PropertyDTO propertyDTO = propertyDtoResponseList.get(0);
 
-        MvcResult getResult = mockMvc.perform(get("/property/calculate-property-price/{propertyId}", propertyDTO.getId()))
+        MvcResult getResult = performAsync(get("/property/calculate-property-price/{propertyId}", propertyDTO.getId()))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -324,7 +333,7 @@ public class PropertyIntegrationTest {
      */
     @Test
     public void getPropertyTotalAreaWithoutValidId() throws Exception {
-        MvcResult getResult = mockMvc.perform(get("/property/calculate-property-price/{propertyId}", "XYZ12345-ABCD56789"))
+        MvcResult getResult = performAsync(get("/property/calculate-property-price/{propertyId}", "XYZ12345-ABCD56789"))
                 .andExpect(status().isBadRequest())
                 .andReturn();
 
@@ -333,4 +342,183 @@ public class PropertyIntegrationTest {
 
         assertEquals("o ID: XYZ12345-ABCD56789 não está cadastrado.", error.getDescription());
     }
+
+    /**
+     * Valida que a listagem responde 304 quando o cliente envia a ETag da versão atual
+     * e volta a responder 200 depois de uma alteração no repositório
+     */
+    @Test
+    public void getAllPropertiesNotModifiedTest() throws Exception {
+        String eTag = performAsync(get("/property/get-all-properties"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        performAsync(get("/property/get-all-properties").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        propertyRepository.cleanAllProperties();
+
+        performAsync(get("/property/get-all-properties").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Valida que, no intervalo entre a mudança de preço do bairro no repositório e a invalidação dos caches, uma
+     * requisição condicional recebe o preço novo junto com a ETag nova, e não o preço antigo ainda em cache
+     */
+    @Test
+    public void repriceBeforeInvalidationServesNewPriceTest() throws Exception {
+        String propertyId = getAllProperties().get(1).getId();
+        MvcResult before = performAsync(get("/property/calculate-property-price/{propertyId}", propertyId))
+                .andExpect(status().isOk())
+                .andReturn();
+        String oldETag = before.getResponse().getHeader("ETag");
+
+        propertyRepository.repriceDistrict(new District("Alphaville", BigDecimal.valueOf(10)));
+
+        MvcResult after = performAsync(get("/property/calculate-property-price/{propertyId}", propertyId)
+                .header("If-None-Match", oldETag))
+                .andExpect(status().isOk())
+                .andReturn();
+        PropertyPriceDTO price = objectMapper.readValue(after.getResponse().getContentAsString(), PropertyPriceDTO.class);
+        assertEquals(0, BigDecimal.valueOf(1400).compareTo(price.getPrice()));
+
+        performAsync(get("/property/calculate-property-price/{propertyId}", propertyId)
+                .header("If-None-Match", after.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Valida que a listagem em CBOR, selecionada pelo cabeçalho Accept, possui o mesmo conteúdo da listagem em JSON
+     */
+    @Test
+    public void getAllPropertiesCborTest() throws Exception {
+        String json = performAsync(get("/property/get-all-properties"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        MvcResult cborResult = performAsync(get("/property/get-all-properties").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("application/cbor", cborResult.getResponse().getContentType());
+        List<PropertyDTO> fromJson = objectMapper.readValue(json, new TypeReference<>() {
+        });
+        List<PropertyDTO> fromCbor = new ObjectMapper(new CBORFactory()).readValue(cborResult.getResponse().getContentAsByteArray(),
+                new TypeReference<>() {
+                });
+        assertEquals(fromJson, fromCbor);
+    }
+
+    /**
+     * Valida a sincronização incremental: paginação pelas alterações, cursor da próxima consulta
+     * e retorno das propriedades alteradas depois de uma mudança de preço do bairro
+     */
+    @Test
+    public void getChangesSinceTest() throws Exception {
+        PropertyChangesDTO firstPage = getChanges(0, 1);
+        assertEquals(1, firstPage.getProperties().size());
+        assertEquals("Brooklyn Village", firstPage.getProperties().get(0).getName());
+        assertTrue(firstPage.isHasMore());
+
+        PropertyChangesDTO secondPage = getChanges(firstPage.getNextSince(), 1);
+        assertEquals("Moema Palace", secondPage.getProperties().get(0).getName());
+        assertFalse(secondPage.isHasMore());
+
+        PropertyChangesDTO upToDate = getChanges(secondPage.getNextSince(), 100);
+        assertEquals(0, upToDate.getProperties().size());
+        assertEquals(secondPage.getNextSince(), upToDate.getNextSince());
+
+        mockMvc.perform(put("/district/update-price")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(new DistrictDTO("Alphaville", BigDecimal.valueOf(10.0)))))
+                .andExpect(status().isOk());
+
+        PropertyChangesDTO afterUpdate = getChanges(upToDate.getNextSince(), 100);
+        assertEquals(1, afterUpdate.getProperties().size());
+        assertEquals("Moema Palace", afterUpdate.getProperties().get(0).getName());
+        assertFalse(afterUpdate.isReset());
+    }
+
+    /**
+     * Valida a regra do valor do metro quadrado: até 13 dígitos inteiros e 2 casas decimais, com a mensagem da regra
+     */
+    @Test
+    public void updateDistrictPriceDigitsTest() throws Exception {
+        MvcResult result = mockMvc.perform(put("/district/update-price")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(new DistrictDTO("Alphaville", new BigDecimal("10.125")))))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        ErrorDTO error = objectMapper.readValue(result.getResponse().getContentAsString(UTF_8), ErrorDTO.class);
+        assertEquals("O valor do metro quadrado deve ter no máximo 13 dígitos inteiros e 2 casas decimais.", error.getDescription());
+
+        mockMvc.perform(put("/district/update-price")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(new DistrictDTO("Alphaville", new BigDecimal("1234567890123.25")))))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Valida que as vagas do limite de requisições simultâneas são devolvidas ao fim das respostas assíncronas
+     */
+    @Test
+    public void concurrencyLimitReleasesAsyncRequestsTest() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            performAsync(get("/property/get-all-properties")).andExpect(status().isOk());
+        }
+
+        String response = mockMvc.perform(get("/metrics/concurrency-limits"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(UTF_8);
+        List<ConcurrencyLimitStatsDTO> limits = objectMapper.readValue(response, new TypeReference<>() {});
+
+        assertEquals(List.of(0, 0), limits.stream().map(ConcurrencyLimitStatsDTO::getInFlight).collect(Collectors.toList()));
+        assertTrue(limits.stream().anyMatch(limit -> limit.getName().equals("read") && limit.getAccepted() >= 5));
+    }
+
+    /**
+     * Valida o cabeçalho Server-Timing: fases medidas no bulkhead e no despacho assíncrono de um cálculo, e a
+     * validação de um cadastro recusado
+     */
+    @Test
+    public void serverTimingHeaderTest() throws Exception {
+        String propertyId = propertyRepository.getAllProperties().get(0).getId();
+        String calculationTiming = performAsync(get("/property/calculate-property-price/" + propertyId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        List<String> metrics = Arrays.stream(calculationTiming.split(", "))
+                .map(metric -> metric.substring(0, metric.indexOf(';')))
+                .collect(Collectors.toList());
+        assertEquals(List.of("queue", "repository", "calculation", "serialization", "total"), metrics);
+        assertTrue(calculationTiming.matches("(\\w+;dur=\\d+\\.\\d{3}(, )?)+"), calculationTiming);
+
+        PropertyDTO invalid = new PropertyDTO(null, "casa", new DistrictDTO("Alphaville", BigDecimal.TEN), List.of());
+        String validationTiming = mockMvc.perform(post("/property/insert")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getHeader("Server-Timing");
+        assertTrue(validationTiming.startsWith("validation;dur="), validationTiming);
+    }
+
+    private PropertyChangesDTO getChanges(long since, int limit) throws Exception {
+        String response = performAsync(get("/property/changes")
+                .param("since", String.valueOf(since))
+                .param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(UTF_8);
+        return objectMapper.readValue(response, PropertyChangesDTO.class);
+    }
+
+    /**
+     * As rotas de leitura respondem de forma assíncrona, nos bulkheads; aguarda o resultado e o despacha
+     */
+    private ResultActions performAsync(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
 }
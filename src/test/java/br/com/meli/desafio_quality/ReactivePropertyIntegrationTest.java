@@ -0,0 +1,224 @@
+package br.com.meli.desafio_quality;
+
+import br.com.meli.desafio_quality.controller.ReactivePropertyController;
+import br.com.meli.desafio_quality.dto.*;
+import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.service.PropertyService;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.adapter.DefaultServerWebExchange;
+import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classe responsável pelos testes de integração do {@link ReactivePropertyController}, com a aplicação iniciada
+ * na pilha reativa
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+public class ReactivePropertyIntegrationTest {
+
+    /**
+     * {@link WebTestClient Cliente} HTTP ligado ao servidor reativo
+     */
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * {@link PropertyRepository Repository} de property, limpo após cada teste
+     */
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private ReactivePropertyController reactivePropertyController;
+
+    /**
+     * Metodo para preparar o ambiente de cada teste individualmente
+     */
+    @BeforeEach
+    private void initConfiguration() {
+        insert(new PropertyDTO(null, "Brooklyn Village", new DistrictDTO("Barra da Tijuca", BigDecimal.valueOf(18000)),
+                Arrays.asList(new RoomDTO("Kitchen", 10.0, 5.0), new RoomDTO("Living room", 20.0, 5.0))))
+                .expectStatus().isCreated()
+                .expectBody(PropertyDTO.class);
+        insert(new PropertyDTO(null, "Moema Palace", new DistrictDTO("Alphaville", BigDecimal.valueOf(14000)),
+                Arrays.asList(new RoomDTO("Kitchen", 10.0, 4.0), new RoomDTO("Living room", 15.0, 5.0),
+                        new RoomDTO("Bedroom", 5.0, 5.0))))
+                .expectStatus().isCreated()
+                .expectBody(PropertyDTO.class);
+    }
+
+    /**
+     * Resetando o ambiente após cada teste
+     */
+    @AfterEach
+    private void resetConfiguration() {
+        propertyRepository.cleanAllProperties();
+    }
+
+    /**
+     * Valida que a listagem em fluxo devolve um array JSON completo, também quando ocupa mais de um lote,
+     * e que responde 304 para a ETag atual
+     */
+    @Test
+    public void getAllPropertiesStreamTest() {
+        List<String> expectedNames = new ArrayList<>(List.of("Brooklyn Village", "Moema Palace"));
+        for (int i = 0; i < 300; i++) {
+            insert(new PropertyDTO(null, "Casa " + i, new DistrictDTO("Alphaville", BigDecimal.valueOf(14000)),
+                    List.of(new RoomDTO("Kitchen", 3.0, 4.0))))
+                    .expectStatus().isCreated()
+                    .expectBody(PropertyDTO.class);
+            expectedNames.add("Casa " + i);
+        }
+
+        List<PropertyDTO> properties = webTestClient.get().uri("/property/get-all-properties")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<List<PropertyDTO>>() {
+                })
+                .returnResult().getResponseBody();
+        assertEquals(expectedNames, properties.stream().map(PropertyDTO::getName).collect(Collectors.toList()));
+
+        String eTag = webTestClient.get().uri("/property/get-all-properties").exchange()
+                .expectBody().returnResult().getResponseHeaders().getETag();
+        webTestClient.get().uri("/property/get-all-properties").ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    /**
+     * Valida que, quando o cliente cancela a listagem antes do fim, todos os buffers alocados são liberados, inclusive
+     * o fechamento do array, que já foi produzido mas aguarda demanda do cliente
+     */
+    @Test
+    public void getAllPropertiesCancelReleasesBuffersTest() throws Exception {
+        for (int i = 0; i < 600; i++) {
+            propertyService.insertProperty(new PropertyDTO(null, "Casa " + i, new DistrictDTO("Alphaville", BigDecimal.valueOf(14000)),
+                    List.of(new RoomDTO("Kitchen", 3.0, 4.0))));
+        }
+        // abertura do array mais os lotes de 256 propriedades, sem o fechamento
+        int requested = 1 + (propertyRepository.getAllProperties().size() + 255) / 256;
+
+        Queue<NettyDataBuffer> allocated = new ConcurrentLinkedQueue<>();
+        NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT) {
+            @Override
+            public NettyDataBuffer allocateBuffer(int initialCapacity) {
+                NettyDataBuffer buffer = super.allocateBuffer(initialCapacity);
+                allocated.add(buffer);
+                return buffer;
+            }
+
+            @Override
+            public DataBuffer wrap(byte[] bytes) {
+                NettyDataBuffer buffer = wrap(UnpooledByteBufAllocator.DEFAULT.buffer(bytes.length).writeBytes(bytes));
+                allocated.add(buffer);
+                return buffer;
+            }
+        };
+        DefaultServerWebExchange exchange = new DefaultServerWebExchange(MockServerHttpRequest.get("/property/get-all-properties").build(),
+                new MockServerHttpResponse(bufferFactory), new DefaultWebSessionManager(), ServerCodecConfigurer.create(),
+                new AcceptHeaderLocaleContextResolver());
+        Flux<DataBuffer> body = reactivePropertyController.getAllProperties(null, exchange).block().getBody();
+
+        List<DataBuffer> received = new CopyOnWriteArrayList<>();
+        BaseSubscriber<DataBuffer> client = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(requested);
+            }
+
+            @Override
+            protected void hookOnNext(DataBuffer buffer) {
+                received.add(buffer);
+            }
+        };
+        body.subscribe(client);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (allocated.size() < requested + 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        client.cancel();
+        received.forEach(DataBufferUtils::release);
+
+        assertEquals(requested, received.size());
+        assertEquals(requested + 1, allocated.size());
+        assertEquals(0, allocated.stream().filter(buffer -> buffer.getNativeBuffer().refCnt() > 0).count());
+    }
+
+    /**
+     * Valida os cálculos servidos sem bloqueio, com os mesmos resultados da pilha servlet
+     */
+    @Test
+    public void calculationsTest() {
+        String propertyId = propertyRepository.getAllProperties().get(0).getId();
+
+        PropertyTotalAreaDTO totalArea = webTestClient.get().uri("/property/calculate-total-area-property/{propertyId}", propertyId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PropertyTotalAreaDTO.class).returnResult().getResponseBody();
+        assertEquals(150.0, totalArea.getTotalArea());
+
+        PropertyPriceDTO price = webTestClient.get().uri("/property/calculate-property-price/{propertyId}", propertyId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PropertyPriceDTO.class).returnResult().getResponseBody();
+        assertEquals(BigDecimal.valueOf(2700000.0), price.getPrice());
+
+        ErrorDTO error = webTestClient.get().uri("/property/calculate-property-price/{propertyId}", "nope")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectBody(ErrorDTO.class).returnResult().getResponseBody();
+        assertEquals("PropertyNotFoundException", error.getName());
+    }
+
+    /**
+     * Valida que a validação do corpo responde como na pilha servlet
+     */
+    @Test
+    public void insertInvalidPropertyTest() {
+        ErrorDTO error = insert(new PropertyDTO(null, "Tijuca Village", new DistrictDTO("Tijuca", BigDecimal.valueOf(15000)),
+                Arrays.asList(new RoomDTO("kitchen", 10.0, 5.0))))
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorDTO.class).returnResult().getResponseBody();
+
+        assertEquals("MethodArgumentNotValidException", error.getName());
+        assertEquals("O nome do cômodo deve começar com uma letra maiúscula.", error.getDescription());
+    }
+
+    private WebTestClient.ResponseSpec insert(PropertyDTO propertyDTO) {
+        return webTestClient.post().uri("/property/insert").bodyValue(propertyDTO).exchange();
+    }
+}
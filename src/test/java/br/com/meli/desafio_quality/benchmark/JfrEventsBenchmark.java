@@ -0,0 +1,60 @@
+package br.com.meli.desafio_quality.benchmark;
+
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.jfr.PropertyConversionEvent;
+import br.com.meli.desafio_quality.jfr.PropertyRepositoryEvent;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import br.com.meli.desafio_quality.util.SyntheticPropertyGenerator;
+import br.com.meli.desafio_quality.util.UuidIdGenerator;
+import jdk.jfr.Recording;
+
+import java.time.Duration;
+
+/**
+ * Benchmark do custo dos eventos do JFR numa leitura de propriedade (busca no repositório e conversão para DTO):
+ * eventos desativados (padrão), ativados com os limites padrão, que quase nenhuma leitura ultrapassa, e ativados com
+ * limite zero, gravando todas as leituras.
+ *
+ * Execução: {@code java -cp target/classes:target/test-classes:<classpath> br.com.meli.desafio_quality.benchmark.JfrEventsBenchmark}
+ */
+public class JfrEventsBenchmark {
+
+    private static final int ITERATIONS = 2_000_000;
+    private static final int PROPERTIES = 10_000;
+
+    private static final PropertyRepositoryImpl REPOSITORY = new PropertyRepositoryImpl(0);
+    private static final String[] IDS = new String[PROPERTIES];
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        SyntheticPropertyGenerator generator = new SyntheticPropertyGenerator(42, 100);
+        UuidIdGenerator idGenerator = new UuidIdGenerator();
+        for (int i = 0; i < PROPERTIES; i++) {
+            IDS[i] = REPOSITORY.addProperty(PropertyDTO.dtoToProperty(generator.property(i), idGenerator.nextId())).getId();
+        }
+
+        for (int round = 0; round < 3; round++) {
+            report("eventos desativados", null, null);
+            report("ativados, limites padrão", Duration.ofMillis(1), Duration.ofNanos(100_000));
+            report("ativados, limite zero", Duration.ZERO, Duration.ZERO);
+            System.out.println();
+        }
+    }
+
+    private static void report(String name, Duration repositoryThreshold, Duration conversionThreshold) {
+        try (Recording recording = new Recording()) {
+            if (repositoryThreshold != null) {
+                recording.enable(PropertyRepositoryEvent.NAME).withThreshold(repositoryThreshold);
+                recording.enable(PropertyConversionEvent.NAME).withThreshold(conversionThreshold);
+                recording.start();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink = PropertyDTO.propertyToDTO(REPOSITORY.getProperty(IDS[i % PROPERTIES]));
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-30s %,8d ns/op%n", name, elapsed / ITERATIONS);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.meli.desafio_quality.benchmark;
+
+import br.com.meli.desafio_quality.dto.ErrorDTO;
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark do caminho de id inexistente, que domina o tráfego de robôs e links antigos.
+ * Compara a exceção anterior (stack trace completo e um {@link ErrorDTO} novo a cada falha),
+ * a exceção atual sem stack trace e a busca por {@code Optional}, que não lança nada. As duas últimas medições cobrem a
+ * resposta 404 inteira (exceção, corpo de erro e serialização em JSON), com ids repetidos e com ids sempre novos,
+ * como numa varredura. As chamadas são feitas a partir de uma pilha com profundidade parecida com a de uma
+ * requisição do Spring MVC.
+ *
+ * Execução: {@code java -cp target/classes:target/test-classes br.com.meli.desafio_quality.benchmark.NotFoundBenchmark}
+ */
+public class NotFoundBenchmark {
+
+    private static final int STACK_DEPTH = 80;
+    private static final int ITERATIONS = 500_000;
+    private static final int DISTINCT_MISSING_IDS = 500;
+
+    private static final PropertyRepositoryImpl REPOSITORY = new PropertyRepositoryImpl(0);
+    private static final String[] MISSING_IDS = new String[DISTINCT_MISSING_IDS];
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        REPOSITORY.addProperty(new Property("0HM0SCTS80000", "Brooklyn Village",
+                new District("Barra da Tijuca", BigDecimal.valueOf(18000)), List.of(new Room("Kitchen", 10.0, 5.0))));
+        for (int i = 0; i < MISSING_IDS.length; i++) {
+            MISSING_IDS[i] = "stale-link-" + i;
+        }
+
+        for (int round = 0; round < 3; round++) {
+            report("antes: exceção com stack trace", NotFoundBenchmark::legacyMiss);
+            report("depois: exceção sem stack trace", NotFoundBenchmark::stacklessMiss);
+            report("depois: Optional", NotFoundBenchmark::optionalMiss);
+            report("resposta 404, ids repetidos", i -> notFoundResponse(MISSING_IDS[i % MISSING_IDS.length]));
+            report("resposta 404, ids únicos", i -> notFoundResponse("scan-" + i));
+            System.out.println();
+        }
+    }
+
+    private static Object legacyMiss(int i) {
+        String id = MISSING_IDS[i % MISSING_IDS.length];
+        try {
+            return REPOSITORY.findPropertyById(id).orElseThrow(() -> new LegacyPropertyNotFoundException(id));
+        } catch (LegacyPropertyNotFoundException ex) {
+            return ex.error;
+        }
+    }
+
+    private static Object stacklessMiss(int i) {
+        try {
+            return REPOSITORY.getProperty(MISSING_IDS[i % MISSING_IDS.length]);
+        } catch (PropertyNotFoundException ex) {
+            return ex.getError();
+        }
+    }
+
+    private static Object optionalMiss(int i) {
+        return REPOSITORY.findPropertyById(MISSING_IDS[i % MISSING_IDS.length]).orElse(null);
+    }
+
+    private static Object notFoundResponse(String id) {
+        Object body;
+        try {
+            body = REPOSITORY.getProperty(id);
+        } catch (PropertyNotFoundException ex) {
+            body = ex.getError();
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void report(String name, IntFunction<Object> miss) {
+        long start = System.nanoTime();
+        deep(STACK_DEPTH, miss);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-35s %,8d ns/op%n", name, elapsed / ITERATIONS);
+    }
+
+    private static void deep(int depth, IntFunction<Object> miss) {
+        if (depth > 0) {
+            deep(depth - 1, miss);
+            return;
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = miss.apply(i);
+        }
+    }
+
+    /**
+     * Reprodução da exceção anterior: captura stack trace e monta um corpo de erro novo a cada falha
+     */
+    private static class LegacyPropertyNotFoundException extends RuntimeException {
+        private final ErrorDTO error;
+
+        LegacyPropertyNotFoundException(String propertyId) {
+            this.error = new ErrorDTO(getClass().getSimpleName(), "o ID: " + propertyId + " não está cadastrado.");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.meli.desafio_quality.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga das rotas de property, usado para comparar a pilha servlet com a pilha reativa nas mesmas condições.
+ * A aplicação deve estar em execução e com propriedades cadastradas, de preferência os dados sintéticos de semente
+ * fixa (property.seed.properties), para que as execuções sejam comparáveis; o teste é executado uma vez com cada pilha:
+ * <pre>
+ * java -Dproperty.seed.properties=200000 -jar desafio_quality.jar
+ * java -Dproperty.seed.properties=200000 -Dspring.main.web-application-type=reactive -jar desafio_quality.jar
+ * </pre>
+ * Cada usuário virtual envia uma requisição assim que recebe a resposta da anterior. Há duas fases: apenas cálculos
+ * (ids sorteados entre todas as propriedades) e cálculos disputando o servidor com listagens completas.
+ *
+ * Execução: {@code java -cp target/test-classes br.com.meli.desafio_quality.benchmark.PropertyApiLoadTest [url] [usuários] [segundos]}
+ */
+public class PropertyApiLoadTest {
+
+    private static final String[] CALCULATIONS = {
+            "/property/calculate-total-area-property/",
+            "/property/find-largest-room/",
+            "/property/calculate-area-rooms/",
+            "/property/calculate-property-price/"
+    };
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    /**
+     * Usuários virtuais da fase mista que só fazem listagens completas
+     */
+    private static final int LISTING_USERS = 2;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<String> ids;
+
+    private PropertyApiLoadTest(HttpClient client, String baseUrl, List<String> ids) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.ids = ids;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+        String listing = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/property/get-all-properties?fields=id")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(listing);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Nenhuma propriedade cadastrada em " + baseUrl);
+        }
+        System.out.printf("%s: %,d propriedades, %d usuários, %d s por fase%n%n", baseUrl, ids.size(), users, seconds);
+
+        PropertyApiLoadTest test = new PropertyApiLoadTest(client, baseUrl, ids);
+        test.run("aquecimento", users, 0, Math.max(2, seconds / 4), false);
+        test.run("cálculos", users, 0, seconds, true);
+        test.run("cálculos + listagens", users, LISTING_USERS, seconds, true);
+    }
+
+    private void run(String phase, int calculationUsers, int listingUsers, int seconds, boolean print) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        Stats calculations = new Stats();
+        Stats listings = new Stats();
+
+        List<CompletableFuture<Void>> users = new ArrayList<>();
+        for (int i = 0; i < calculationUsers; i++) {
+            users.add(loop(this::calculationRequest, calculations, deadline));
+        }
+        for (int i = 0; i < listingUsers; i++) {
+            users.add(loop(() -> HttpRequest.newBuilder(URI.create(baseUrl + "/property/get-all-properties")).build(), listings, deadline));
+        }
+        long start = System.nanoTime();
+        CompletableFuture.allOf(users.toArray(new CompletableFuture[0])).join();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        if (print) {
+            System.out.println(phase);
+            calculations.print("  cálculos", elapsed);
+            if (listingUsers > 0) {
+                listings.print("  listagens", elapsed);
+            }
+            System.out.println();
+        }
+    }
+
+    private HttpRequest calculationRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String route = CALCULATIONS[random.nextInt(CALCULATIONS.length)];
+        return HttpRequest.newBuilder(URI.create(baseUrl + route + ids.get(random.nextInt(ids.size())))).build();
+    }
+
+    /**
+     * Usuário virtual: envia a próxima requisição quando recebe a resposta da anterior, até o prazo
+     */
+    private CompletableFuture<Void> loop(Supplier<HttpRequest> next, Stats stats, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return client.sendAsync(next.get(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    stats.record(System.nanoTime() - start, error != null ? -1 : response.statusCode());
+                    return null;
+                })
+                .thenCompose(ignored -> loop(next, stats, deadline));
+    }
+
+    /**
+     * Latências das respostas 200, recusas por sobrecarga (429 e 503) e demais falhas de uma fase
+     */
+    private static final class Stats {
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private final AtomicLong rejections = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        synchronized void record(long nanos, int status) {
+            if (status == 429 || status == 503) {
+                rejections.incrementAndGet();
+                return;
+            }
+            if (status != 200) {
+                failures.incrementAndGet();
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized void print(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("%-12s %,9.1f req/s   p50 %,8.2f ms   p99 %,8.2f ms   máx %,8.2f ms   recusas %,d   falhas %,d%n",
+                    name, count / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6, rejections.get(), failures.get());
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.meli.desafio_quality.benchmark;
+
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.serialization.PropertyCborSerializer;
+import br.com.meli.desafio_quality.serialization.PropertyFields;
+import br.com.meli.desafio_quality.serialization.PropertyJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Benchmark da transferência de listas completas de propriedades: compara o tamanho do payload e a vazão
+ * de codificação e decodificação em JSON e em CBOR, com a mesma lista e o mesmo esquema de campos.
+ *
+ * Execução: {@code java -cp target/classes:target/test-classes:<dependências> br.com.meli.desafio_quality.benchmark.PropertyPayloadBenchmark}
+ */
+public class PropertyPayloadBenchmark {
+
+    private static final int PROPERTIES = 10_000;
+    private static final int ITERATIONS = 30;
+
+    private static final ObjectMapper JSON = new ObjectMapper().registerModule(new PropertyJsonModule());
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+    private static final PropertyCborSerializer CBOR_SERIALIZER = new PropertyCborSerializer();
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        List<Property> properties = newProperties();
+        byte[] json = JSON.writeValueAsBytes(properties);
+        byte[] cbor = CBOR_SERIALIZER.toCbor(properties, PropertyFields.ALL, true);
+
+        System.out.printf("propriedades=%,d  json=%,d bytes  cbor=%,d bytes (%.0f%%)%n",
+                PROPERTIES, json.length, cbor.length, 100.0 * cbor.length / json.length);
+
+        for (int round = 0; round < 3; round++) {
+            report("codificação json", () -> JSON.writeValueAsBytes(properties));
+            report("codificação cbor", () -> CBOR_SERIALIZER.toCbor(properties, PropertyFields.ALL, true));
+            report("decodificação json", () -> JSON.readValue(json, PropertyDTO[].class));
+            report("decodificação cbor", () -> CBOR.readValue(cbor, PropertyDTO[].class));
+            System.out.println();
+        }
+    }
+
+    private static void report(String name, Callable<Object> operation) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.call();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %,10d µs/lista  %,8.0f propriedades/ms%n", name, elapsed / ITERATIONS / 1000,
+                PROPERTIES * ITERATIONS / (elapsed / 1e6));
+    }
+
+    private static List<Property> newProperties() {
+        List<District> districts = List.of(new District("Barra da Tijuca", BigDecimal.valueOf(18000)),
+                new District("Alphaville", new BigDecimal("14000.50")));
+        List<Property> properties = new ArrayList<>(PROPERTIES);
+        for (int i = 0; i < PROPERTIES; i++) {
+            List<Room> rooms = List.of(new Room("Kitchen", 10.0 + i % 7, 5.0),
+                    new Room("Living room", 20.0, 5.5 + i % 3), new Room("Bedroom", 4.25, 3.0));
+            properties.add(new Property(String.format("0HM0SCTS8%04d", i % 10_000), "Property " + i,
+                    districts.get(i % districts.size()), rooms));
+        }
+        return properties;
+    }
+}
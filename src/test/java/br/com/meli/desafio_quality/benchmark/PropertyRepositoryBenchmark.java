@@ -0,0 +1,89 @@
+package br.com.meli.desafio_quality.benchmark;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import br.com.meli.desafio_quality.util.SyntheticPropertyGenerator;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark de escalabilidade do {@link PropertyRepositoryImpl}. Mede a vazão de uma carga mista
+ * (inserções, buscas por id e varreduras por bairro) variando a quantidade de threads de 1 até o
+ * número de processadores, com um único shard e com o particionamento padrão. Os dados vêm do
+ * {@link SyntheticPropertyGenerator} com semente fixa.
+ *
+ * Execução: {@code java -cp target/classes:target/test-classes br.com.meli.desafio_quality.benchmark.PropertyRepositoryBenchmark}
+ */
+public class PropertyRepositoryBenchmark {
+
+    private static final int PRELOADED_PROPERTIES = 50_000;
+    private static final long MEASURE_MILLIS = 2_000;
+    private static final SyntheticPropertyGenerator GENERATOR = new SyntheticPropertyGenerator(42, 100);
+    private static final List<DistrictDTO> DISTRICTS = GENERATOR.districts();
+    /**
+     * Propriedades pré-geradas, para que a geração não entre na medição
+     */
+    private static final Property[] POOL = GENERATOR.properties(PRELOADED_PROPERTIES)
+            .map(propertyDTO -> PropertyDTO.dtoToProperty(propertyDTO, null))
+            .toArray(Property[]::new);
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int shards : new int[]{1, 0}) {
+            PropertyRepositoryImpl repository = new PropertyRepositoryImpl(shards);
+            String[] ids = preload(repository);
+            System.out.printf("shards=%d%n", repository.getShardCount());
+
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                long opsPerSecond = measure(repository, ids, threads);
+                System.out.printf("  threads=%-3d ops/s=%,d%n", threads, opsPerSecond);
+            }
+        }
+    }
+
+    private static String[] preload(PropertyRepositoryImpl repository) {
+        String[] ids = new String[PRELOADED_PROPERTIES];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = repository.addProperty(newProperty(i)).getId();
+        }
+        return ids;
+    }
+
+    private static long measure(PropertyRepositoryImpl repository, String[] ids, int threads) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.currentTimeMillis() + MEASURE_MILLIS;
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.currentTimeMillis() < deadline) {
+                    int dice = random.nextInt(1000);
+                    if (dice < 100) {
+                        repository.addProperty(newProperty(random.nextInt()));
+                    } else if (dice == 999) {
+                        repository.getPropertiesByDistrict(DISTRICTS.get(random.nextInt(DISTRICTS.size())).getName());
+                    } else {
+                        repository.getProperty(ids[random.nextInt(ids.length)]);
+                    }
+                    operations.increment();
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return operations.sum() * 1000 / MEASURE_MILLIS;
+    }
+
+    private static Property newProperty(int seed) {
+        Property property = POOL[Math.floorMod(seed, POOL.length)];
+        return new Property(UUID.randomUUID().toString(), property.getName(), property.getDistrict(), property.getRooms());
+    }
+}
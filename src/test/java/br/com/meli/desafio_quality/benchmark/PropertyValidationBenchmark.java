@@ -0,0 +1,56 @@
+package br.com.meli.desafio_quality.benchmark;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+import br.com.meli.desafio_quality.validation.PropertyDTOValidator;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Benchmark da validação de {@link PropertyDTO}: Bean Validation sobre as anotações (antes) e o
+ * {@link PropertyDTOValidator} escrito à mão (depois), para uma propriedade válida de cinco cômodos e para uma
+ * propriedade com um cômodo inválido.
+ *
+ * Execução: {@code java -cp target/classes:target/test-classes:<classpath> br.com.meli.desafio_quality.benchmark.PropertyValidationBenchmark}
+ */
+public class PropertyValidationBenchmark {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final PropertyDTO VALID = new PropertyDTO(null, "Moema Palace",
+            new DistrictDTO("Alphaville", BigDecimal.valueOf(14000)),
+            List.of(new RoomDTO("Kitchen", 10.0, 4.0), new RoomDTO("Living room", 15.0, 5.0), new RoomDTO("Bedroom", 5.0, 5.0),
+                    new RoomDTO("Suíte", 6.0, 4.5), new RoomDTO("Banheiro", 2.0, 3.0)));
+    private static final PropertyDTO INVALID = new PropertyDTO(null, "Moema Palace",
+            new DistrictDTO("Alphaville", BigDecimal.valueOf(14000)),
+            List.of(new RoomDTO("Kitchen", 10.0, 4.0), new RoomDTO("living room", 30.0, 5.0)));
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        PropertyDTOValidator validator = new PropertyDTOValidator();
+
+        for (int round = 0; round < 3; round++) {
+            report("antes: Bean Validation, válida", beanValidator::validate, VALID);
+            report("depois: escrita à mão, válida", validator::validate, VALID);
+            report("antes: Bean Validation, inválida", beanValidator::validate, INVALID);
+            report("depois: escrita à mão, inválida", validator::validate, INVALID);
+            System.out.println();
+        }
+    }
+
+    private static void report(String name, Function<PropertyDTO, Object> validate, PropertyDTO propertyDTO) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = validate.apply(propertyDTO);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-35s %,8d ns/op%n", name, elapsed / ITERATIONS);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.meli.desafio_quality.benchmark;
+
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import br.com.meli.desafio_quality.util.ServerTiming;
+import br.com.meli.desafio_quality.util.SyntheticPropertyGenerator;
+import br.com.meli.desafio_quality.util.UuidIdGenerator;
+
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark do custo da medição do {@link ServerTiming} no caminho de um cálculo (busca no repositório e soma das
+ * áreas). Compara o cálculo sem os pontos de medição, os pontos de medição sem requisição medida (testes, importação)
+ * e uma requisição medida completa: criação da medição, ligação à thread, fases e montagem do cabeçalho.
+ *
+ * Execução: {@code java -cp target/classes:target/test-classes:<classpath> br.com.meli.desafio_quality.benchmark.ServerTimingBenchmark}
+ */
+public class ServerTimingBenchmark {
+
+    private static final int ITERATIONS = 2_000_000;
+    private static final int PROPERTIES = 10_000;
+
+    private static final PropertyRepositoryImpl REPOSITORY = new PropertyRepositoryImpl(0);
+    private static final String[] IDS = new String[PROPERTIES];
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        SyntheticPropertyGenerator generator = new SyntheticPropertyGenerator(42, 100);
+        UuidIdGenerator idGenerator = new UuidIdGenerator();
+        for (int i = 0; i < PROPERTIES; i++) {
+            IDS[i] = REPOSITORY.addProperty(PropertyDTO.dtoToProperty(generator.property(i), idGenerator.nextId())).getId();
+        }
+
+        for (int round = 0; round < 3; round++) {
+            report("cálculo sem medição", ServerTimingBenchmark::plain);
+            report("medição desligada", ServerTimingBenchmark::instrumented);
+            report("requisição medida com cabeçalho", ServerTimingBenchmark::timedRequest);
+            System.out.println();
+        }
+    }
+
+    private static Object plain(int i) {
+        Property property = REPOSITORY.getProperty(IDS[i % PROPERTIES]);
+        return totalArea(property);
+    }
+
+    private static Object instrumented(int i) {
+        Property property = REPOSITORY.getProperty(IDS[i % PROPERTIES]);
+        return ServerTiming.time(ServerTiming.Phase.CALCULATION, () -> totalArea(property));
+    }
+
+    private static Object timedRequest(int i) {
+        ServerTiming previous = ServerTiming.bind(new ServerTiming());
+        try {
+            Object result = instrumented(i);
+            return ServerTiming.current().toHeaderValue() + result;
+        } finally {
+            ServerTiming.bind(previous);
+        }
+    }
+
+    private static double totalArea(Property property) {
+        double area = 0;
+        for (Room room : property.getRooms()) {
+            area += room.getRoomWidth() * room.getRoomLength();
+        }
+        return area;
+    }
+
+    private static void report(String name, IntFunction<Object> operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.apply(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-35s %,8d ns/op%n", name, elapsed / ITERATIONS);
+    }
+}
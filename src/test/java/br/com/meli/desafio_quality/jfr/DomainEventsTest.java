@@ -0,0 +1,128 @@
+package br.com.meli.desafio_quality.jfr;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.exception.DistrictNotFoundException;
+import br.com.meli.desafio_quality.repository.DistrictRepositoryImpl;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import br.com.meli.desafio_quality.service.DistrictService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por garantir que os eventos do JFR são gravados com a propriedade, a quantidade de cômodos e o
+ * resultado de cada operação quando uma gravação os ativa, e que não são gravados quando ela não os ativa
+ */
+public class DomainEventsTest {
+
+    private final PropertyRepositoryImpl propertyRepository = new PropertyRepositoryImpl(4);
+    private final DistrictService districtService =
+            new DistrictService(new DistrictRepositoryImpl(), Mockito.mock(ApplicationEventPublisher.class));
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Valida os eventos do repositório, da busca de bairro e das conversões, com limite zero para que todas as
+     * operações sejam gravadas
+     */
+    @Test
+    public void recordsEventsWhenEnabledTest() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PropertyRepositoryEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(DistrictLookupEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(PropertyConversionEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            exercise();
+
+            recording.stop();
+            Path file = directory.resolve("eventos.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        List<RecordedEvent> repository = byName(events, PropertyRepositoryEvent.NAME);
+        assertEquals(List.of("addProperty", "findPropertyById", "findPropertyById"),
+                repository.stream().map(event -> event.getString("operation")).collect(Collectors.toList()));
+        assertEquals("casa-1", repository.get(0).getString("propertyId"));
+        assertEquals(3, repository.get(0).getInt("roomCount"));
+        assertEquals(DomainEvent.OK, repository.get(0).getString("outcome"));
+        assertEquals(DomainEvent.FOUND, repository.get(1).getString("outcome"));
+        assertEquals(3, repository.get(1).getInt("roomCount"));
+        assertEquals("inexistente", repository.get(2).getString("propertyId"));
+        assertEquals(DomainEvent.NOT_FOUND, repository.get(2).getString("outcome"));
+        assertEquals(0, repository.get(2).getInt("propertyCount"));
+
+        List<RecordedEvent> districts = byName(events, DistrictLookupEvent.NAME);
+        assertEquals(2, districts.size());
+        assertEquals("Alphaville", districts.get(0).getString("districtName"));
+        assertEquals(DomainEvent.FOUND, districts.get(0).getString("outcome"));
+        assertEquals("Centro", districts.get(1).getString("districtName"));
+        assertEquals(DomainEvent.NOT_FOUND, districts.get(1).getString("outcome"));
+
+        List<RecordedEvent> conversions = byName(events, PropertyConversionEvent.NAME);
+        assertEquals(List.of(PropertyConversionEvent.TO_ENTITY, PropertyConversionEvent.TO_DTO),
+                conversions.stream().map(event -> event.getString("direction")).collect(Collectors.toList()));
+        assertTrue(conversions.stream().allMatch(event -> "casa-1".equals(event.getString("propertyId"))
+                && event.getInt("roomCount") == 3 && DomainEvent.OK.equals(event.getString("outcome"))));
+    }
+
+    /**
+     * Valida que, numa gravação que não ativa os eventos, nenhum deles é gravado
+     */
+    @Test
+    public void disabledByDefaultTest() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+
+            exercise();
+
+            recording.stop();
+            Path file = directory.resolve("vazio.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().startsWith("br.com.meli.desafio_quality.")));
+    }
+
+    private void exercise() {
+        PropertyDTO propertyDTO = new PropertyDTO(null, "Casa Verde", new DistrictDTO("Alphaville", BigDecimal.TEN),
+                List.of(new RoomDTO("Sala", 4.0, 5.0), new RoomDTO("Quarto", 3.0, 3.5), new RoomDTO("Cozinha", 2.5, 3.0)));
+
+        districtService.findDistrict("Alphaville");
+        assertThrows(DistrictNotFoundException.class, () -> districtService.findDistrict("Centro"));
+
+        Property property = propertyRepository.addProperty(PropertyDTO.dtoToProperty(propertyDTO, "casa-1"));
+        PropertyDTO.propertyToDTO(propertyRepository.findPropertyById(property.getId()).orElseThrow());
+        propertyRepository.findPropertyById("inexistente");
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((first, second) -> first.getStartTime().compareTo(second.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.meli.desafio_quality.repository;
+
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por testar a consistência entre versões e leituras do {@link PropertyRepositoryImpl}
+ */
+public class PropertyRepositoryImplTest {
+
+    /**
+     * Valida que, durante inserções em lote concorrentes, toda versão lida corresponde a propriedades já visíveis:
+     * o snapshot contém exatamente uma propriedade por versão e a listagem feita depois de ler a versão nunca tem
+     * menos propriedades do que ela indica
+     */
+    @Test
+    public void batchInsertsAreVisibleWithTheirVersionTest() throws Exception {
+        PropertyRepositoryImpl repository = new PropertyRepositoryImpl(8);
+        int batches = 200;
+        int batchSize = 64;
+        AtomicReference<AssertionError> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            for (int batch = 0; batch < batches; batch++) {
+                List<Property> properties = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize; i++) {
+                    properties.add(property("b" + batch + "-" + i));
+                }
+                repository.addProperties(properties);
+            }
+        });
+        writer.start();
+
+        while (writer.isAlive()) {
+            try {
+                PropertySnapshot snapshot = repository.getSnapshot();
+                assertEquals(snapshot.getVersion(), snapshot.getProperties().size());
+
+                long version = repository.getVersion();
+                int listed = repository.getAllProperties().size();
+                assertTrue(listed >= version, () -> "versão " + version + " com " + listed + " propriedades visíveis");
+            } catch (AssertionError error) {
+                failure.compareAndSet(null, error);
+            }
+        }
+        writer.join();
+
+        assertNull(failure.get());
+        assertEquals(batches * batchSize, repository.getAllProperties().size());
+        assertEquals(batches * batchSize, repository.getVersion());
+    }
+
+    /**
+     * Valida que uma limpeza concorrente com inserções não deixa versões órfãs: depois dela, as alterações listadas a
+     * partir da versão da limpeza correspondem exatamente às propriedades armazenadas
+     */
+    @Test
+    public void cleanAllPropertiesLeavesNoPhantomChangesTest() throws Exception {
+        PropertyRepositoryImpl repository = new PropertyRepositoryImpl(64);
+
+        for (int round = 0; round < 100; round++) {
+            String prefix = "r" + round + "-";
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    repository.addProperty(property(prefix + i));
+                }
+            });
+            writer.start();
+            while (repository.getVersion() == repository.getResetVersion()) {
+                Thread.onSpinWait();
+            }
+            repository.cleanAllProperties();
+            writer.join();
+
+            Set<String> stored = repository.getAllProperties().stream().map(Property::getId).collect(Collectors.toSet());
+            Set<String> changed = repository.getChangesSince(repository.getResetVersion(), Integer.MAX_VALUE).getProperties().stream()
+                    .map(Property::getId).collect(Collectors.toSet());
+            Set<String> phantoms = new HashSet<>(changed);
+            phantoms.removeAll(stored);
+            Set<String> unlisted = new HashSet<>(stored);
+            unlisted.removeAll(changed);
+            assertEquals(Set.of(), phantoms);
+            assertEquals(Set.of(), unlisted);
+        }
+    }
+
+    private static Property property(String id) {
+        return new Property(id, "Casa " + id, new District("Alphaville", BigDecimal.TEN), List.of(new Room("Sala", 3.0, 4.0)));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.meli.desafio_quality.serialization;
+
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.exception.InvalidPropertyFieldException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Teste de contrato: a serialização direta das entidades deve produzir exatamente o mesmo JSON
+ * que a serialização dos DTOs usada pela API até então
+ */
+public class PropertyJsonContractTest {
+
+    private final ObjectMapper dtoMapper = new ObjectMapper();
+    private final ObjectMapper entityMapper = new ObjectMapper().registerModule(new PropertyJsonModule());
+
+    /**
+     * Valida o JSON de propriedades com valores variados: acentos, escalas diferentes de BigDecimal,
+     * números inteiros e fracionários e lista de cômodos vazia
+     */
+    @Test
+    public void entityJsonMatchesDtoJsonTest() throws Exception {
+        List<Property> properties = Arrays.asList(
+                new Property("0HM0SCTS80000", "Brooklyn Village", new District("Barra da Tijuca", BigDecimal.valueOf(18000)),
+                        Arrays.asList(new Room("Kitchen", 10.0, 5.0), new Room("Living room", 20.0, 5.0))),
+                new Property("761810e5-4e6e-4400-b0ce-e7d5dc243392", "Moema Palácio", new District("São Conrado", new BigDecimal("14000.50")),
+                        Arrays.asList(new Room("Cômodo \"Ç\"", 0.1, 33.0), new Room("Bedroom", 5, 1e-7))),
+                new Property("0HM0SCV200000", "Vazio", new District("Alphaville", BigDecimal.valueOf(10.0)), List.of()));
+
+        for (Property property : properties) {
+            assertEquals(dtoMapper.writeValueAsString(PropertyDTO.propertyToDTO(property)), entityMapper.writeValueAsString(property));
+        }
+        assertEquals(dtoMapper.writeValueAsString(properties.stream().map(PropertyDTO::propertyToDTO).toArray()),
+                entityMapper.writeValueAsString(properties));
+    }
+
+    /**
+     * Valida que o JSON serializado diretamente é lido de volta como PropertyDTO sem perdas
+     */
+    @Test
+    public void entityJsonRoundTripsAsDtoTest() throws Exception {
+        Property property = new Property("0HM0SCTS80000", "Brooklyn Village", new District("Barra da Tijuca", BigDecimal.valueOf(18000)),
+                List.of(new Room("Kitchen", 10.0, 5.0)));
+
+        PropertyDTO read = dtoMapper.readValue(entityMapper.writeValueAsBytes(property), PropertyDTO.class);
+
+        assertEquals(PropertyDTO.propertyToDTO(property), read);
+    }
+
+    /**
+     * Valida que a projeção escreve apenas os campos solicitados, na ordem da representação completa,
+     * e que a projeção com todos os campos é idêntica à representação completa
+     */
+    @Test
+    public void projectionWritesOnlyRequestedFieldsTest() throws Exception {
+        Property property = new Property("0HM0SCTS80000", "Brooklyn Village", new District("Barra da Tijuca", BigDecimal.valueOf(18000)),
+                List.of(new Room("Kitchen", 10.0, 5.0)));
+
+        assertEquals("{\"id\":\"0HM0SCTS80000\",\"name\":\"Brooklyn Village\"}", project(property, "name,id"));
+        assertEquals("{\"id\":\"0HM0SCTS80000\",\"rooms\":[{\"roomName\":\"Kitchen\",\"roomWidth\":10.0,\"roomLength\":5.0}]}",
+                project(property, "rooms, id"));
+        assertEquals(entityMapper.writeValueAsString(property), project(property, "id,name,district,rooms"));
+        assertThrows(InvalidPropertyFieldException.class, () -> PropertyFields.parse("id,price"));
+    }
+
+    private String project(Property property, String fields) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = entityMapper.getFactory().createGenerator(out)) {
+            PropertyJsonWriter.writeProperty(gen, property, PropertyFields.parse(fields));
+        }
+        return out.toString();
+    }
+}
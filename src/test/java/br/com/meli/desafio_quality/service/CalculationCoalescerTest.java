@@ -0,0 +1,132 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe de teste responsável por testar o agrupamento de cálculos concorrentes
+ */
+public class CalculationCoalescerTest {
+
+    private final CalculationCoalescer coalescer = new CalculationCoalescer();
+
+    /**
+     * Valida que chamadas concorrentes para a mesma propriedade e o mesmo cálculo executam o cálculo uma única vez
+     * e recebem o mesmo resultado
+     */
+    @Test
+    public void concurrentCallsShareOneExecutionTest() throws Exception {
+        int callers = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute("XYZ-12345", 1L, CalculationMetric.PRICE, () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return new Object();
+        })));
+        await(leaderStarted);
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> coalescer.execute("XYZ-12345", 1L, CalculationMetric.PRICE, () -> {
+                executions.incrementAndGet();
+                return new Object();
+            })));
+        }
+        while (coalescer.getStats().getCoalesced() < callers - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        Object shared = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            assertSame(shared, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(callers - 1, coalescer.getStats().getCoalesced());
+        assertEquals(0, coalescer.getStats().getInFlight());
+        executor.shutdown();
+    }
+
+    /**
+     * Valida que, sem concorrência, cada chamada executa o seu próprio cálculo e que a exceção é repassada
+     */
+    @Test
+    public void sequentialCallsAreNotCoalescedTest() {
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.execute("XYZ-12345", 1L, CalculationMetric.TOTAL_AREA, executions::incrementAndGet);
+        coalescer.execute("XYZ-12345", 1L, CalculationMetric.TOTAL_AREA, executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+        assertThrows(PropertyNotFoundException.class, () -> coalescer.execute("ABC", 1L, CalculationMetric.PRICE, () -> {
+            throw new PropertyNotFoundException("ABC");
+        }));
+        assertEquals(0, coalescer.getStats().getCoalesced());
+    }
+
+    /**
+     * Valida que a variante sem bloqueio entrega o futuro do cálculo em andamento às chamadas concorrentes,
+     * sem aguardá-lo, e que a exceção é entregue pelo futuro
+     */
+    @Test
+    public void asyncCallsReceiveRunningFutureTest() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        List<CompletableFuture<Object>> followers = new ArrayList<>();
+
+        CompletableFuture<Object> leader = coalescer.executeAsync("XYZ-12345", 1L, CalculationMetric.PRICE, () -> {
+            executions.incrementAndGet();
+            for (int i = 0; i < 3; i++) {
+                CompletableFuture<Object> follower = coalescer.executeAsync("XYZ-12345", 1L, CalculationMetric.PRICE, () -> {
+                    executions.incrementAndGet();
+                    return new Object();
+                });
+                assertFalse(follower.isDone());
+                followers.add(follower);
+            }
+            return new Object();
+        });
+
+        Object shared = leader.get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<Object> follower : followers) {
+            assertSame(shared, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(3, coalescer.getStats().getCoalesced());
+        assertEquals(0, coalescer.getStats().getInFlight());
+
+        CompletableFuture<Object> failed = coalescer.executeAsync("ABC", 1L, CalculationMetric.PRICE, () -> {
+            throw new PropertyNotFoundException("ABC");
+        });
+        ExecutionException ex = assertThrows(ExecutionException.class, failed::get);
+        assertTrue(ex.getCause() instanceof PropertyNotFoundException);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
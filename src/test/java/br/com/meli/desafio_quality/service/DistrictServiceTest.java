@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 
@@ -34,13 +35,19 @@ public class DistrictServiceTest {
     @Mock
     private DistrictRepository districtRespository;
 
+    /**
+     * {@link ApplicationEventPublisher Publisher} que está sendo mockado
+     */
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Instanciando sut
      */
     @BeforeEach
     private void initializeProperties() {
         MockitoAnnotations.openMocks(this);
-        this.districtService = new DistrictService(districtRespository);
+        this.districtService = new DistrictService(districtRespository, eventPublisher);
     }
 
     /**
@@ -0,0 +1,110 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Classe de teste responsável por testar o cache dos resultados dos cálculos
+ */
+public class PropertyCalculationCacheTest {
+
+    /**
+     * Valida que um cálculo que falha (id inexistente) não cria entrada nem descarta as entradas existentes
+     */
+    @Test
+    public void failedCalculationDoesNotEvictTest() {
+        PropertyCalculationCache cache = new PropertyCalculationCache(1);
+        cache.get("casa", 1L, CalculationMetric.PRICE, () -> "preço");
+
+        assertThrows(PropertyNotFoundException.class, () -> cache.get("inexistente", 1L, CalculationMetric.PRICE, () -> {
+            throw new PropertyNotFoundException("inexistente");
+        }));
+
+        assertEquals("preço", cache.getIfPresent("casa", 1L, CalculationMetric.PRICE));
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(0, cache.getStats().getEvictionCount());
+    }
+
+    /**
+     * Valida que cálculos concorrentes de métricas diferentes da mesma propriedade ficam todos no cache
+     */
+    @Test
+    public void concurrentMissesKeepAllMetricsTest() throws Exception {
+        PropertyCalculationCache cache = new PropertyCalculationCache(100);
+        CalculationMetric[] metrics = CalculationMetric.values();
+        CountDownLatch allCalculating = new CountDownLatch(metrics.length);
+        ExecutorService executor = Executors.newFixedThreadPool(metrics.length);
+        try {
+            Future<?>[] futures = new Future<?>[metrics.length];
+            for (int i = 0; i < metrics.length; i++) {
+                CalculationMetric metric = metrics[i];
+                futures[i] = executor.submit(() -> cache.get("casa", 1L, metric, () -> {
+                    allCalculating.countDown();
+                    await(allCalculating);
+                    return metric.name();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (CalculationMetric metric : metrics) {
+            assertEquals(metric.name(), cache.getIfPresent("casa", 1L, metric));
+        }
+    }
+
+    /**
+     * Valida que um resultado calculado enquanto a propriedade era invalidada não fica no cache
+     */
+    @Test
+    public void invalidationDuringCalculationDiscardsResultTest() {
+        PropertyCalculationCache cache = new PropertyCalculationCache(100);
+
+        cache.get("casa", 1L, CalculationMetric.PRICE, () -> {
+            cache.invalidate("casa");
+            return "preço antigo";
+        });
+
+        assertNull(cache.getIfPresent("casa", 1L, CalculationMetric.PRICE));
+        assertEquals("preço novo", cache.get("casa", 1L, CalculationMetric.PRICE, () -> "preço novo"));
+        assertEquals("preço novo", cache.getIfPresent("casa", 1L, CalculationMetric.PRICE));
+    }
+
+    /**
+     * Valida que um resultado só atende a versão da propriedade em que foi calculado e que o resultado de uma versão
+     * anterior não substitui o da versão mais nova
+     */
+    @Test
+    public void resultsAreKeptPerPropertyVersionTest() {
+        PropertyCalculationCache cache = new PropertyCalculationCache(100);
+        cache.get("casa", 1L, CalculationMetric.PRICE, () -> "preço antigo");
+
+        assertNull(cache.getIfPresent("casa", 2L, CalculationMetric.PRICE));
+        assertEquals("preço novo", cache.get("casa", 2L, CalculationMetric.PRICE, () -> "preço novo"));
+
+        cache.get("casa", 1L, CalculationMetric.TOTAL_AREA, () -> "área antiga");
+        assertEquals("preço novo", cache.getIfPresent("casa", 2L, CalculationMetric.PRICE));
+        assertNull(cache.getIfPresent("casa", 1L, CalculationMetric.TOTAL_AREA));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
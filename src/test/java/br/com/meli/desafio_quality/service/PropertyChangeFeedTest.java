@@ -0,0 +1,193 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.FeedStatsDTO;
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.event.DistrictPriceChangedEvent;
+import br.com.meli.desafio_quality.event.PropertyInsertedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por testar o buffer circular e o envio do {@link PropertyChangeFeed}
+ */
+public class PropertyChangeFeedTest {
+
+    /**
+     * Valida que um assinante recebe, em ordem, os cadastros e as alterações de preço publicados depois da assinatura
+     */
+    @Test
+    public void subscriberReceivesEventsInOrderTest() {
+        PropertyChangeFeed feed = new PropertyChangeFeed(8, 0, Runnable::run);
+        feed.onPropertyInserted(new PropertyInsertedEvent(property("0HM0SCTS80000")));
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter, null);
+        feed.onPropertyInserted(new PropertyInsertedEvent(property("0HM0SCV200000")));
+        feed.onDistrictPriceChanged(new DistrictPriceChangedEvent("Alphaville", BigDecimal.valueOf(12000)));
+
+        assertEquals(List.of("id:2", "event:property-inserted", "id:3", "event:district-price-changed"), emitter.idsAndNames());
+        assertEquals(0, feed.getStats().getMaxLag());
+    }
+
+    /**
+     * Valida que um assinante atrasado, cujos eventos já foram sobrescritos no buffer, recebe um resync
+     * e volta a receber os eventos novos, sem bloquear quem publica
+     */
+    @Test
+    public void slowSubscriberIsResyncedTest() {
+        QueuedExecutor executor = new QueuedExecutor();
+        PropertyChangeFeed feed = new PropertyChangeFeed(4, 0, executor);
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter, null);
+        executor.runAll();
+
+        for (int i = 0; i < 10; i++) {
+            feed.onPropertyInserted(new PropertyInsertedEvent(property("p" + i)));
+        }
+        FeedStatsDTO stats = feed.getStats();
+        assertEquals(10, stats.getMaxLag());
+
+        executor.runAll();
+        feed.onPropertyInserted(new PropertyInsertedEvent(property("p10")));
+        executor.runAll();
+
+        assertEquals(List.of("id:10", "event:resync", "id:11", "event:property-inserted"), emitter.idsAndNames());
+        assertEquals(1, feed.getStats().getResyncCount());
+        assertEquals(0, feed.getStats().getMaxLag());
+    }
+
+    /**
+     * Valida que a reconexão com Last-Event-ID retoma a partir do último evento recebido
+     */
+    @Test
+    public void resumeFromLastEventIdTest() {
+        PropertyChangeFeed feed = new PropertyChangeFeed(8, 0, Runnable::run);
+        for (int i = 0; i < 3; i++) {
+            feed.onPropertyInserted(new PropertyInsertedEvent(property("p" + i)));
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter, "1");
+
+        assertEquals(List.of("id:2", "event:property-inserted", "id:3", "event:property-inserted"), emitter.idsAndNames());
+    }
+
+    /**
+     * Valida que um assinante parado no envio é descartado depois do tempo máximo de escrita, liberando a única
+     * thread de envio para os demais assinantes
+     */
+    @Test
+    public void stalledSubscriberIsDroppedAfterWriteTimeoutTest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PropertyChangeFeed feed = new PropertyChangeFeed(8, 0, 100, executor, null);
+            StalledEmitter stalled = new StalledEmitter();
+            RecordingEmitter healthy = new RecordingEmitter();
+            feed.subscribe(stalled, null);
+            feed.subscribe(healthy, null);
+
+            feed.onPropertyInserted(new PropertyInsertedEvent(property("p1")));
+            assertTrue(stalled.sendStarted.await(5, TimeUnit.SECONDS));
+            feed.onPropertyInserted(new PropertyInsertedEvent(property("p2")));
+
+            Thread.sleep(150);
+            feed.dropStalledSubscribers();
+
+            assertTrue(stalled.completedWithError.await(5, TimeUnit.SECONDS));
+            assertTrue(stalled.interrupted);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (healthy.idsAndNames().size() < 4 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of("id:1", "event:property-inserted", "id:2", "event:property-inserted"), healthy.idsAndNames());
+            assertEquals(1, feed.getStats().getSubscribers());
+            assertEquals(1, feed.getStats().getDroppedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Property property(String id) {
+        return new Property(id, "Property " + id, new District("Alphaville", BigDecimal.valueOf(10000)), List.of());
+    }
+
+    /**
+     * Emitter que apenas registra os eventos enviados
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build());
+        }
+
+        private List<String> idsAndNames() {
+            return events.stream()
+                    .flatMap(Set::stream)
+                    .flatMap(part -> part.getData().toString().lines())
+                    .filter(line -> line.startsWith("id:") || line.startsWith("event:"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Emitter de um cliente parado: o envio só termina quando a thread é interrompida
+     */
+    private static class StalledEmitter extends SseEmitter {
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch completedWithError = new CountDownLatch(1);
+        private volatile boolean interrupted;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+                throw new IOException("Envio interrompido", ex);
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completedWithError.countDown();
+        }
+    }
+
+    /**
+     * Executor que acumula as tarefas até que o teste decida executá-las, simulando um assinante lento
+     */
+    private static class QueuedExecutor implements Executor {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        private void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+}
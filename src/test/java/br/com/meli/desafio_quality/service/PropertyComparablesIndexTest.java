@@ -0,0 +1,110 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.event.DistrictPriceChangedEvent;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classe responsável por testar a busca dos vizinhos mais próximos do {@link PropertyComparablesIndex},
+ * comparando-a com uma busca exaustiva
+ */
+public class PropertyComparablesIndexTest {
+
+    private static final List<String> DISTRICTS = List.of("Alphaville", "Lapa", "Moema", "Barra da Tijuca");
+
+    private final PropertyRepositoryImpl propertyRepository = new PropertyRepositoryImpl(1);
+
+    private final PropertyComparablesIndex index = new PropertyComparablesIndex(propertyRepository);
+
+    /**
+     * Valida que a floresta de KD-trees devolve os mesmos vizinhos da busca exaustiva, inclusive com propriedades
+     * inseridas em ordem crescente de área, uma a uma e em lotes, e depois de reprecificações de bairro
+     */
+    @Test
+    public void nearestMatchesBruteForceTest() {
+        Random random = new Random(42);
+        Map<String, BigDecimal> prices = new HashMap<>();
+        DISTRICTS.forEach(name -> prices.put(name, BigDecimal.valueOf(5000 + random.nextInt(15000))));
+
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            properties.add(property("p" + i, DISTRICTS.get(random.nextInt(DISTRICTS.size())), prices, random, i < 500 ? i : -1));
+        }
+        properties.subList(0, 500).forEach(p -> index.add(List.of(p)));
+        index.onPropertiesImported(new PropertiesImportedEvent(properties.subList(500, properties.size())));
+
+        for (int round = 0; round < 8; round++) {
+            String district = DISTRICTS.get(round % DISTRICTS.size());
+            BigDecimal price = BigDecimal.valueOf(5000 + random.nextInt(15000));
+            prices.put(district, price);
+            index.onDistrictPriceChanged(new DistrictPriceChangedEvent(district, price));
+            properties.replaceAll(p -> p.getDistrict().getName().equals(district)
+                    ? new Property(p.getId(), p.getName(), new District(district, price), p.getRooms()) : p);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            Property reference = properties.get(random.nextInt(properties.size()));
+            for (boolean sameDistrict : new boolean[]{false, true}) {
+                List<String> expected = bruteForce(properties, reference, 7, sameDistrict);
+                List<String> actual = index.nearest(reference, 7, sameDistrict).stream()
+                        .map(PropertyComparablesIndex.Match::getId).collect(Collectors.toList());
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private static List<String> bruteForce(List<Property> properties, Property reference, int k, boolean sameDistrict) {
+        double[] query = PropertyComparablesIndex.features(reference);
+        double[] weights = new double[PropertyComparablesIndex.DIMENSIONS];
+        for (int d = 0; d < weights.length; d++) {
+            int dimension = d;
+            double mean = properties.stream().mapToDouble(p -> PropertyComparablesIndex.features(p)[dimension]).average().orElse(0);
+            double variance = properties.stream()
+                    .mapToDouble(p -> Math.pow(PropertyComparablesIndex.features(p)[dimension] - mean, 2)).average().orElse(0);
+            weights[d] = variance > 1e-12 ? 1 / variance : 1;
+        }
+        Comparator<Property> byDistance = Comparator.comparingDouble(p -> {
+            double[] point = PropertyComparablesIndex.features(p);
+            double distance = 0;
+            for (int d = 0; d < point.length; d++) {
+                distance += (query[d] - point[d]) * (query[d] - point[d]) * weights[d];
+            }
+            return distance;
+        });
+        return properties.stream()
+                .filter(p -> !p.getId().equals(reference.getId()))
+                .filter(p -> !sameDistrict || p.getDistrict().getName().equals(reference.getDistrict().getName()))
+                .sorted(byDistance)
+                .limit(k)
+                .map(Property::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Propriedade com cômodos aleatórios; com {@code ordered >= 0}, a área cresce com o índice
+     */
+    private static Property property(String id, String district, Map<String, BigDecimal> prices, Random random, int ordered) {
+        List<Room> rooms = new ArrayList<>();
+        int roomCount = 1 + random.nextInt(6);
+        for (int r = 0; r < roomCount; r++) {
+            double width = ordered >= 0 ? 1 + ordered * 0.01 + r : 1 + random.nextDouble() * 9;
+            rooms.add(new Room("Room " + r, width, 1 + random.nextDouble() * 9));
+        }
+        return new Property(id, id, new District(district, prices.get(district)), rooms);
+    }
+}
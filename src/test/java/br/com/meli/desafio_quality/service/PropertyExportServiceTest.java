@@ -0,0 +1,133 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.ExportJobDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import br.com.meli.desafio_quality.serialization.PropertyExportFormat;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por testar a exportação em massa do PropertyExportService
+ */
+public class PropertyExportServiceTest {
+
+    private static final int PROPERTIES = 200;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PropertyExportService propertyExportService;
+
+    @BeforeEach
+    private void initializeService() {
+        PropertyRepositoryImpl propertyRepository = new PropertyRepositoryImpl(4);
+        for (int i = 0; i < PROPERTIES; i++) {
+            propertyRepository.addProperty(new Property("id-" + i, "Property " + i,
+                    new District("Alphaville", BigDecimal.valueOf(14000)), List.of(new Room("Kitchen", 10.0, 5.0))));
+        }
+        propertyExportService = new PropertyExportService(propertyRepository, directory, "ndjson", true, 0, 0);
+    }
+
+    /**
+     * Valida a exportação em NDJSON dividida em arquivos de tamanho limitado: todas as propriedades
+     * são gravadas, na ordem de inserção, e nenhum arquivo parcial permanece
+     */
+    @Test
+    public void exportNdjsonInChunksTest() throws Exception {
+        ExportJobDTO job = propertyExportService.export(PropertyExportFormat.NDJSON, false, 1024);
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(PROPERTIES, job.getProperties());
+        assertTrue(job.getFiles().size() > 1);
+
+        List<PropertyDTO> exported = new ArrayList<>();
+        for (String file : job.getFiles()) {
+            assertTrue(file.endsWith(".ndjson"));
+            assertTrue(Files.size(Path.of(file)) < 1024 + 200);
+            try (BufferedReader reader = Files.newBufferedReader(Path.of(file), UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    exported.add(objectMapper.readValue(line, PropertyDTO.class));
+                }
+            }
+        }
+        assertEquals(names(), exported.stream().map(PropertyDTO::getName).collect(Collectors.toList()));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".part")));
+        }
+    }
+
+    /**
+     * Valida a exportação em CBOR compactado com gzip, lida de volta como uma sequência de PropertyDTO
+     */
+    @Test
+    public void exportGzipCborTest() throws Exception {
+        ExportJobDTO job = propertyExportService.export(PropertyExportFormat.CBOR, true, 1 << 20);
+
+        assertEquals("COMPLETED", job.getStatus(), job.getError());
+        assertEquals(1, job.getFiles().size());
+        assertEquals(Files.size(Path.of(job.getFiles().get(0))), job.getBytes());
+
+        List<PropertyDTO> exported;
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(Path.of(job.getFiles().get(0))));
+             MappingIterator<PropertyDTO> iterator = new ObjectMapper(new CBORFactory()).readerFor(PropertyDTO.class).readValues(input)) {
+            exported = iterator.readAll();
+        }
+        assertEquals(names(), exported.stream().map(PropertyDTO::getName).collect(Collectors.toList()));
+        assertEquals("id-7", exported.get(7).getId());
+    }
+
+    /**
+     * Valida que o limite de propriedades por segundo espaça a exportação: 200 propriedades a 1000 por segundo
+     * levam ao menos 190 ms, o instante previsto para a última pausa
+     */
+    @Test
+    public void exportRespectsPropertiesPerSecondLimitTest() {
+        PropertyRepositoryImpl propertyRepository = new PropertyRepositoryImpl(4);
+        for (int i = 0; i < PROPERTIES; i++) {
+            propertyRepository.addProperty(new Property("id-" + i, "Property " + i,
+                    new District("Alphaville", BigDecimal.valueOf(14000)), List.of(new Room("Kitchen", 10.0, 5.0))));
+        }
+        PropertyExportService throttled = new PropertyExportService(propertyRepository, directory, "ndjson", false, 0, 1000);
+
+        long start = System.nanoTime();
+        ExportJobDTO job = throttled.export(PropertyExportFormat.NDJSON, false, 1 << 20);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("COMPLETED", job.getStatus(), job.getError());
+        assertEquals(PROPERTIES, job.getProperties());
+        assertTrue(elapsedMillis >= 190, "exportação em " + elapsedMillis + " ms");
+    }
+
+    private static List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < PROPERTIES; i++) {
+            names.add("Property " + i);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.ImportReportDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.repository.DistrictRepositoryImpl;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import br.com.meli.desafio_quality.serialization.PropertyImportFormat;
+import br.com.meli.desafio_quality.util.UuidIdGenerator;
+import br.com.meli.desafio_quality.validation.PropertyDTOValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classe responsável por testar a importação em massa do PropertyImportService
+ */
+public class PropertyImportServiceTest {
+
+    private PropertyRepositoryImpl propertyRepository;
+
+    private PropertyImportService propertyImportService;
+
+    @BeforeEach
+    private void initializeService() {
+        propertyRepository = new PropertyRepositoryImpl(4);
+        propertyImportService = new PropertyImportService(propertyRepository, new DistrictRepositoryImpl(), new UuidIdGenerator(),
+                new PropertyDTOValidator(), new ObjectMapper(), event -> { }, 2);
+    }
+
+    /**
+     * Valida a importação de NDJSON em lotes: linhas válidas são inseridas na ordem do arquivo e as
+     * inválidas (JSON malformado, regra do PropertyDTO violada, bairro inexistente) são rejeitadas com o número da linha
+     */
+    @Test
+    public void importNdjsonTest() {
+        String ndjson = String.join("\n",
+                "{\"name\":\"Brooklyn Village\",\"district\":{\"name\":\"Barra da Tijuca\",\"valueDistrictM2\":18000},\"rooms\":[{\"roomName\":\"Kitchen\",\"roomWidth\":10.0,\"roomLength\":5.0}]}",
+                "{\"name\":\"Moema Palace\",\"district\":{\"name\":\"Alphaville\",\"valueDistrictM2\":14000},\"rooms\":[]}",
+                "",
+                "{\"name\":\"sem maiúscula\",\"district\":{\"name\":\"Alphaville\",\"valueDistrictM2\":14000},\"rooms\":[]}",
+                "{\"name\":\"Tijuca Village\",",
+                "{\"name\":\"Lapa Village\",\"district\":{\"name\":\"Lapa\",\"valueDistrictM2\":9000},\"rooms\":[]}",
+                "{\"name\":\"Alpha Tower\",\"district\":{\"name\":\"Alphaville\",\"valueDistrictM2\":14000},\"rooms\":[{\"roomName\":\"Hall\",\"roomWidth\":2.0,\"roomLength\":3.0}]}");
+
+        ImportReportDTO report = importString(ndjson, PropertyImportFormat.NDJSON);
+
+        assertEquals(6, report.getRows());
+        assertEquals(3, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals(List.of(4L, 5L, 6L), report.getRejections().stream().map(r -> r.getLine()).collect(Collectors.toList()));
+        assertEquals("O nome da propriedade deve começar com uma letra maiúscula.", report.getRejections().get(0).getReason());
+        assertEquals(List.of("Brooklyn Village", "Moema Palace", "Alpha Tower"),
+                propertyRepository.getAllProperties().stream().map(Property::getName).collect(Collectors.toList()));
+    }
+
+    /**
+     * Valida a importação de CSV com cabeçalho, campos entre aspas e a lista de cômodos
+     */
+    @Test
+    public void importCsvTest() {
+        String csv = String.join("\n",
+                "name,district,valueDistrictM2,rooms",
+                "Brooklyn Village,Barra da Tijuca,18000,\"Kitchen:10.0:5.0;Living room:20.0:5.0\"",
+                "\"Moema, Palace\",Alphaville,14000,",
+                "Tijuca Village,Alphaville,abc,",
+                "Lapa Village,Alphaville,9000,Kitchen:40.0:5.0");
+
+        ImportReportDTO report = importString(csv, PropertyImportFormat.CSV);
+
+        assertEquals(4, report.getRows());
+        assertEquals(1, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals("A largura máxima permitida por cômodo é de 25 metros.", report.getRejections().get(2).getReason());
+
+        Property imported = propertyRepository.getAllProperties().get(0);
+        assertEquals("Brooklyn Village", imported.getName());
+        assertEquals(2, imported.getRooms().size());
+        assertEquals(20.0, imported.getRooms().get(1).getRoomWidth());
+    }
+
+    /**
+     * Valida que uma linha com o literal null é rejeitada sem interromper a importação e que, entre várias
+     * violações, é informada a primeira na ordem de declaração (rooms[2] antes de rooms[10])
+     */
+    @Test
+    public void importRejectsNullLineAndReportsFirstViolationTest() {
+        List<String> rooms = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            String name = i == 10 ? "quarto" : "Quarto";
+            double width = i == 2 ? 30.0 : 3.0;
+            rooms.add("{\"roomName\":\"" + name + "\",\"roomWidth\":" + width + ",\"roomLength\":4.0}");
+        }
+        String ndjson = String.join("\n",
+                "null",
+                "{\"name\":\"Casa Grande\",\"district\":{\"name\":\"Alphaville\",\"valueDistrictM2\":14000},\"rooms\":["
+                        + String.join(",", rooms) + "]}",
+                "{\"name\":\"Alpha Tower\",\"district\":{\"name\":\"Alphaville\",\"valueDistrictM2\":14000},\"rooms\":[]}");
+
+        ImportReportDTO report = importString(ndjson, PropertyImportFormat.NDJSON);
+
+        assertEquals(3, report.getRows());
+        assertEquals(1, report.getImported());
+        assertEquals("A linha não contém uma propriedade.", report.getRejections().get(0).getReason());
+        assertEquals("A largura máxima permitida por cômodo é de 25 metros.", report.getRejections().get(1).getReason());
+    }
+
+    private ImportReportDTO importString(String content, PropertyImportFormat format) {
+        return propertyImportService.importProperties(new ByteArrayInputStream(content.getBytes(UTF_8)), format);
+    }
+}
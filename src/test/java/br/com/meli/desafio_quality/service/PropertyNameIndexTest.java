@@ -0,0 +1,92 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.event.PropertyInsertedEvent;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classe responsável por testar a busca por prefixo e por trecho do {@link PropertyNameIndex}
+ */
+public class PropertyNameIndexTest {
+
+    private PropertyRepositoryImpl propertyRepository;
+
+    private PropertyNameIndex index;
+
+    @BeforeEach
+    private void initializeIndex() {
+        propertyRepository = new PropertyRepositoryImpl(4);
+        index = new PropertyNameIndex(propertyRepository);
+        index.onPropertiesImported(new PropertiesImportedEvent(List.of(
+                property("p1", "Brooklyn Village"),
+                property("p2", "Moema Palácio"),
+                property("p3", "Vila Madalena"))));
+        index.onPropertyInserted(new PropertyInsertedEvent(property("p4", "Alpha Tower Village")));
+    }
+
+    /**
+     * Valida que o texto é buscado no início de cada palavra, em ordem alfabética, ignorando maiúsculas
+     */
+    @Test
+    public void wordPrefixTest() {
+        assertEquals(List.of("p3", "p1", "p4"), index.search("VIL", 10));
+        assertEquals(List.of("p4"), index.search("alpha t", 10));
+        assertEquals(List.of(), index.search("x", 10));
+    }
+
+    /**
+     * Valida que trechos no meio das palavras são encontrados pelos trigramas, depois dos prefixos
+     */
+    @Test
+    public void infixTest() {
+        assertEquals(List.of("p1"), index.search("okly", 10));
+        assertEquals(List.of("p2"), index.search("ala", 10));
+        assertEquals(List.of("p1", "p4"), index.search("llage", 10));
+        assertEquals(List.of(), index.search("lyn x", 10));
+    }
+
+    /**
+     * Valida que acentos e espaços repetidos são ignorados, tanto no nome quanto no texto buscado
+     */
+    @Test
+    public void accentFoldingTest() {
+        assertEquals(List.of("p2"), index.search("palacio", 10));
+        assertEquals(List.of("p2"), index.search("  moema   PALÁ ", 10));
+    }
+
+    /**
+     * Valida que a busca respeita o limite de resultados
+     */
+    @Test
+    public void limitTest() {
+        assertEquals(List.of("p3", "p1"), index.search("vil", 2));
+        assertEquals(List.of(), index.search("vil", 0));
+    }
+
+    /**
+     * Valida que o índice é descartado quando o repositório é limpo, de modo que nomes removidos não ocupem o limite
+     * de resultados das propriedades cadastradas depois
+     */
+    @Test
+    public void repositoryResetTest() {
+        propertyRepository.cleanAllProperties();
+        assertEquals(List.of(), index.search("vil", 10));
+
+        index.onPropertyInserted(new PropertyInsertedEvent(property("p5", "Vila Olímpia")));
+        assertEquals(List.of("p5"), index.search("vil", 1));
+        assertEquals(List.of("p5"), index.search("limp", 1));
+    }
+
+    private static Property property(String id, String name) {
+        return new Property(id, name, new District("Alphaville", BigDecimal.valueOf(14000)), List.of());
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.entity.District;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.event.PropertiesImportedEvent;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classe responsável por testar as consultas e as facetas do {@link PropertyRoomIndex}
+ */
+public class PropertyRoomIndexTest {
+
+    private PropertyRepositoryImpl propertyRepository;
+
+    private PropertyRoomIndex index;
+
+    @BeforeEach
+    private void initializeIndex() {
+        propertyRepository = new PropertyRepositoryImpl(1);
+        index = new PropertyRoomIndex(propertyRepository);
+        index.onPropertiesImported(new PropertiesImportedEvent(List.of(
+                property("p1", "Alphaville", "Bedroom", "Office", "Kitchen"),
+                property("p2", "Alphaville", "Bedroom", "Kitchen"),
+                property("p3", "Lapa", "bedroom", "Office"),
+                property("p4", "Lapa", "Bedroom", "Bedroom", "Escritório", "Kitchen"))));
+    }
+
+    /**
+     * Valida "tem Bedroom e Office", ignorando maiúsculas, com as facetas das propriedades encontradas
+     */
+    @Test
+    public void allRoomsTest() {
+        PropertyRoomIndex.Result result = index.search(List.of("BEDROOM", "office"), null, null, null, null, 10);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of("p1", "p3"), result.getIds());
+        assertEquals(Map.of("Bedroom", 2, "Office", 2, "Kitchen", 1), result.getRoomFacets());
+        assertEquals(Map.of(2, 1, 3, 1), result.getRoomCountFacets());
+        assertEquals(Map.of("Alphaville", 1, "Lapa", 1), result.getDistrictFacets());
+    }
+
+    /**
+     * Valida a combinação de OR entre cômodos com bairro e com a faixa de quantidade de cômodos
+     */
+    @Test
+    public void anyRoomsWithDistrictAndRoomCountTest() {
+        assertEquals(List.of("p3", "p4"), index.search(null, List.of("Office", "escritorio"), "Lapa", null, null, 10).getIds());
+        assertEquals(List.of("p1", "p4"), index.search(null, null, null, 3, null, 10).getIds());
+        assertEquals(List.of("p2", "p3"), index.search(null, null, null, null, 2, 10).getIds());
+        assertEquals(List.of(), index.search(List.of("Garage"), null, null, null, null, 10).getIds());
+        assertEquals(List.of(), index.search(null, null, "Barra da Tijuca", null, null, 10).getIds());
+    }
+
+    /**
+     * Valida o limite de ids, o total e a troca de vetor para bitmap nas listas grandes
+     */
+    @Test
+    public void largePostingsTest() {
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            properties.add(i % 2 == 0 ? property("k" + i, "Alphaville", "Kitchen") : property("k" + i, "Lapa", "Kitchen", "Office"));
+        }
+        index.add(properties);
+
+        PropertyRoomIndex.Result result = index.search(List.of("kitchen", "office"), null, null, null, null, 3);
+        assertEquals(5_001, result.getTotal());
+        assertEquals(List.of("p1", "k1", "k3"), result.getIds());
+        assertEquals(Map.of("Alphaville", 1, "Lapa", 5_000), result.getDistrictFacets());
+    }
+
+    /**
+     * Valida que o índice é descartado quando o repositório é limpo
+     */
+    @Test
+    public void repositoryResetTest() {
+        propertyRepository.cleanAllProperties();
+        assertEquals(0, index.search(null, null, null, null, null, 10).getTotal());
+
+        index.add(List.of(property("p5", "Lapa", "Office")));
+        assertEquals(List.of("p5"), index.search(List.of("Office"), null, null, null, null, 10).getIds());
+    }
+
+    private static Property property(String id, String district, String... rooms) {
+        return new Property(id, id, new District(district, BigDecimal.valueOf(14000)),
+                Stream.of(rooms).map(name -> new Room(name, 2.0, 3.0)).collect(Collectors.toList()));
+    }
+}
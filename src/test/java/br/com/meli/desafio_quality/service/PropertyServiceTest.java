@@ -8,18 +8,25 @@ import br.com.meli.desafio_quality.dto.PropertyDTO;
 import br.com.meli.desafio_quality.entity.District;
 import br.com.meli.desafio_quality.entity.Property;
 import br.com.meli.desafio_quality.entity.Room;
+import br.com.meli.desafio_quality.event.DistrictPriceChangedEvent;
 import br.com.meli.desafio_quality.exception.PropertyNotFoundException;
 import br.com.meli.desafio_quality.repository.PropertyRepository;
+import br.com.meli.desafio_quality.serialization.PropertyCborSerializer;
+import br.com.meli.desafio_quality.serialization.PropertyJsonModule;
+import br.com.meli.desafio_quality.util.IdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 /**
@@ -39,10 +46,18 @@ public class PropertyServiceTest {
     @Mock
     private DistrictService districtService;
 
+    @Mock
+    private IdGenerator idGenerator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     private void initializeProperties() {
         MockitoAnnotations.openMocks(this);
-        this.propertyService = new PropertyService(propertyRepository, districtService);
+        this.propertyService = new PropertyService(propertyRepository, districtService, idGenerator, new PropertyCalculationCache(100), new CalculationCoalescer(),
+                new PropertyJsonCache(new ObjectMapper().registerModule(new PropertyJsonModule()), 1 << 20), new PropertyCborSerializer(), eventPublisher,
+                new PropertyNameIndex(propertyRepository), new PropertyRoomIndex(propertyRepository), new PropertyComparablesIndex(propertyRepository));
     }
 
     /**
@@ -132,6 +147,50 @@ public class PropertyServiceTest {
         assertEquals(100.0, roomnsAreaDTO.getRoomAreas().get("living room"));
 
     }
+    /**
+     * Valida que a alteração do valor do metro quadrado do bairro descarta o preço já calculado.
+     * O segundo cálculo deverá usar o novo valor
+     */
+    @Test
+    public void districtPriceChangeInvalidatesCachedPriceTest() {
+        List<Room> rooms = Arrays.asList(new Room("kitchen", 30.0, 10.0));
+        Property property = new Property("XYZ-12345", "Tijuca", new District("Tijuca", BigDecimal.valueOf(100.0)), rooms);
+        District repricedDistrict = new District("Tijuca", BigDecimal.valueOf(200.0));
+        Property repricedProperty = new Property("XYZ-12345", "Tijuca", repricedDistrict, rooms);
+
+        Mockito.when(propertyRepository.getPropertyVersion("XYZ-12345")).thenReturn(OptionalLong.of(1));
+        Mockito.when(propertyRepository.getProperty("XYZ-12345")).thenReturn(property);
+        assertEquals(new BigDecimal("30000.00"), propertyService.calculateProperty("XYZ-12345").getPrice());
+
+        Mockito.when(propertyRepository.repriceDistrict(Mockito.any())).thenReturn(List.of(repricedProperty));
+        Mockito.when(propertyRepository.getPropertyVersion("XYZ-12345")).thenReturn(OptionalLong.of(2));
+        Mockito.when(propertyRepository.getProperty("XYZ-12345")).thenReturn(repricedProperty);
+        propertyService.onDistrictPriceChanged(new DistrictPriceChangedEvent("Tijuca", BigDecimal.valueOf(200.0)));
+
+        assertEquals(new BigDecimal("60000.00"), propertyService.calculateProperty("XYZ-12345").getPrice());
+    }
+
+    /**
+     * Valida que, entre a alteração das versões pelo repositório e a invalidação do cache, o preço calculado na versão
+     * anterior não é devolvido para a versão nova
+     */
+    @Test
+    public void repricedVersionIgnoresCachedPriceBeforeInvalidationTest() {
+        List<Room> rooms = Arrays.asList(new Room("kitchen", 30.0, 10.0));
+        Property property = new Property("XYZ-12345", "Tijuca", new District("Tijuca", BigDecimal.valueOf(100.0)), rooms);
+        Property repricedProperty = new Property("XYZ-12345", "Tijuca", new District("Tijuca", BigDecimal.valueOf(200.0)), rooms);
+
+        Mockito.when(propertyRepository.getPropertyVersion("XYZ-12345")).thenReturn(OptionalLong.of(1));
+        Mockito.when(propertyRepository.getProperty("XYZ-12345")).thenReturn(property);
+        assertEquals(new BigDecimal("30000.00"), propertyService.calculateProperty("XYZ-12345").getPrice());
+
+        Mockito.when(propertyRepository.getPropertyVersion("XYZ-12345")).thenReturn(OptionalLong.of(2));
+        Mockito.when(propertyRepository.getProperty("XYZ-12345")).thenReturn(repricedProperty);
+
+        assertEquals(new BigDecimal("60000.00"), propertyService.calculateProperty("XYZ-12345").getPrice());
+        assertEquals(new BigDecimal("60000.00"), propertyService.calculatePropertyAsync("XYZ-12345").join().getPrice());
+    }
+
     /**
      * Gera propriedades para realizar testes.
      */
@@ -0,0 +1,83 @@
+package br.com.meli.desafio_quality.service;
+
+import br.com.meli.desafio_quality.dto.ImportReportDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.entity.Property;
+import br.com.meli.desafio_quality.repository.DistrictRepositoryImpl;
+import br.com.meli.desafio_quality.repository.PropertyRepositoryImpl;
+import br.com.meli.desafio_quality.serialization.PropertyImportFormat;
+import br.com.meli.desafio_quality.util.SyntheticPropertyGenerator;
+import br.com.meli.desafio_quality.util.UuidIdGenerator;
+import br.com.meli.desafio_quality.validation.PropertyDTOValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Classe responsável por testar a semeadura de dados sintéticos do SyntheticDataService
+ */
+public class SyntheticDataServiceTest {
+
+    private final SyntheticPropertyGenerator generator = new SyntheticPropertyGenerator(42, 20);
+
+    private PropertyRepositoryImpl propertyRepository;
+    private DistrictRepositoryImpl districtRepository;
+    private List<Object> events;
+    private SyntheticDataService syntheticDataService;
+
+    @BeforeEach
+    private void initializeService() {
+        propertyRepository = new PropertyRepositoryImpl(4);
+        districtRepository = new DistrictRepositoryImpl();
+        events = new ArrayList<>();
+        syntheticDataService = new SyntheticDataService(propertyRepository, districtRepository, new UuidIdGenerator(),
+                new ObjectMapper(), events::add, 300);
+    }
+
+    /**
+     * Valida que a semeadura insere as propriedades na ordem de geração, em lotes anunciados aos índices,
+     * e cadastra os bairros sem alterar os existentes
+     */
+    @Test
+    public void seedPropertiesTest() {
+        syntheticDataService.seedProperties(generator, 1000);
+
+        assertEquals(generator.properties(1000).collect(Collectors.toList()), propertyRepository.getAllProperties().stream()
+                .map(PropertyDTO::propertyToDTO)
+                .peek(propertyDTO -> propertyDTO.setId(null))
+                .collect(Collectors.toList()));
+        assertEquals(4, events.size());
+        generator.districts().forEach(district ->
+                assertEquals(district.getValueDistrictM2(), districtRepository.findDistrict(district.getName()).getValueDistrictM2()));
+        assertEquals(10.0, districtRepository.findDistrict("Alphaville").getValueDistrictM2().doubleValue());
+    }
+
+    /**
+     * Valida que o NDJSON gravado é aceito integralmente pela importação em massa de outra instância semeada
+     * apenas com os bairros
+     */
+    @Test
+    public void ndjsonImportRoundTripTest() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        syntheticDataService.writeNdjson(generator, 2000, output);
+
+        syntheticDataService.seedProperties(generator, 0);
+        PropertyImportService importService = new PropertyImportService(propertyRepository, districtRepository,
+                new UuidIdGenerator(), new PropertyDTOValidator(), new ObjectMapper(), event -> { }, 500);
+        ImportReportDTO report = importService.importProperties(new ByteArrayInputStream(output.toByteArray()), PropertyImportFormat.NDJSON);
+
+        assertEquals(2000, report.getRows());
+        assertEquals(0, report.getRejected());
+        assertEquals(generator.properties(2000).map(PropertyDTO::getName).collect(Collectors.toList()),
+                propertyRepository.getAllProperties().stream().map(Property::getName).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.meli.desafio_quality.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por testar as vagas e o ajuste do {@link AdaptiveConcurrencyLimiter}
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    /**
+     * Valida que requisições além do limite são recusadas e que liberar uma vaga, mesmo duas vezes, abre apenas uma
+     */
+    @Test
+    public void rejectsAboveLimitTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        assertNotNull(limiter.tryAcquire());
+        assertNull(limiter.tryAcquire());
+
+        first.release();
+        first.release();
+        assertNotNull(limiter.tryAcquire());
+        assertNull(limiter.tryAcquire());
+        assertEquals(2, limiter.getStats().getRejected());
+        assertEquals(2, limiter.getStats().getInFlight());
+    }
+
+    /**
+     * Valida que o limite cresce com a latência estável e todas as vagas em uso, mas não quando está ocioso
+     */
+    @Test
+    public void growsOnlyWhenSaturatedTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 100);
+        for (int i = 0; i < 100; i++) {
+            limiter.update(MILLIS, 1);
+        }
+        assertEquals(20, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.update(MILLIS, limiter.getLimit());
+        }
+        assertEquals(100, limiter.getLimit());
+        assertTrue(limiter.getStats().getLimitIncreases() > 0);
+    }
+
+    /**
+     * Valida que o limite recua quando a latência sobe em relação à latência de referência, sem passar do mínimo
+     */
+    @Test
+    public void shrinksWhenLatencyRisesTest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 5, 100);
+        for (int i = 0; i < 50; i++) {
+            limiter.update(MILLIS, 1);
+        }
+        for (int i = 0; i < 50; i++) {
+            limiter.update(10 * MILLIS, limiter.getLimit());
+        }
+        assertTrue(limiter.getLimit() < 20, "limite: " + limiter.getLimit());
+        assertTrue(limiter.getStats().getLimitDecreases() > 0);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.update(100 * MILLIS, limiter.getLimit());
+        }
+        assertTrue(limiter.getLimit() >= 5);
+    }
+}
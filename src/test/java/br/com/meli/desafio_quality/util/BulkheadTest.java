@@ -0,0 +1,59 @@
+package br.com.meli.desafio_quality.util;
+
+import br.com.meli.desafio_quality.dto.BulkheadStatsDTO;
+import br.com.meli.desafio_quality.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Classe responsável por testar os limites e as métricas do {@link Bulkhead}
+ */
+public class BulkheadTest {
+
+    /**
+     * Valida que, com as threads ocupadas e a fila cheia, novas tarefas são recusadas na hora e contadas,
+     * e que o bulkhead volta a aceitar tarefas quando as anteriores terminam
+     */
+    @Test
+    public void rejectsWhenThreadsAndQueueAreFullTest() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> first = bulkhead.supply(() -> {
+                running.countDown();
+                await(release);
+                return "first";
+            });
+            running.await();
+            CompletableFuture<String> queued = bulkhead.supply(() -> "queued");
+
+            assertThrows(BulkheadFullException.class, () -> bulkhead.supply(() -> "rejected"));
+            BulkheadStatsDTO stats = bulkhead.getStats();
+            assertEquals(1, stats.getActiveThreads());
+            assertEquals(1, stats.getQueued());
+            assertEquals(1, stats.getRejected());
+
+            release.countDown();
+            assertEquals("first", first.get());
+            assertEquals("queued", queued.get());
+            assertEquals("again", bulkhead.supply(() -> "again").get());
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.meli.desafio_quality.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por testar o mapa de chaves primitivas e a codificação dos ids compactos
+ */
+public class LongObjectHashMapTest {
+
+    /**
+     * Valida que inserções e remoções aleatórias produzem o mesmo resultado de um HashMap,
+     * inclusive depois de vários redimensionamentos
+     */
+    @Test
+    public void putGetRemoveMatchesHashMapTest() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    /**
+     * Valida que a chave reservada zero não é encontrada nem removida, sem alterar as demais chaves
+     */
+    @Test
+    public void reservedZeroKeyIsNeverPresentTest() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long key = 1; key <= 100; key++) {
+            map.put(key, "v" + key);
+        }
+
+        assertNull(map.remove(0));
+        assertNull(map.get(0));
+        assertEquals(100, map.size());
+        for (long key = 1; key <= 100; key++) {
+            assertEquals("v" + key, map.get(key));
+        }
+    }
+
+    /**
+     * Valida que os ids gerados são crescentes, compactos e que a ordem textual acompanha a numérica
+     */
+    @Test
+    public void timeOrderedIdsAreCompactAndSortedTest() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+        String previous = generator.nextId();
+
+        for (int i = 0; i < 10_000; i++) {
+            String current = generator.nextId();
+            assertEquals(CompactIds.LENGTH, current.length());
+            assertTrue(current.compareTo(previous) > 0);
+            assertEquals(current, CompactIds.encode(CompactIds.decode(current)));
+            previous = current;
+        }
+    }
+
+    /**
+     * Valida que ids que não estão no formato compacto, como UUIDs, não são decodificados
+     */
+    @Test
+    public void decodeRejectsNonCompactIdsTest() {
+        assertEquals(CompactIds.NOT_COMPACT, CompactIds.decode(new UuidIdGenerator().nextId()));
+        assertEquals(CompactIds.NOT_COMPACT, CompactIds.decode("XYZ12345-ABCD56789"));
+        assertEquals(CompactIds.NOT_COMPACT, CompactIds.decode("ZZZZZZZZZZZZZ"));
+        assertEquals(CompactIds.NOT_COMPACT, CompactIds.decode("0000000000o00"));
+        assertNull(new LongObjectHashMap<String>().get(123L));
+    }
+}
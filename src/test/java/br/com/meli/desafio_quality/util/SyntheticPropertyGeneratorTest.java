@@ -0,0 +1,63 @@
+package br.com.meli.desafio_quality.util;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.validation.PropertyDTOValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por testar o {@link SyntheticPropertyGenerator}
+ */
+public class SyntheticPropertyGeneratorTest {
+
+    /**
+     * Valida que a mesma semente gera os mesmos dados, em qualquer ordem, e que outra semente gera dados diferentes
+     */
+    @Test
+    public void deterministicTest() {
+        List<PropertyDTO> properties = new SyntheticPropertyGenerator(7, 50).properties(1000).collect(Collectors.toList());
+        SyntheticPropertyGenerator same = new SyntheticPropertyGenerator(7, 50);
+
+        assertEquals(properties, IntStream.range(0, 1000).parallel().mapToObj(same::property).collect(Collectors.toList()));
+        assertEquals(properties.get(999), same.property(999));
+        assertEquals(new SyntheticPropertyGenerator(7, 50).districts(), same.districts());
+        assertNotEquals(properties, new SyntheticPropertyGenerator(8, 50).properties(1000).collect(Collectors.toList()));
+    }
+
+    /**
+     * Valida que todas as propriedades são válidas, usam os bairros gerados com o mesmo valor e que a distribuição
+     * de bairros e cômodos é concentrada como num cadastro real
+     */
+    @Test
+    public void validPropertiesTest() {
+        SyntheticPropertyGenerator generator = new SyntheticPropertyGenerator(42, 300);
+        PropertyDTOValidator validator = new PropertyDTOValidator();
+        Map<String, DistrictDTO> districts = generator.districts().stream()
+                .collect(Collectors.toMap(DistrictDTO::getName, Function.identity()));
+        assertEquals(300, districts.size());
+
+        List<PropertyDTO> properties = generator.properties(50_000).collect(Collectors.toList());
+        for (PropertyDTO property : properties) {
+            assertEquals(List.of(), validator.validate(property), property::toString);
+            assertEquals(districts.get(property.getDistrict().getName()), property.getDistrict());
+            assertTrue(property.getRooms().size() >= 1 && property.getRooms().size() <= 10);
+        }
+
+        Set<String> topDistricts = generator.districts().subList(0, 30).stream().map(DistrictDTO::getName).collect(Collectors.toSet());
+        long inTopDistricts = properties.stream().filter(p -> topDistricts.contains(p.getDistrict().getName())).count();
+        assertTrue(inTopDistricts > properties.size() / 2, "propriedades nos 10% de bairros mais frequentes: " + inTopDistricts);
+        double averageRooms = properties.stream().mapToInt(p -> p.getRooms().size()).average().orElse(0);
+        assertTrue(averageRooms > 3.5 && averageRooms < 5.5, "média de cômodos: " + averageRooms);
+    }
+}
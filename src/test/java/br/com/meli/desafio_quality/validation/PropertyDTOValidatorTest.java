@@ -0,0 +1,137 @@
+package br.com.meli.desafio_quality.validation;
+
+import br.com.meli.desafio_quality.dto.DistrictDTO;
+import br.com.meli.desafio_quality.dto.PropertyDTO;
+import br.com.meli.desafio_quality.dto.RoomDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Classe responsável por garantir que o {@link PropertyDTOValidator} produz as mesmas violações que o Bean Validation
+ * aplicado às anotações de {@link PropertyDTO} e {@link RoomDTO}
+ */
+public class PropertyDTOValidatorTest {
+
+    private static final String[] NAME_PARTS = {
+            "", " ", "  ", "\t", "A", "Z", "a", "z", "0", "9", "Casa", "casa", "Moema Palace", "Ñandu", "É", "á", "à", "â", "ã",
+            "é", "è", "ê", "í", "ï", "ó", "ô", "õ", "ö", "ú", "ç", "ñ", "ü", "Á", "ß", "-", "_", ".", "'", "\n", " ", "😀",
+            "Living room", "X1234567890123456789012345"
+    };
+    private static final double[] DIMENSIONS = {
+            0.0, -2.0, 1.5, 24.99, 25.0, 25.000000000000004, 25.01, 32.99, 33.0, 33.000000000000007, 33.5, 1e9,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MAX_VALUE, -Double.MAX_VALUE
+    };
+
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final PropertyDTOValidator validator = new PropertyDTOValidator();
+
+    /**
+     * Compara as duas validações em propriedades geradas aleatoriamente (com semente fixa), cobrindo nomes vazios,
+     * em branco, longos, com acentos aceitos e recusados, dimensões no limite, NaN, infinitos e listas com cômodos nulos.
+     * O Hibernate Validator percorre os cômodos da lista duas vezes e repete as violações das dimensões; as violações
+     * são comparadas sem repetição, que não altera a mensagem devolvida pela API nem pela importação.
+     */
+    @Test
+    public void sameViolationsAsBeanValidationTest() {
+        Random random = new Random(47);
+        int invalid = 0;
+        for (int i = 0; i < 20_000; i++) {
+            PropertyDTO propertyDTO = randomProperty(random);
+            List<String> expected = beanValidator.validate(propertyDTO).stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+            List<String> actual = validator.validate(propertyDTO).stream()
+                    .map(violation -> violation.getField() + " " + violation.getMessage())
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, actual, () -> "Divergência para " + propertyDTO);
+            invalid += expected.isEmpty() ? 0 : 1;
+        }
+        // a amostra deve ter casos válidos e inválidos em quantidade
+        assertTrue(invalid > 5_000 && invalid < 18_000, "inválidas: " + invalid);
+    }
+
+    /**
+     * Valida o padrão dos nomes caractere a caractere contra a expressão regular da anotação, para todos os caracteres
+     * de até 16 bits, na primeira e nas demais posições
+     */
+    @Test
+    public void namePatternMatchesRegexTest() {
+        String regex = "[A-Z][a-záàâãéèêíïóôõöúçñ A-Z0-9]+";
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            String first = c + "a";
+            String rest = "A" + c;
+            assertEquals(first.matches(regex), PropertyDTOValidator.matchesNamePattern(first), first);
+            assertEquals(rest.matches(regex), PropertyDTOValidator.matchesNamePattern(rest), rest);
+        }
+    }
+
+    /**
+     * Valida que os erros chegam ao binding result na ordem de declaração, com o nome da anotação como código,
+     * como o primeiro erro é o que o PropertyExceptionHandler devolve
+     */
+    @Test
+    public void bindingErrorsInDeclarationOrderTest() {
+        PropertyDTO propertyDTO = new PropertyDTO(null, "Casa", new DistrictDTO("Alphaville", BigDecimal.TEN),
+                Arrays.asList(new RoomDTO("Kitchen", 26.0, 5.0), null, new RoomDTO("living room", 10.0, 40.0)));
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(propertyDTO, "propertyDTO");
+
+        validator.validate(propertyDTO, errors);
+
+        assertEquals(List.of("rooms[0].roomWidth", "rooms[2].roomName", "rooms[2].roomLength"),
+                errors.getFieldErrors().stream().map(error -> error.getField()).collect(Collectors.toList()));
+        assertEquals("A largura máxima permitida por cômodo é de 25 metros.", errors.getFieldError().getDefaultMessage());
+        assertEquals("DecimalMax", errors.getFieldError().getCode());
+    }
+
+    private static PropertyDTO randomProperty(Random random) {
+        List<RoomDTO> rooms = null;
+        if (random.nextInt(10) > 0) {
+            rooms = new ArrayList<>();
+            int count = random.nextInt(6);
+            for (int i = 0; i < count; i++) {
+                rooms.add(random.nextInt(20) == 0 ? null
+                        : new RoomDTO(randomName(random), randomDimension(random), randomDimension(random)));
+            }
+        }
+        return new PropertyDTO(null, randomName(random), new DistrictDTO("Alphaville", BigDecimal.TEN), rooms);
+    }
+
+    private static String randomName(Random random) {
+        switch (random.nextInt(8)) {
+            case 0:
+                return null;
+            case 1:
+            case 2:
+                StringBuilder name = new StringBuilder();
+                int parts = 1 + random.nextInt(4);
+                for (int i = 0; i < parts; i++) {
+                    name.append(NAME_PARTS[random.nextInt(NAME_PARTS.length)]);
+                }
+                return name.toString();
+            default:
+                // nomes válidos com frequência, para exercitar também o caminho sem violações
+                return "Casa " + "áàâãéèêíïóôõöúçñ".charAt(random.nextInt(16)) + "x".repeat(random.nextInt(30));
+        }
+    }
+
+    private static double randomDimension(Random random) {
+        return random.nextInt(3) == 0 ? DIMENSIONS[random.nextInt(DIMENSIONS.length)] : random.nextDouble() * 30;
+    }
+}